@@ -0,0 +1,29 @@
+package org.evrete.benchmarks;
+
+import org.evrete.benchmarks.jmh.EngineStages;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+class EngineStagesBenchmarks {
+
+    @Test
+    void benchmark() throws RunnerException {
+        TimeValue duration = TimeValue.milliseconds(1000L);
+        int iterations = 5;
+        Options opt = new OptionsBuilder()
+                .include(EngineStages.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .warmupIterations(iterations)
+                .warmupTime(duration)
+                .measurementIterations(iterations)
+                .measurementTime(duration)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,373 @@
+package org.evrete.benchmarks.jmh;
+
+import org.evrete.KnowledgeService;
+import org.evrete.api.ActivationManager;
+import org.evrete.api.FactHandle;
+import org.evrete.api.Knowledge;
+import org.evrete.api.RuntimeRule;
+import org.evrete.api.StatefulSession;
+import org.evrete.benchmarks.models.misc.TypeA;
+import org.evrete.benchmarks.models.misc.TypeB;
+import org.evrete.benchmarks.models.misc.TypeC;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>
+ * Micro-benchmarks of separate engine stages. Engine internals are not a part of the
+ * public API, so each stage is isolated by the shape of the rules involved:
+ * </p>
+ * <ul>
+ *     <li>{@code insert} - inserting facts into a new session, without firing it</li>
+ *     <li>{@code memoryDelta} - firing inserted facts: field values, alpha conditions and memory keys, no activations</li>
+ *     <li>{@code rhs} - firing inserted facts, every fact activates a trivial rule without conditions</li>
+ *     <li>{@code betaJoin} - firing inserted facts through beta condition nodes at given join arity and average number
+ *     of matches per fact, the activation manager rejects all activations, so no RHS is called</li>
+ *     <li>{@code sessionCreation} - creating and closing a session of a knowledge with the given number of rules</li>
+ *     <li>{@code purge} - memory purge after deleting all the facts of a session</li>
+ * </ul>
+ * <p>
+ * Session creation, inserts and session disposal are not a part of the firing stages, they happen
+ * in invocation-level setups and teardowns. Random facts are generated with a fixed seed, so that runs
+ * are reproducible.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, warmups = 1)
+@SuppressWarnings({"unused", "MethodMayBeStatic"})
+public class EngineStages {
+    private static final AtomicLong counter = new AtomicLong();
+    private static final long SEED = 20231017L;
+
+    // Matches are computed, but their RHS are never called
+    private static final ActivationManager REJECT_ALL = new ActivationManager() {
+        @Override
+        public boolean test(RuntimeRule rule) {
+            return false;
+        }
+    };
+
+    @Benchmark
+    public void insert(InsertOnlyState state) {
+        StatefulSession session = state.session;
+        for (TypeA a : state.facts) {
+            session.insert(a);
+        }
+    }
+
+    @Benchmark
+    public void memoryDelta(MemoryDeltaState state) {
+        state.session.fire();
+    }
+
+    @Benchmark
+    public void rhs(RhsState state) {
+        state.session.fire();
+    }
+
+    @Benchmark
+    public void betaJoin(JoinState state) {
+        state.session.fire();
+    }
+
+    @Benchmark
+    public void sessionCreation(SessionState state, Blackhole bh) {
+        StatefulSession session = state.knowledge.newStatefulSession();
+        bh.consume(session);
+        session.close();
+    }
+
+    @Benchmark
+    public void purge(PurgeState state) {
+        StatefulSession session = state.session;
+        for (FactHandle h : state.handles) {
+            session.delete(h);
+        }
+        session.fire();
+    }
+
+    private static List<TypeA> randomFacts(int size) {
+        List<TypeA> facts = new ArrayList<>(size);
+        Random random = new Random(SEED);
+        for (int i = 0; i < size; i++) {
+            TypeA a = new TypeA(random.nextInt(size) + 1);
+            a.setL(random.nextLong());
+            facts.add(a);
+        }
+        return facts;
+    }
+
+    @State(Scope.Thread)
+    public static class InsertOnlyState {
+        @Param({"1000", "10000", "100000"})
+        int size;
+        List<TypeA> facts;
+        KnowledgeService service;
+        Knowledge knowledge;
+        StatefulSession session;
+
+        @Setup(Level.Trial)
+        public void init() {
+            service = new KnowledgeService();
+            facts = randomFacts(size);
+            // Types must be known to an LHS, the condition never matches
+            knowledge = service.newKnowledge();
+            knowledge.newRule()
+                    .forEach("$a", TypeA.class)
+                    .where("$a.i < 0")
+                    .execute(ctx -> counter.incrementAndGet());
+        }
+
+        // Session creation and disposal are not a part of the measured stage
+        @Setup(Level.Invocation)
+        public void initSession() {
+            session = knowledge.newStatefulSession();
+        }
+
+        @TearDown(Level.Invocation)
+        public void closeSession() {
+            session.close();
+        }
+
+        @TearDown(Level.Trial)
+        public void destroy() {
+            service.shutdown();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class MemoryDeltaState {
+        @Param({"1000", "10000", "100000"})
+        int size;
+        List<TypeA> facts;
+        KnowledgeService service;
+        Knowledge knowledge;
+        StatefulSession session;
+
+        @Setup(Level.Trial)
+        public void init() {
+            service = new KnowledgeService();
+            facts = randomFacts(size);
+            knowledge = service.newKnowledge();
+            knowledge.newRule()
+                    .forEach(
+                            "$a", TypeA.class,
+                            "$b", TypeB.class
+                    )
+                    .where("$a.i > 0")
+                    .where("$a.l < 0")
+                    .where("$a.i == $b.i")
+                    .execute(ctx -> counter.incrementAndGet());
+        }
+
+        @Setup(Level.Invocation)
+        public void initSession() {
+            session = knowledge.newStatefulSession();
+            for (TypeA a : facts) {
+                session.insert(a);
+            }
+        }
+
+        @TearDown(Level.Invocation)
+        public void closeSession() {
+            session.close();
+        }
+
+        @TearDown(Level.Trial)
+        public void destroy() {
+            service.shutdown();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class RhsState {
+        @Param({"1000", "10000", "100000"})
+        int size;
+        List<TypeA> facts;
+        KnowledgeService service;
+        Knowledge knowledge;
+        StatefulSession session;
+
+        @Setup(Level.Trial)
+        public void init() {
+            service = new KnowledgeService();
+            facts = randomFacts(size);
+            knowledge = service.newKnowledge();
+            knowledge.newRule()
+                    .forEach("$a", TypeA.class)
+                    .execute(ctx -> counter.incrementAndGet());
+        }
+
+        @Setup(Level.Invocation)
+        public void initSession() {
+            session = knowledge.newStatefulSession();
+            for (TypeA a : facts) {
+                session.insert(a);
+            }
+        }
+
+        @TearDown(Level.Invocation)
+        public void closeSession() {
+            session.close();
+        }
+
+        @TearDown(Level.Trial)
+        public void destroy() {
+            service.shutdown();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class JoinState {
+        @Param({"1000", "10000"})
+        int size;
+        // Average number of matches per fact of a type, the total is capped at size * matches
+        @Param({"1", "16", "256"})
+        int matches;
+        @Param({"2", "3"})
+        int arity;
+        final List<Object> facts = new ArrayList<>();
+        KnowledgeService service;
+        Knowledge knowledge;
+        StatefulSession session;
+
+        @Setup(Level.Trial)
+        public void init() {
+            service = new KnowledgeService();
+            knowledge = service.newKnowledge();
+            Random random = new Random(SEED);
+            int perType = size / arity;
+            // There are perType^arity / keys^(arity - 1) matches on average,
+            // key cardinality is scaled down with arity so that there are perType * matches of them
+            int keys = Math.max(1, (int) Math.round(perType / Math.pow(matches, 1.0 / (arity - 1))));
+            for (int i = 0; i < perType; i++) {
+                this.facts.add(new TypeA(random.nextInt(keys)));
+                this.facts.add(new TypeB(random.nextInt(keys)));
+                if (arity > 2) {
+                    this.facts.add(new TypeC(random.nextInt(keys)));
+                }
+            }
+
+            if (arity > 2) {
+                knowledge.newRule()
+                        .forEach(
+                                "$a", TypeA.class,
+                                "$b", TypeB.class,
+                                "$c", TypeC.class
+                        )
+                        .where("$a.i == $b.i")
+                        .where("$b.i == $c.i")
+                        .execute(ctx -> counter.incrementAndGet());
+            } else {
+                knowledge.newRule()
+                        .forEach(
+                                "$a", TypeA.class,
+                                "$b", TypeB.class
+                        )
+                        .where("$a.i == $b.i")
+                        .execute(ctx -> counter.incrementAndGet());
+            }
+        }
+
+        @Setup(Level.Invocation)
+        public void initSession() {
+            session = knowledge.newStatefulSession();
+            session.setActivationManager(REJECT_ALL);
+            for (Object o : facts) {
+                session.insert(o);
+            }
+        }
+
+        @TearDown(Level.Invocation)
+        public void closeSession() {
+            session.close();
+        }
+
+        @TearDown(Level.Trial)
+        public void destroy() {
+            service.shutdown();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class SessionState {
+        @Param({"1", "16", "128"})
+        int rules;
+        KnowledgeService service;
+        Knowledge knowledge;
+
+        @Setup(Level.Trial)
+        public void init() {
+            service = new KnowledgeService();
+            knowledge = service.newKnowledge();
+            for (int i = 0; i < rules; i++) {
+                knowledge.newRule("rule " + i)
+                        .forEach(
+                                "$a", TypeA.class,
+                                "$b", TypeB.class
+                        )
+                        .where("$a.i > " + i)
+                        .where("$a.i == $b.i")
+                        .execute(ctx -> counter.incrementAndGet());
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void destroy() {
+            service.shutdown();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class PurgeState {
+        @Param({"1000", "10000", "100000"})
+        int size;
+        final List<FactHandle> handles = new ArrayList<>();
+        KnowledgeService service;
+        Knowledge knowledge;
+        StatefulSession session;
+
+        @Setup(Level.Trial)
+        public void init() {
+            service = new KnowledgeService();
+            knowledge = service.newKnowledge();
+            knowledge.newRule()
+                    .forEach(
+                            "$a", TypeA.class,
+                            "$b", TypeB.class
+                    )
+                    .where("$a.i == $b.i")
+                    .execute(ctx -> counter.incrementAndGet());
+        }
+
+        @Setup(Level.Invocation)
+        public void initSession() {
+            session = knowledge.newStatefulSession();
+            handles.clear();
+            Random random = new Random(SEED);
+            int keys = Math.max(1, size / 16);
+            for (int i = 0; i < size / 2; i++) {
+                handles.add(session.insert(new TypeA(random.nextInt(keys))));
+                handles.add(session.insert(new TypeB(random.nextInt(keys))));
+            }
+            session.fire();
+        }
+
+        @TearDown(Level.Invocation)
+        public void closeSession() {
+            session.close();
+        }
+
+        @TearDown(Level.Trial)
+        public void destroy() {
+            service.shutdown();
+        }
+    }
+}
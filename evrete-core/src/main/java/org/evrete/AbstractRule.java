@@ -37,6 +37,19 @@ public abstract class AbstractRule implements Rule {
         this.literalRhs = other.literalRhs;
     }
 
+    /**
+     * Restores the RHS, salience and properties of this rule from the given one.
+     *
+     * @param other source rule
+     */
+    protected void resetTo(AbstractRule other) {
+        this.properties.clear();
+        this.properties.putAll(other.properties);
+        this.salience = other.salience;
+        this.rhs = other.rhs;
+        this.literalRhs = other.literalRhs;
+    }
+
     @Override
     public Consumer<RhsContext> getRhs() {
         return rhs;
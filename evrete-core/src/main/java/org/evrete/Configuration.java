@@ -20,6 +20,15 @@ public class Configuration extends Properties implements Copyable<Configuration>
     static final String SPI_RHS_COMPILER = "evrete.spi.rhs-compiler";
     static final String PARALLELISM = "evrete.core.parallelism";
     public static final String CONDITION_BASE_CLASS = "evrete.impl.condition-base-class";
+    public static final String GENERATED_FIELD_READERS = "evrete.impl.generated-field-readers";
+    public static final String CONDITIONS_PER_CLASS = "evrete.impl.conditions-per-class";
+    public static final String PARALLEL_JOIN_THRESHOLD = "evrete.core.parallel-join-threshold";
+    public static final int PARALLEL_JOIN_THRESHOLD_DEFAULT = 4096;
+    public static final String PROPERTY_REACTIVE_UPDATES = "evrete.core.property-reactive-updates";
+    public static final String INCREMENTAL_KEY_PURGE = "evrete.impl.incremental-key-purge";
+    public static final String COMPILED_CLASS_CACHE = "evrete.core.compiled-class-cache";
+    public static final String COMPILER_PARTITION_SIZE = "evrete.core.compiler-partition-size";
+    public static final int COMPILER_PARTITION_SIZE_DEFAULT = 256;
 
     private static final Logger LOGGER = Logger.getLogger(Configuration.class.getName());
     private static final long serialVersionUID = -9015471049604658637L;
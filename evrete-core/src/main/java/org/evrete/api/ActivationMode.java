@@ -2,5 +2,21 @@ package org.evrete.api;
 
 public enum ActivationMode {
     CONTINUOUS,
-    DEFAULT
+    DEFAULT,
+    /**
+     * <p>
+     * Same as {@link #CONTINUOUS}, but the right-hand sides of agenda rules are executed
+     * concurrently using the service's executor. Each rule buffers its actions separately,
+     * and the buffers are merged in rules' order once all the rules are executed. Use this
+     * mode only if RHS code of different rules can be safely executed in parallel.
+     * </p>
+     * <p>
+     * {@link ActivationManager} callbacks are invoked sequentially, in the agenda's order, and
+     * {@link ActivationManager#onActivation(RuntimeRule, long)} is called before the rule's RHS is executed.
+     * RHS code may only use the {@link RhsContext}'s insert, update and delete methods to change the session.
+     * Other session operations, including those of the {@link RhsContext#getRuntime()} instance,
+     * are not synchronized and must not be called from RHS code in this mode.
+     * </p>
+     */
+    PARALLEL
 }
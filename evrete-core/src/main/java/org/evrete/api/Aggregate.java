@@ -0,0 +1,58 @@
+package org.evrete.api;
+
+/**
+ * <p>
+ * Incremental aggregate function, see {@link LhsBuilder#aggregate(String, Aggregate)}. Each fact that
+ * matches rule's conditions contributes a value to the aggregate. The value is captured once, when the fact
+ * gets into the aggregate, and the same value is removed when the fact is updated or deleted, so the
+ * aggregates stay correct even if fact instances are modified in place.
+ * </p>
+ * <p>
+ * Commonly used aggregates are available in the {@link org.evrete.util.Aggregates} class.
+ * </p>
+ *
+ * @param <T> fact type
+ * @param <V> type of the values contributed by facts
+ * @param <R> result type
+ */
+public interface Aggregate<T, V, R> {
+
+    /**
+     * @param fact matching fact
+     * @return fact's contribution to the aggregate
+     */
+    V value(T fact);
+
+    /**
+     * @return new empty accumulator
+     */
+    Accumulator<V, R> newAccumulator();
+
+    /**
+     * <p>
+     * Running state of an aggregate. Accumulators are not required to be thread-safe.
+     * </p>
+     *
+     * @param <V> type of the values contributed by facts
+     * @param <R> result type
+     */
+    interface Accumulator<V, R> {
+
+        void add(V value);
+
+        /**
+         * @param value a value that has been previously added to this accumulator
+         */
+        void remove(V value);
+
+        /**
+         * <p>
+         * Returns the current result. Results are compared with their {@link Object#equals(Object)}
+         * method to tell if rule's action needs to be called, and they must not change when the accumulator does.
+         * </p>
+         *
+         * @return current result
+         */
+        R get();
+    }
+}
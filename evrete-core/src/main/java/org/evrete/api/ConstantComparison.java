@@ -0,0 +1,80 @@
+package org.evrete.api;
+
+import java.util.Objects;
+
+/**
+ * <p>
+ * Describes a condition that compares its single argument with a constant, like
+ * <code>$a.price &gt; 100</code> or <code>"XYZ".equals($a.symbol)</code>. The engine
+ * uses such descriptions to index alpha conditions, so that a single lookup replaces
+ * the evaluation of every condition on the same field.
+ * </p>
+ *
+ * @see Evaluator#getConstantComparison()
+ */
+public final class ConstantComparison {
+    private final Operator operator;
+    private final Comparable<?> value;
+
+    /**
+     * @param operator comparison operator, the argument is its left operand
+     * @param value    non-null constant, must be of the same class as non-null argument values
+     */
+    public ConstantComparison(Operator operator, Comparable<?> value) {
+        this.operator = Objects.requireNonNull(operator);
+        this.value = Objects.requireNonNull(value);
+    }
+
+    public Operator getOperator() {
+        return operator;
+    }
+
+    public Comparable<?> getValue() {
+        return value;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ConstantComparison that = (ConstantComparison) o;
+        return operator == that.operator && value.equals(that.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(operator, value);
+    }
+
+    @Override
+    public String toString() {
+        return "{" + operator + " " + value + "}";
+    }
+
+    public enum Operator {
+        EQUALS,
+        NOT_EQUALS,
+        LESS,
+        LESS_OR_EQUAL,
+        GREATER,
+        GREATER_OR_EQUAL;
+
+        /**
+         * @return the operator to use when the operands are swapped, e.g. <code>5 &lt; x</code> becomes <code>x &gt; 5</code>
+         */
+        public Operator swapped() {
+            switch (this) {
+                case LESS:
+                    return GREATER;
+                case LESS_OR_EQUAL:
+                    return GREATER_OR_EQUAL;
+                case GREATER:
+                    return LESS;
+                case GREATER_OR_EQUAL:
+                    return LESS_OR_EQUAL;
+                default:
+                    return this;
+            }
+        }
+    }
+}
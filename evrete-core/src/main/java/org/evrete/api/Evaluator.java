@@ -45,6 +45,49 @@ public interface Evaluator extends ValuesPredicate {
         return array;
     }
 
+    /**
+     * <p>
+     * Tells the engine whether this condition is a plain equality of its two arguments,
+     * like <code>$a.id == $b.id</code>. Implementations may return <code>true</code> only if a positive
+     * test result implies that both argument values are equal in terms of {@link Object#equals(Object)}.
+     * The engine uses this knowledge to replace nested loops with hash lookups when joining fact types.
+     * </p>
+     *
+     * @return true if the condition is an equality of its two arguments
+     */
+    default boolean isEquality() {
+        return false;
+    }
+
+    /**
+     * <p>
+     * Tells the engine whether this condition compares its single argument with a constant,
+     * like <code>$a.price &gt; 100</code>. Implementations may return a non-null value only if, for every
+     * non-null argument, the test result is the same as that of the returned comparison.
+     * The engine uses this knowledge to replace alpha condition tests with index lookups.
+     * </p>
+     *
+     * @return constant comparison or <code>null</code> if the condition is not a constant comparison
+     */
+    default ConstantComparison getConstantComparison() {
+        return null;
+    }
+
+    /**
+     * <p>
+     * Tells the engine whether this condition is a plain comparison of its two arguments, like
+     * <code>$a.price &gt; $b.limit</code>. Implementations may return a non-null value only if the test
+     * result is the same as that of the numeric comparison <code>arg0 &lt;operator&gt; arg1</code>,
+     * where arguments are ordered as in the {@link #descriptor()}. The engine uses this knowledge
+     * to replace nested loops with range scans when joining fact types.
+     * </p>
+     *
+     * @return comparison operator or <code>null</code> if the condition is not a comparison of its arguments
+     */
+    default ConstantComparison.Operator getComparisonOperator() {
+        return null;
+    }
+
     default boolean sameDescriptor(Evaluator other) {
         return FieldReference.sameAs(descriptor(), other.descriptor());
     }
@@ -0,0 +1,20 @@
+package org.evrete.api;
+
+/**
+ * <p>
+ * Reads values of several fields of a fact in a single call and converts them into
+ * value handles. Implementations are typically generated at runtime by a {@link Type}
+ * for a fixed set of fields.
+ * </p>
+ *
+ * @see Type#newFieldValuesReader(TypeField[], JavaSourceCompiler)
+ */
+public interface FieldValuesReader {
+
+    /**
+     * @param fact        fact instance
+     * @param resolver    value resolver that converts field values into value handles
+     * @param destination destination array, its positions match the fields' order
+     */
+    void read(Object fact, ValueResolver resolver, ValueHandle[] destination);
+}
@@ -4,6 +4,7 @@ import java.io.Serializable;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.TreeSet;
 
 public class Imports implements Copyable<Imports>, Serializable {
     private static final long serialVersionUID = -6504055142637422799L;
@@ -20,6 +21,10 @@ public class Imports implements Copyable<Imports>, Serializable {
         this.imports.addAll(parent.imports);
     }
 
+    public void clear() {
+        this.imports.clear();
+    }
+
     public void add(String imp) {
         String s;
         if (imp == null || (s = imp.trim()).isEmpty()) {
@@ -38,9 +43,11 @@ public class Imports implements Copyable<Imports>, Serializable {
 
 
     public void asJavaImportStatements(StringBuilder destination) {
-        String sep = System.lineSeparator();
+        // Platform-independent, generated sources are also cache keys
+        String sep = "\n";
         if (!imports.isEmpty()) {
-            for (String imp : imports) {
+            // Sorted, so that generated sources and their cache keys do not depend on the insertion order
+            for (String imp : new TreeSet<>(imports)) {
                 destination.append("import ").append(imp).append(";").append(sep);
             }
             destination.append(sep);
@@ -1,6 +1,7 @@
 package org.evrete.api;
 
 import java.util.Collection;
+import java.util.function.Predicate;
 import java.util.zip.ZipEntry;
 
 public interface KeyedFactStorage extends InnerFactMemory {
@@ -29,4 +30,16 @@ public interface KeyedFactStorage extends InnerFactMemory {
      * @param factHandles fact handles to save under the sequence of keys
      */
     void write(Collection<FactHandleVersioned> factHandles);
+
+    /**
+     * <p>
+     * Removes fact handles that match the predicate from the {@link KeyMode#OLD_OLD} entry saved under
+     * the key provided via {@link #write(ValueHandle)}. If the entry has no fact handles left, the key is removed
+     * as well. Just like {@link #write(Collection)}, this method resets the internal key counter.
+     * </p>
+     *
+     * @param predicate removal predicate
+     * @return the removed key, or {@code null} if the key still holds fact handles or doesn't exist
+     */
+    MemoryKey purge(Predicate<FactHandleVersioned> predicate);
 }
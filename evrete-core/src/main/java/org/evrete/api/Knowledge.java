@@ -7,6 +7,12 @@ import java.util.Collection;
 public interface Knowledge extends RuleSetContext<Knowledge, RuleDescriptor> {
     Collection<RuleSession<?>> getSessions();
 
+    /**
+     * @return new batch of rules that are compiled together
+     * @see RuleSetBuilder
+     */
+    RuleSetBuilder<Knowledge> builder();
+
     /**
      * @return new stateful session
      */
@@ -25,6 +31,13 @@ public interface Knowledge extends RuleSetContext<Knowledge, RuleDescriptor> {
         return newStatelessSession().setActivationMode(mode);
     }
 
+    /**
+     * @param size maximum number of idle sessions the pool may hold
+     * @return new pool of reusable stateless sessions
+     * @see SessionPool
+     */
+    SessionPool newSessionPool(int size);
+
     default <A extends ActivationManager> Knowledge activationManager(Class<A> factory) {
         setActivationManagerFactory(factory);
         return this;
@@ -3,6 +3,7 @@ package org.evrete.api;
 import org.evrete.api.annotations.NonNull;
 
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
 
 public interface LhsBuilder<C extends RuntimeContext<C>> extends NamedType.Resolver {
@@ -76,6 +77,50 @@ public interface LhsBuilder<C extends RuntimeContext<C>> extends NamedType.Resol
         return where(predicate, WorkUnit.DEFAULT_COMPLEXITY, references);
     }
 
+    /**
+     * <p>
+     * Groups the aggregates of this rule by the provided key. Without grouping, all the matching
+     * facts belong to a single group.
+     * </p>
+     *
+     * @param name     name under which the group key is available in the RHS
+     * @param groupKey key function
+     * @param <T>      fact type
+     * @return this builder
+     * @see #aggregate(String, Aggregate)
+     */
+    <T> LhsBuilder<C> groupBy(@NonNull String name, @NonNull Function<T, ?> groupKey);
+
+    /**
+     * <p>
+     * Turns the rule into an aggregate rule. Instead of being called for every match, an aggregate rule's
+     * RHS is called once for each group whose aggregate results have changed. The results are maintained
+     * incrementally as the matching facts get inserted, updated or deleted. Aggregate rules must declare
+     * exactly one fact type, and their RHS may only access the aggregate results and the group key:
+     * </p>
+     * <pre><code>
+     * knowledge.newRule("Sales by region")
+     *     .forEach("$s", Sale.class)
+     *     .where("$s.amount &gt; 0")
+     *     .groupBy("$region", Sale::getRegion)
+     *     .aggregate("$total", Aggregates.sum(Sale::getAmount))
+     *     .execute(ctx -&gt; {
+     *         String region = ctx.get("$region");
+     *         double total = ctx.get("$total");
+     *     });
+     * </code></pre>
+     * <p>
+     * When all the facts of a group are gone, the RHS is called with the results of an empty aggregate.
+     * </p>
+     *
+     * @param name      name under which the aggregate result is available in the RHS
+     * @param aggregate aggregate function
+     * @param <T>       fact type
+     * @return this builder
+     * @see org.evrete.util.Aggregates
+     */
+    <T> LhsBuilder<C> aggregate(@NonNull String name, @NonNull Aggregate<T, ?, ?> aggregate);
+
     NamedType addFactDeclaration(@NonNull String name, @NonNull Type<?> type);
 
     NamedType addFactDeclaration(@NonNull String name, @NonNull String type);
@@ -75,7 +75,8 @@ public interface RhsContext {
     /**
      * <p>
      * Provides access to the runtime context, an equivalent to
-     * {@code getRule().getRuntime()}.
+     * {@code getRule().getRuntime()}. In the {@link ActivationMode#PARALLEL} mode, RHS code must not
+     * call the session's methods, see the mode's description.
      * </p>
      *
      * @return runtime context (session)
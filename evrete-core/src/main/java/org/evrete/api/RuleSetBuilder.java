@@ -0,0 +1,45 @@
+package org.evrete.api;
+
+/**
+ * <p>
+ * A batch of rules that are compiled together. Rules created by this builder are not added to the context
+ * one by one, they are added when the {@link #build()} method is called, so that their literal conditions and RHS
+ * are compiled in batches rather than with compiler invocations per rule. Conditions of the whole batch may also
+ * share generated classes, see {@link org.evrete.Configuration#CONDITIONS_PER_CLASS}.
+ * </p>
+ * <pre>{@code
+ * RuleSetBuilder<Knowledge> builder = knowledge.builder();
+ * for (String rhs : sources) {
+ *     builder.newRule().forEach("$n", Integer.class).execute(rhs);
+ * }
+ * builder.build();
+ * }</pre>
+ * <p>
+ * Compilation errors of a rule are reported to the context's {@link RuleBuilderExceptionHandler} against that
+ * rule's builder, after the rest of the batch has been compiled. Rules that fail are not added to the context.
+ * </p>
+ *
+ * @param <C> context type
+ * @see Knowledge#builder()
+ */
+public interface RuleSetBuilder<C extends RuntimeContext<C>> {
+
+    /**
+     * @param name rule name
+     * @return new rule builder that belongs to this batch
+     */
+    RuleBuilder<C> newRule(String name);
+
+    /**
+     * @return new unnamed rule builder that belongs to this batch
+     */
+    RuleBuilder<C> newRule();
+
+    /**
+     * Compiles and adds the rules of the batch to the context.
+     *
+     * @return the context
+     * @throws RuntimeException instances that can be optionally handled by {@link RuleBuilderExceptionHandler}
+     */
+    C build();
+}
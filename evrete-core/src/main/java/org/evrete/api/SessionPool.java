@@ -0,0 +1,54 @@
+package org.evrete.api;
+
+/**
+ * <p>
+ * A pool of stateless sessions created by {@link Knowledge#newSessionPool(int)}. Stateless
+ * sessions obtained from a pool are not destroyed when they are fired, instead they get
+ * cleared, and their {@link StatelessSession#close()} method returns them to the pool for further use.
+ * Cleared sessions keep their memory structures allocated, so that subsequent sessions don't need
+ * to build them again.
+ * </p>
+ * <pre>{@code
+ * try (StatelessSession session = pool.newStatelessSession()) {
+ *     session.insertAndFire(request);
+ * }
+ * }</pre>
+ * <p>
+ * A session is recycled only if its rules are still in sync with the parent knowledge.
+ * Sessions that have been used to deploy new rules, or that were created before new rules
+ * were added to the knowledge, are discarded, and so are sessions whose class loader or type
+ * resolver has been replaced. Before a session is handed out again, the following is reset
+ * to the state of the knowledge:
+ * </p>
+ * <ul>
+ *     <li>session properties, imports and the rule comparator</li>
+ *     <li>RHS, salience and properties of each rule</li>
+ *     <li>evaluator replacements and evaluation listeners</li>
+ *     <li>activation managers, activation modes and the rule builder exception handler</li>
+ * </ul>
+ * <p>
+ * Lifecycle listeners are removed. Other changes, such as session-level type declarations or
+ * configuration properties, are not reset and must not be made on pooled sessions.
+ * Sessions that are never closed are not reused.
+ * </p>
+ * <p>
+ * Same as with non-pooled stateless sessions, a session must not be used after any of
+ * its {@code fire(...)} methods or its {@code close()} method has been called.
+ * </p>
+ */
+public interface SessionPool {
+
+    /**
+     * @return a recycled session or a new one if the pool has no idle sessions
+     */
+    StatelessSession newStatelessSession();
+
+    default StatelessSession newStatelessSession(ActivationMode mode) {
+        return newStatelessSession().setActivationMode(mode);
+    }
+
+    /**
+     * @return number of idle sessions that are ready to be reused
+     */
+    int idleSessions();
+}
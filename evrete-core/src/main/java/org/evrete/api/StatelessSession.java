@@ -12,7 +12,18 @@ import java.util.function.Predicate;
  * that automatically calls {@link StatefulSession#close()} after {@link StatefulSession#fire()}.
  * </p>
  */
-public interface StatelessSession extends RuleSession<StatelessSession> {
+public interface StatelessSession extends RuleSession<StatelessSession>, AutoCloseable {
+
+    /**
+     * <p>
+     * Releases the session. Sessions obtained from a {@link SessionPool} are returned to their pool,
+     * whether they have been fired or not. Other stateless sessions are closed by their {@code fire(...)}
+     * methods, and the call has no effect on them.
+     * </p>
+     */
+    @Override
+    default void close() {
+    }
 
 
     /**
@@ -68,6 +68,23 @@ public interface Type<T> extends Named, Copyable<Type<T>> {
     @NonNull
     TypeField getField(@NonNull String name);
 
+    /**
+     * <p>
+     * Creates a reader that reads the given fields of this type's instances in a single call.
+     * Implementations may generate Java sources for that purpose and compile them with
+     * the provided compiler. The returned reader must produce the same value handles as reading
+     * each field separately via {@link TypeField#readValue(Object)} or, for fields that have
+     * a primitive reader, via the respective primitive method.
+     * </p>
+     *
+     * @param fields   fields to read
+     * @param compiler source compiler of the current runtime context
+     * @return new reader or null if this type does not support such readers
+     */
+    default FieldValuesReader newFieldValuesReader(TypeField[] fields, JavaSourceCompiler compiler) {
+        return null;
+    }
+
     /**
      * <p>
      * Field declaration with a {@link Function} as value reader.
@@ -11,4 +11,43 @@ public interface TypeField extends Named {
     Class<?> getValueType();
 
     <T> T readValue(Object subject);
+
+    /**
+     * @return true if {@link #readInt(Object)}, {@link #readLong(Object)} or {@link #readDouble(Object)}
+     * read this field's value directly, without boxing. Such fields never return null values.
+     */
+    default boolean hasPrimitiveReader() {
+        return false;
+    }
+
+    /**
+     * <p>
+     * Reads the value of an <code>int</code> field. Implementations are encouraged to override this
+     * method and read the value without boxing.
+     * </p>
+     *
+     * @param subject the object to read the value from
+     * @return field value
+     */
+    default int readInt(Object subject) {
+        return this.<Integer>readValue(subject);
+    }
+
+    /**
+     * @param subject the object to read the value from
+     * @return value of a <code>long</code> field
+     * @see #readInt(Object)
+     */
+    default long readLong(Object subject) {
+        return this.<Long>readValue(subject);
+    }
+
+    /**
+     * @param subject the object to read the value from
+     * @return value of a <code>double</code> field
+     * @see #readInt(Object)
+     */
+    default double readDouble(Object subject) {
+        return this.<Double>readValue(subject);
+    }
 }
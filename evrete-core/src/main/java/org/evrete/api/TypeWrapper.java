@@ -51,6 +51,11 @@ public class TypeWrapper<T> implements Type<T> {
         return delegate.declareField(name, type, function);
     }
 
+    @Override
+    public FieldValuesReader newFieldValuesReader(TypeField[] fields, JavaSourceCompiler compiler) {
+        return delegate.newFieldValuesReader(fields, compiler);
+    }
+
     @Override
     public Type<T> copyOf() {
         return new TypeWrapper<>(delegate.copyOf());
@@ -5,4 +5,25 @@ public interface ValueResolver {
 
     Object getValue(ValueHandle handle);
 
+    /**
+     * <p>
+     * Returns value handle of an <code>int</code> field. Implementations may override this and
+     * the other primitive methods in order to store field values without boxing them. The
+     * {@link #getValue(ValueHandle)} method must return boxed values for such handles.
+     * </p>
+     *
+     * @param value field value
+     * @return value handle
+     */
+    default ValueHandle getValueHandle(int value) {
+        return getValueHandle(int.class, value);
+    }
+
+    default ValueHandle getValueHandle(long value) {
+        return getValueHandle(long.class, value);
+    }
+
+    default ValueHandle getValueHandle(double value) {
+        return getValueHandle(double.class, value);
+    }
 }
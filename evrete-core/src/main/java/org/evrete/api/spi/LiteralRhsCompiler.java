@@ -6,7 +6,9 @@ import org.evrete.api.RhsContext;
 import org.evrete.api.RuntimeContext;
 import org.evrete.runtime.compiler.CompilationException;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.function.Consumer;
 
 public interface LiteralRhsCompiler extends OrderedServiceProvider {
@@ -16,4 +18,29 @@ public interface LiteralRhsCompiler extends OrderedServiceProvider {
     }
 
     Consumer<RhsContext> compileRhs(RuntimeContext<?> context, String literalRhs, NamedType[] types) throws CompilationException;
+
+    /**
+     * <p>
+     * Batch version of the {@link #compileRhs(RuntimeContext, String, NamedType[])}. The default implementation
+     * compiles sources one by one, implementations are expected to compile them all at once.
+     * </p>
+     *
+     * @param context runtime context
+     * @param sources literal RHS sources
+     * @return compiled RHS, in the order of the sources
+     * @throws CompilationException if any of the sources can not be compiled
+     */
+    default List<Consumer<RhsContext>> compileRhs(RuntimeContext<?> context, List<? extends LiteralRhs> sources) throws CompilationException {
+        List<Consumer<RhsContext>> result = new ArrayList<>(sources.size());
+        for (LiteralRhs source : sources) {
+            result.add(compileRhs(context, source.getSource(), source.getTypes()));
+        }
+        return result;
+    }
+
+    interface LiteralRhs {
+        String getSource();
+
+        NamedType[] getTypes();
+    }
 }
@@ -29,6 +29,10 @@ public abstract class AbstractLinearHash<E> implements ReIterable<E> {
     private static final int MAXIMUM_CAPACITY = 1 << 30;
     private static final int MINIMUM_CAPACITY = 1 << 1;
     private static final int NULL_VALUE = -1;
+    // Shared read-only tables of an empty collection, real tables are allocated on first write
+    private static final Object[] EMPTY_DATA = new Object[1];
+    private static final boolean[] EMPTY_DELETES = new boolean[1];
+    private static final int[] EMPTY_INDICES = new int[0];
     private final int minDataSize;
     int size = 0;
     private Object[] data;
@@ -38,14 +42,11 @@ public abstract class AbstractLinearHash<E> implements ReIterable<E> {
     private int[] unsignedIndices;
 
     protected AbstractLinearHash(int minCapacity) {
-        int capacity = tableSizeFor(minCapacity);
-        this.unsignedIndices = new int[capacity];
-        CollectionUtils.systemFill(this.unsignedIndices, NULL_VALUE);
+        this.minDataSize = tableSizeFor(minCapacity);
         this.currentInsertIndex = 0;
-
-        this.minDataSize = capacity;
-        this.data = new Object[capacity];
-        this.deletedIndices1 = new boolean[capacity];
+        this.data = EMPTY_DATA;
+        this.deletedIndices1 = EMPTY_DELETES;
+        this.unsignedIndices = EMPTY_INDICES;
     }
 
     @SuppressWarnings("unchecked")
@@ -225,10 +226,18 @@ public abstract class AbstractLinearHash<E> implements ReIterable<E> {
         return joiner.toString();
     }
 
+    /**
+     * Clears the collection but keeps its current capacity. Only the bins that
+     * have been used since the last clear are reset.
+     */
     public void clear() {
-        CollectionUtils.systemFill(this.data, null);
-        CollectionUtils.systemFill(this.deletedIndices1, false);
-        CollectionUtils.systemFill(this.unsignedIndices, NULL_VALUE);
+        int idx;
+        for (int i = 0; i < currentInsertIndex; i++) {
+            idx = unsignedIndices[i];
+            data[idx] = null;
+            deletedIndices1[idx] = false;
+            unsignedIndices[i] = NULL_VALUE;
+        }
         this.currentInsertIndex = 0;
         this.size = 0;
         this.deletes = 0;
@@ -245,6 +254,10 @@ public abstract class AbstractLinearHash<E> implements ReIterable<E> {
         return removeEntry(pos);
     }
 
+    public final boolean deleteAt(int pos) {
+        return removeEntry(pos);
+    }
+
     private boolean removeEntry(int pos) {
         if (data[pos] == null) {
             // Nothing to delete
@@ -274,6 +287,14 @@ public abstract class AbstractLinearHash<E> implements ReIterable<E> {
     }
 
     public void resize() {
+        if (data.length < minDataSize) {
+            // First write, allocating the tables
+            this.data = new Object[minDataSize];
+            this.deletedIndices1 = new boolean[minDataSize];
+            this.unsignedIndices = new int[minDataSize];
+            CollectionUtils.systemFill(this.unsignedIndices, NULL_VALUE);
+            return;
+        }
         int upperBound = (int) (data.length * loadFactor);
         int lowerBound = (int) (data.length * loadFactor / 4);
         if (size > upperBound) {
@@ -282,8 +303,8 @@ public abstract class AbstractLinearHash<E> implements ReIterable<E> {
             return;
         }
 
-        if (size < lowerBound) {
-            // Resize down
+        if (size < lowerBound && deletes > 0) {
+            // Resize down, cleared tables retain their capacity
             int newDataSize = Math.max(minDataSize, tableSizeFor(lowerBound * 2));
             if (newDataSize != data.length) {
                 rebuild(newDataSize);
@@ -321,7 +342,7 @@ public abstract class AbstractLinearHash<E> implements ReIterable<E> {
         int indices = currentInsertIndex;
         int deletes = this.deletes;
         assert indices == size + deletes : "indices: " + indices + " size: " + size + ", deletes: " + deletes;
-        assert this.data.length >= minDataSize;
+        assert this.data.length >= minDataSize || this.data == EMPTY_DATA;
     }
 
     private final class It implements ReIterator<E> {
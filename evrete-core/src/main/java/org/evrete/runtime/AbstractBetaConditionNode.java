@@ -15,6 +15,8 @@ public abstract class AbstractBetaConditionNode implements BetaMemoryNode {
     private final MemoryKeyCollection tempCollection;
 
     private boolean mergeToMain = true;
+    // Estimated share of the main storage's rows that contain deleted memory keys
+    private double staleRows = 0.0;
 
     AbstractBetaConditionNode(RuntimeRuleImpl rule, ConditionNodeDescriptor descriptor, BetaMemoryNode[] sources) {
         this.sources = sources;
@@ -45,6 +47,27 @@ public abstract class AbstractBetaConditionNode implements BetaMemoryNode {
         return mergeToMain;
     }
 
+    /**
+     * <p>
+     * Registers deleted memory keys and tells whether the main storage is due for a purge. Rows
+     * with deleted keys are skipped by every reader of the storage, so they can be left in place
+     * until their estimated share reaches the given threshold.
+     * </p>
+     *
+     * @param deletedShare estimated share of rows that the deleted keys have invalidated
+     * @param threshold    share of invalidated rows that triggers a purge
+     * @return {@code true} if the main storage should be purged
+     */
+    public boolean onDeletedKeys(double deletedShare, double threshold) {
+        this.staleRows += deletedShare;
+        if (staleRows >= threshold) {
+            this.staleRows = 0.0;
+            return true;
+        } else {
+            return false;
+        }
+    }
+
     void commitDelta1() {
         MemoryKeyCollection delta1 = getStore(KeyMode.NEW_NEW);
         MemoryKeyCollection delta2 = getStore(KeyMode.OLD_NEW);
@@ -95,6 +118,7 @@ public abstract class AbstractBetaConditionNode implements BetaMemoryNode {
 
     @Override
     public void clear() {
+        this.staleRows = 0.0;
         for (MemoryKeyCollection s : stores) {
             s.clear();
         }
@@ -29,6 +29,10 @@ abstract class AbstractRuleSession<S extends RuleSession<S>> extends AbstractRun
     final FactActionBuffer actionBuffer;
     private final boolean warnUnknownTypes;
     private final KnowledgeRuntime knowledge;
+    private final int knowledgeVersion;
+    // Replacing these makes a session unfit for recycling
+    private final ClassLoader initialClassLoader;
+    private final TypeResolver initialTypeResolver;
     ActivationManager activationManager;
     private BooleanSupplier fireCriteria = () -> true;
     private volatile boolean active = true;
@@ -36,6 +40,9 @@ abstract class AbstractRuleSession<S extends RuleSession<S>> extends AbstractRun
     AbstractRuleSession(KnowledgeRuntime knowledge) {
         super(knowledge);
         this.knowledge = knowledge;
+        this.knowledgeVersion = knowledge.getVersion();
+        this.initialClassLoader = getClassLoader();
+        this.initialTypeResolver = getTypeResolver();
         this.warnUnknownTypes = knowledge.getConfiguration().getAsBoolean(Configuration.WARN_UNKNOWN_TYPES);
         this.activationManager = newActivationManager();
         //int bufferSize = getConfiguration().getAsInteger(Configuration.INSERT_BUFFER_SIZE, Configuration.INSERT_BUFFER_SIZE_DEFAULT);
@@ -45,9 +52,7 @@ abstract class AbstractRuleSession<S extends RuleSession<S>> extends AbstractRun
         MemoryFactory memoryFactory = getService().getMemoryFactoryProvider().instance(this);
         this.memory = new SessionMemory(this, memoryFactory);
         // Deploy existing rules
-        for (RuleDescriptor descriptor : knowledge.getRules()) {
-            deployRule(descriptor, false);
-        }
+        deployInitialRules(knowledge.getRules());
     }
 
     static void bufferUpdate(FactHandle handle, FactRecord previous, Object updatedFact, FactActionBuffer buffer) {
@@ -146,6 +151,27 @@ abstract class AbstractRuleSession<S extends RuleSession<S>> extends AbstractRun
         return knowledge;
     }
 
+    /**
+     * <p>
+     * Bulk version of the {@link #deployRule(RuleDescriptor, boolean)} for a newly created session.
+     * Session's metadata is already complete at this point, so type memories are created
+     * only once, and rules get sorted once all of them are deployed.
+     * </p>
+     *
+     * @param descriptors knowledge rules
+     */
+    private void deployInitialRules(List<RuleDescriptor> descriptors) {
+        for (RuleDescriptor descriptor : descriptors) {
+            for (FactType factType : descriptor.getLhs().getFactTypes()) {
+                memory.getCreate(factType.type()).touchMemory(factType.getMemoryAddress());
+            }
+        }
+        for (RuleDescriptor descriptor : descriptors) {
+            ruleStorage.addRule(descriptor, this);
+        }
+        reSortRules();
+    }
+
     private synchronized void deployRules(Collection<RuleDescriptor> descriptors, boolean hotDeployment) {
         for(RuleDescriptor rd : descriptors) {
             deployRule(rd, hotDeployment);
@@ -266,6 +292,17 @@ abstract class AbstractRuleSession<S extends RuleSession<S>> extends AbstractRun
         return Collections.unmodifiableList(ruleStorage.getList());
     }
 
+    int getKnowledgeVersion() {
+        return knowledgeVersion;
+    }
+
+    /**
+     * @return {@code true} if the session's class loader and type resolver have not been replaced
+     */
+    boolean hasInitialContext() {
+        return getClassLoader() == initialClassLoader && getTypeResolver() == initialTypeResolver;
+    }
+
     void closeInner() {
         synchronized (this) {
             for (SessionLifecycleListener e : lifecycleListeners) {
@@ -276,6 +313,36 @@ abstract class AbstractRuleSession<S extends RuleSession<S>> extends AbstractRun
         }
     }
 
+    /**
+     * <p>
+     * Closes the session but keeps its memory structures for further use. The session's
+     * data and per-use settings are reset to their initial state.
+     * </p>
+     */
+    void recycleInner() {
+        synchronized (this) {
+            for (SessionLifecycleListener e : lifecycleListeners) {
+                e.onEvent(SessionLifecycleListener.Event.PRE_CLOSE);
+            }
+            clearInner();
+            resetTo(knowledge);
+            for (RuntimeRuleImpl rule : ruleStorage) {
+                rule.resetToDescriptor();
+            }
+            reSortRules();
+            this.lifecycleListeners.clear();
+            this.activationManager = newActivationManager();
+            this.fireCriteria = () -> true;
+            knowledge.close(this);
+        }
+    }
+
+    void destroy() {
+        synchronized (this) {
+            invalidateSession();
+        }
+    }
+
     private void invalidateSession() {
         this.active = false;
         this.memory.destroy();
@@ -26,6 +26,9 @@ abstract class AbstractRuleSessionIO<S extends RuleSession<S>> extends AbstractR
             case CONTINUOUS:
                 fireContinuous(new ActivationContext());
                 break;
+            case PARALLEL:
+                fireParallel(new ActivationContext());
+                break;
             default:
                 throw new IllegalStateException("Unknown mode " + getAgendaMode());
         }
@@ -76,6 +79,52 @@ abstract class AbstractRuleSessionIO<S extends RuleSession<S>> extends AbstractR
         purge(deleteMask);
     }
 
+    private void fireParallel(ActivationContext ctx) {
+        List<RuntimeRuleImpl> agenda;
+        Mask<MemoryAddress> deleteMask = Mask.addressMask();
+        List<FactActionBuffer> buffers = new ArrayList<>();
+        List<RuntimeRuleImpl> activeRules = new ArrayList<>();
+        List<Runnable> tasks = new ArrayList<>();
+        while (fireCriteriaMet() && actionBuffer.hasData()) {
+            DeltaMemoryStatus deltaStatus = buildDeltaMemory();
+            agenda = deltaStatus.getAgenda();
+            if (!agenda.isEmpty()) {
+                activationManager.onAgenda(ctx.incrementFireCount(), Collections.unmodifiableList(agenda));
+                // Matches are collected sequentially, RHS calls are executed in parallel.
+                // Activation counts are known once the matches are collected, so the activation
+                // manager is notified before the next rule is tested, same as in other modes.
+                for (RuntimeRuleImpl rule : agenda) {
+                    if (activationManager.test(rule)) {
+                        int idx = activeRules.size();
+                        activationManager.onActivation(rule, rule.collectActivations());
+                        if (buffers.size() == idx) {
+                            buffers.add(newActionBuffer());
+                        }
+                        FactActionBuffer buff = buffers.get(idx);
+                        activeRules.add(rule);
+                        tasks.add(() -> rule.callCollectedRhs(buff));
+                    }
+                }
+
+                if (tasks.size() == 1) {
+                    tasks.get(0).run();
+                } else if (tasks.size() > 1) {
+                    getExecutor().invoke(Completer.of(tasks));
+                }
+
+                // Merging in the agenda's order
+                for (int i = 0; i < activeRules.size(); i++) {
+                    buffers.get(i).copyToAndClear(actionBuffer);
+                }
+                activeRules.clear();
+                tasks.clear();
+            }
+            deltaStatus.commitDeltas();
+            deleteMask.or(deltaStatus.getDeleteMask());
+        }
+        purge(deleteMask);
+    }
+
     private DeltaMemoryStatus buildDeltaMemory() {
         // Compute entry done deltas
         ComputeDeltaMemoryTask deltaTask = new ComputeDeltaMemoryTask(actionBuffer, memory);
@@ -103,37 +152,11 @@ abstract class AbstractRuleSessionIO<S extends RuleSession<S>> extends AbstractR
     }
 
     private List<RuntimeRuleImpl> buildMemoryDeltas(Mask<MemoryAddress> matchMask) {
-        List<RuntimeRuleImpl> affectedRules = new LinkedList<>();
         Set<BetaEndNode> affectedEndNodes = new HashSet<>();
+        List<RuntimeRuleImpl> affectedRules = ruleStorage.affectedRules(matchMask, affectedEndNodes);
 
-        for (RuntimeRuleImpl rule : ruleStorage) {
-            boolean ruleAdded = false;
-
-            for (RhsFactGroup group : rule.getLhs().getFactGroups()) {
-                if (matchMask.intersects(group.getMemoryMask())) {
-                    if (!ruleAdded) {
-                        // Marking the rule as active
-                        affectedRules.add(rule);
-                        ruleAdded = true;
-                    }
-
-                    if (group instanceof BetaEndNode) {
-                        affectedEndNodes.add((BetaEndNode) group);
-                    }
-                }
-            }
-        }
-
-        List<Completer> tasks = new LinkedList<>();
         if (!affectedEndNodes.isEmpty()) {
-            tasks.add(new RuleMemoryInsertTask(affectedEndNodes, matchMask, true));
-        }
-
-        if (tasks.size() > 0) {
-            ForkJoinExecutor executor = getExecutor();
-            for (Completer task : tasks) {
-                executor.invoke(task);
-            }
+            getExecutor().invoke(new RuleMemoryInsertTask(affectedEndNodes, matchMask, true));
         }
         return affectedRules;
     }
@@ -143,10 +166,12 @@ abstract class AbstractRuleSessionIO<S extends RuleSession<S>> extends AbstractR
             ForkJoinExecutor executor = getExecutor();
             MemoryPurgeTask purgeTask = new MemoryPurgeTask(memory, factPurgeMask);
             executor.invoke(purgeTask);
-            Mask<MemoryAddress> emptyKeysMask = purgeTask.getKeyPurgeMask();
-            if (emptyKeysMask.cardinality() > 0) {
+            if (purgeTask.getKeyPurgeMask().cardinality() > 0) {
                 // Purging rule beta-memories
-                executor.invoke(new ConditionMemoryPurgeTask(ruleStorage, emptyKeysMask));
+                ConditionMemoryPurgeTask conditionPurgeTask = new ConditionMemoryPurgeTask(ruleStorage, purgeTask);
+                if (!conditionPurgeTask.isEmpty()) {
+                    executor.invoke(conditionPurgeTask);
+                }
             }
         }
     }
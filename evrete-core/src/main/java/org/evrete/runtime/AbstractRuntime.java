@@ -3,8 +3,10 @@ package org.evrete.runtime;
 import org.evrete.Configuration;
 import org.evrete.KnowledgeService;
 import org.evrete.api.*;
+import org.evrete.api.spi.LiteralRhsCompiler;
 import org.evrete.runtime.async.ForkJoinExecutor;
 import org.evrete.runtime.compiler.CompilationException;
+import org.evrete.runtime.compiler.CompiledClassCache;
 import org.evrete.runtime.compiler.RuntimeClassloader;
 import org.evrete.runtime.compiler.SourceCompiler;
 import org.evrete.runtime.evaluation.MemoryAddress;
@@ -66,6 +68,19 @@ public abstract class AbstractRuntime<R extends Rule, C extends RuntimeContext<C
         this.classloader = new RuntimeClassloader(parent.classloader);
     }
 
+    /**
+     * Restores the per-use settings of a session to those of its parent.
+     *
+     * @param parent the parent this instance has been copied from
+     */
+    void resetTo(AbstractRuntime<?, ?> parent) {
+        super.resetTo(parent);
+        this.ruleComparator = parent.ruleComparator;
+        this.activationManagerFactory = parent.activationManagerFactory;
+        this.agendaMode = parent.agendaMode;
+        this.ruleBuilderExceptionHandler = parent.ruleBuilderExceptionHandler;
+    }
+
     protected abstract void addRuleInner(RuleBuilder<?> builder) throws CompilationException;
 
     ActivationMode getAgendaMode() {
@@ -84,6 +99,16 @@ public abstract class AbstractRuntime<R extends Rule, C extends RuntimeContext<C
         }
     }
 
+    /**
+     * Reports a rule's error that has been detected after the {@link #addRule(RuleBuilder)} call.
+     *
+     * @param builder   rule builder
+     * @param exception the exception
+     */
+    final void handleRuleBuilderException(RuleBuilder<?> builder, RuntimeException exception) {
+        this.ruleBuilderExceptionHandler.handle(this, builder, exception);
+    }
+
     @Override
     public final RuntimeClassloader getClassLoader() {
         return classloader;
@@ -101,7 +126,13 @@ public abstract class AbstractRuntime<R extends Rule, C extends RuntimeContext<C
 
     @Override
     public final JavaSourceCompiler getSourceCompiler() {
-        return new SourceCompiler(classloader);
+        Configuration configuration = getConfiguration();
+        return new SourceCompiler(
+                classloader,
+                CompiledClassCache.of(configuration, classloader),
+                service.getExecutor(),
+                configuration.getAsInteger(Configuration.COMPILER_PARTITION_SIZE, Configuration.COMPILER_PARTITION_SIZE_DEFAULT)
+        );
     }
 
     @Override
@@ -174,13 +205,23 @@ public abstract class AbstractRuntime<R extends Rule, C extends RuntimeContext<C
 
     @Override
     public RuleBuilder<C> newRule() {
-        return newRule("rule_" + noNameRuleCounter.incrementAndGet());
+        return newRule(null, null);
     }
 
     @Override
     public RuleBuilder<C> newRule(String name) {
+        return newRule(name, null);
+    }
+
+    /**
+     * @param name    rule name, or {@code null} for an unnamed rule
+     * @param ruleSet batch of rules that the new rule belongs to, or {@code null} if the rule is added directly
+     * @return new rule builder
+     */
+    RuleBuilderImpl<C> newRule(String name, RuleSetBuilderImpl<C> ruleSet) {
         _assertActive();
-        RuleBuilderImpl<C> rb = new RuleBuilderImpl<>(this, name);
+        String ruleName = name == null ? "rule_" + noNameRuleCounter.incrementAndGet() : name;
+        RuleBuilderImpl<C> rb = new RuleBuilderImpl<>(this, ruleName, ruleSet);
         this.ruleBuilders.add(rb);
         return rb;
     }
@@ -226,6 +267,34 @@ public abstract class AbstractRuntime<R extends Rule, C extends RuntimeContext<C
         }
     }
 
+    List<Consumer<RhsContext>> compile(List<? extends LiteralRhsCompiler.LiteralRhs> sources) throws CompilationException {
+        _assertActive();
+        return service.getLiteralRhsCompiler().compileRhs(this, sources);
+    }
+
+    /**
+     * Compiles and sets a rule's literal RHS. Implementations may defer the compilation
+     * until the end of the {@link #addRules(List)} call.
+     *
+     * @param rule       rule
+     * @param literalRhs literal RHS
+     * @param namedTypes rule's fact types
+     */
+    void setLiteralRhs(AbstractRuntimeRule<?> rule, String literalRhs, Collection<NamedType> namedTypes) {
+        rule.setRhs(compile(literalRhs, namedTypes));
+    }
+
+    /**
+     * Adds a batch of rules, see {@link RuleSetBuilderImpl}. Rules are added one by one by default.
+     *
+     * @param builders rule builders
+     */
+    void addRules(List<RuleBuilderImpl<C>> builders) {
+        for (RuleBuilderImpl<C> builder : builders) {
+            addRule(builder);
+        }
+    }
+
     private FieldReference resolveFieldReference(String arg, NamedType.Resolver typeMapper) {
         _assertActive();
         return getExpressionResolver().resolve(arg, typeMapper);
@@ -60,11 +60,12 @@ public abstract class AbstractRuntimeRule<T extends FactType> extends AbstractRu
     @Override
     public final void setRhs(String literalRhs) {
         if (literalRhs != null) {
+            super.setRhs(literalRhs);
             Collection<NamedType> namedTypes = new LinkedList<>();
             for (FactType factType : factTypes) {
                 namedTypes.add(resolve(factType.getName()));
             }
-            setRhs(runtime.compile(literalRhs, namedTypes));
+            runtime.setLiteralRhs(this, literalRhs, namedTypes);
         }
     }
 }
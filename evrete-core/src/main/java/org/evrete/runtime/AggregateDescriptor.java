@@ -0,0 +1,43 @@
+package org.evrete.runtime;
+
+import org.evrete.api.Aggregate;
+
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Aggregate declarations of a rule
+ */
+final class AggregateDescriptor {
+    private final String groupName;
+    private final Function<Object, ?> groupKey;
+    private final String[] names;
+    private final Aggregate<Object, Object, ?>[] aggregates;
+
+    @SuppressWarnings("unchecked")
+    AggregateDescriptor(String groupName, Function<?, ?> groupKey, Map<String, Aggregate<?, ?, ?>> aggregates) {
+        this.groupName = groupName;
+        this.groupKey = (Function<Object, ?>) groupKey;
+        this.names = aggregates.keySet().toArray(new String[0]);
+        this.aggregates = (Aggregate<Object, Object, ?>[]) aggregates.values().toArray(new Aggregate<?, ?, ?>[0]);
+    }
+
+    /**
+     * @return group name, or {@code null} if the aggregates are not grouped
+     */
+    String getGroupName() {
+        return groupName;
+    }
+
+    Object groupKey(Object fact) {
+        return groupKey == null ? null : groupKey.apply(fact);
+    }
+
+    String[] getNames() {
+        return names;
+    }
+
+    Aggregate<Object, Object, ?>[] getAggregates() {
+        return aggregates;
+    }
+}
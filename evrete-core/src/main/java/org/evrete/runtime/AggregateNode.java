@@ -0,0 +1,150 @@
+package org.evrete.runtime;
+
+import org.evrete.api.Aggregate;
+import org.evrete.api.FactHandle;
+import org.evrete.runtime.evaluation.MemoryAddress;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * <p>
+ * Running aggregates of an aggregate rule, grouped by the rule's group key. The node receives inserts,
+ * updates and deletes of the rule's fact type directly from the type memory, and adjusts the affected group
+ * with the values captured when each fact has been added. Groups are reported to the rule only if their
+ * results differ from the previously reported ones.
+ * </p>
+ */
+class AggregateNode {
+    private final MemoryAddress address;
+    private final AggregateDescriptor descriptor;
+    private final Aggregate<Object, Object, ?>[] aggregates;
+    private final Map<Object, Group> groups = new HashMap<>();
+    private final Map<FactHandle, Contribution> contributions = new HashMap<>();
+    // Groups modified since the last report
+    private final Set<Group> modified = new LinkedHashSet<>();
+
+    AggregateNode(MemoryAddress address, AggregateDescriptor descriptor) {
+        this.address = address;
+        this.descriptor = descriptor;
+        this.aggregates = descriptor.getAggregates();
+    }
+
+    MemoryAddress getAddress() {
+        return address;
+    }
+
+    /**
+     * @param fact inserted or updated fact
+     */
+    void insert(RuntimeFact fact) {
+        if (address.testAlphaBits(fact.alphaTests)) {
+            add(fact.factHandle.getHandle(), fact.factRecord.instance);
+        }
+    }
+
+    void add(FactHandle handle, Object fact) {
+        Group group = groups.computeIfAbsent(descriptor.groupKey(fact), Group::new);
+        Object[] values = new Object[aggregates.length];
+        for (int i = 0; i < aggregates.length; i++) {
+            Object value = aggregates[i].value(fact);
+            values[i] = value;
+            group.accumulators[i].add(value);
+        }
+        group.size++;
+        modified.add(group);
+        Contribution previous = contributions.put(handle, new Contribution(group, values));
+        if (previous != null) {
+            previous.remove();
+            modified.add(previous.group);
+        }
+    }
+
+    void remove(FactHandle handle) {
+        Contribution contribution = contributions.remove(handle);
+        if (contribution != null) {
+            contribution.remove();
+            modified.add(contribution.group);
+        }
+    }
+
+    boolean hasChanges() {
+        return !modified.isEmpty();
+    }
+
+    /**
+     * Reports the modified groups whose results have changed, and drops the empty ones
+     *
+     * @param consumer consumer of group keys and current results
+     * @return number of reported groups
+     */
+    long forEachChange(BiConsumer<Object, Object[]> consumer) {
+        long count = 0;
+        Iterator<Group> it = modified.iterator();
+        while (it.hasNext()) {
+            Group group = it.next();
+            it.remove();
+            if (group.size == 0) {
+                groups.remove(group.key);
+                if (group.reported == null) {
+                    // The group has come and gone between two reports
+                    continue;
+                }
+            }
+            Object[] results = group.results();
+            if (!Arrays.equals(results, group.reported)) {
+                group.reported = results;
+                consumer.accept(group.key, results);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    void clear() {
+        groups.clear();
+        contributions.clear();
+        modified.clear();
+    }
+
+    private final class Group {
+        private final Object key;
+        private final Aggregate.Accumulator<Object, ?>[] accumulators;
+        private Object[] reported;
+        private int size;
+
+        @SuppressWarnings("unchecked")
+        Group(Object key) {
+            this.key = key;
+            this.accumulators = (Aggregate.Accumulator<Object, ?>[]) new Aggregate.Accumulator<?, ?>[aggregates.length];
+            for (int i = 0; i < aggregates.length; i++) {
+                this.accumulators[i] = aggregates[i].newAccumulator();
+            }
+        }
+
+        Object[] results() {
+            Object[] results = new Object[accumulators.length];
+            for (int i = 0; i < accumulators.length; i++) {
+                results[i] = accumulators[i].get();
+            }
+            return results;
+        }
+    }
+
+    private static final class Contribution {
+        private final Group group;
+        private final Object[] values;
+
+        Contribution(Group group, Object[] values) {
+            this.group = group;
+            this.values = values;
+        }
+
+        void remove() {
+            for (int i = 0; i < values.length; i++) {
+                group.accumulators[i].remove(values[i]);
+            }
+            group.size--;
+        }
+    }
+}
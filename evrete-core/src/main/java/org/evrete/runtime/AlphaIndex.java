@@ -0,0 +1,193 @@
+package org.evrete.runtime;
+
+import org.evrete.api.ConstantComparison;
+
+import java.util.*;
+
+/**
+ * <p>
+ * Alpha conditions of a type, grouped by the fields they test. Conditions that compare a field
+ * with a constant are resolved with a hash lookup (equalities) or a walk over constants
+ * sorted in the direction of the comparison (ranges), so that the cost of testing a fact
+ * depends on the number of passing conditions rather than on the total number of conditions.
+ * Other conditions are evaluated one by one.
+ * </p>
+ */
+class AlphaIndex {
+    private final TypeMemory.AlphaPredicate[] predicates;
+    private final FieldIndex[] fieldIndices;
+    private final Object[] values;
+
+    AlphaIndex(TypeMemory.AlphaPredicate[] alphaPredicates, Object[] values) {
+        this.values = values;
+        List<TypeMemory.AlphaPredicate> plain = new ArrayList<>();
+        Map<Integer, FieldIndex> indices = new TreeMap<>();
+        for (TypeMemory.AlphaPredicate predicate : alphaPredicates) {
+            ConstantComparison comparison = predicate.getConstantComparison();
+            if (comparison == null || !indices.computeIfAbsent(predicate.getValueIndex(), k -> new FieldIndex(k, comparison.getValue().getClass())).add(predicate, comparison)) {
+                plain.add(predicate);
+            }
+        }
+
+        this.predicates = plain.toArray(new TypeMemory.AlphaPredicate[0]);
+        this.fieldIndices = indices.values().toArray(new FieldIndex[0]);
+        for (FieldIndex index : fieldIndices) {
+            index.build();
+        }
+    }
+
+    void test(BitSet result) {
+        for (TypeMemory.AlphaPredicate predicate : predicates) {
+            if (predicate.test()) {
+                result.set(predicate.getIndex());
+            }
+        }
+        for (FieldIndex index : fieldIndices) {
+            index.test(values[index.valueIndex], result);
+        }
+    }
+
+    private static final class FieldIndex {
+        private static final int[] EMPTY = new int[0];
+        private final int valueIndex;
+        private final Class<?> valueClass;
+        private final List<TypeMemory.AlphaPredicate> all = new ArrayList<>();
+        private final Map<Object, int[]> equal = new HashMap<>();
+        private final Map<Object, int[]> notEqual = new HashMap<>();
+        private final List<Bound> greaterList = new ArrayList<>();
+        private final List<Bound> lessList = new ArrayList<>();
+        private TypeMemory.AlphaPredicate[] fallback;
+        private int[] notEqualAll = EMPTY;
+        // Lower bounds (value > c, value >= c), in ascending order
+        private Bound[] greater;
+        // Upper bounds (value < c, value <= c), in descending order
+        private Bound[] less;
+
+        FieldIndex(int valueIndex, Class<?> valueClass) {
+            this.valueIndex = valueIndex;
+            this.valueClass = valueClass;
+        }
+
+        private static int[] append(int[] arr, int i) {
+            int[] ret = Arrays.copyOf(arr, arr.length + 1);
+            ret[arr.length] = i;
+            return ret;
+        }
+
+        boolean add(TypeMemory.AlphaPredicate predicate, ConstantComparison comparison) {
+            Comparable<?> constant = comparison.getValue();
+            if (constant.getClass() != valueClass) {
+                // Constants of different types can not be sorted together
+                return false;
+            }
+            int bit = predicate.getIndex();
+            all.add(predicate);
+            switch (comparison.getOperator()) {
+                case EQUALS:
+                    equal.merge(constant, new int[]{bit}, (a, b) -> append(a, bit));
+                    break;
+                case NOT_EQUALS:
+                    notEqual.merge(constant, new int[]{bit}, (a, b) -> append(a, bit));
+                    notEqualAll = append(notEqualAll, bit);
+                    break;
+                case GREATER:
+                    greaterList.add(new Bound(constant, false, bit));
+                    break;
+                case GREATER_OR_EQUAL:
+                    greaterList.add(new Bound(constant, true, bit));
+                    break;
+                case LESS:
+                    lessList.add(new Bound(constant, false, bit));
+                    break;
+                case LESS_OR_EQUAL:
+                    lessList.add(new Bound(constant, true, bit));
+                    break;
+                default:
+                    throw new IllegalStateException();
+            }
+            return true;
+        }
+
+        void build() {
+            this.fallback = all.toArray(new TypeMemory.AlphaPredicate[0]);
+            this.greater = greaterList.toArray(new Bound[0]);
+            this.less = lessList.toArray(new Bound[0]);
+            Arrays.sort(greater);
+            Arrays.sort(less, Collections.reverseOrder());
+        }
+
+        void test(Object value, BitSet result) {
+            if (value == null || value.getClass() != valueClass || value.equals(Double.NaN)) {
+                // Unboxing errors and NaN comparisons are left to the conditions themselves
+                for (TypeMemory.AlphaPredicate predicate : fallback) {
+                    if (predicate.test()) {
+                        result.set(predicate.getIndex());
+                    }
+                }
+                return;
+            }
+
+            if (value instanceof Double) {
+                // Negative zero is equal to positive zero in primitive comparisons
+                value = (Double) value + 0.0;
+            }
+
+            int[] bits = equal.get(value);
+            if (bits != null) {
+                for (int bit : bits) {
+                    result.set(bit);
+                }
+            }
+
+            if (notEqualAll.length > 0) {
+                for (int bit : notEqualAll) {
+                    result.set(bit);
+                }
+                bits = notEqual.get(value);
+                if (bits != null) {
+                    for (int bit : bits) {
+                        result.clear(bit);
+                    }
+                }
+            }
+
+            for (Bound bound : greater) {
+                int c = bound.compareToValue(value);
+                if (c > 0) break;
+                if (c < 0 || bound.inclusive) {
+                    result.set(bound.bit);
+                }
+            }
+
+            for (Bound bound : less) {
+                int c = bound.compareToValue(value);
+                if (c < 0) break;
+                if (c > 0 || bound.inclusive) {
+                    result.set(bound.bit);
+                }
+            }
+        }
+    }
+
+    private static final class Bound implements Comparable<Bound> {
+        private final Comparable<?> constant;
+        private final boolean inclusive;
+        private final int bit;
+
+        Bound(Comparable<?> constant, boolean inclusive, int bit) {
+            this.constant = constant;
+            this.inclusive = inclusive;
+            this.bit = bit;
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        int compareToValue(Object value) {
+            return ((Comparable) constant).compareTo(value);
+        }
+
+        @Override
+        public int compareTo(Bound o) {
+            return compareToValue(o.constant);
+        }
+    }
+}
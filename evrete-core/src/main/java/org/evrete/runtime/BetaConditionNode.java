@@ -1,26 +1,40 @@
 package org.evrete.runtime;
 
+import org.evrete.Configuration;
 import org.evrete.api.*;
+import org.evrete.runtime.async.Completer;
+import org.evrete.runtime.async.ForkJoinExecutor;
 import org.evrete.runtime.evaluation.BetaEvaluator;
 import org.evrete.runtime.evaluation.EvaluatorWrapper;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.function.Consumer;
 
 import static org.evrete.util.Constants.DELETED_MEMORY_KEY_FLAG;
 
 public class BetaConditionNode extends AbstractBetaConditionNode {
     static final BetaConditionNode[] EMPTY_ARRAY = new BetaConditionNode[0];
-    private final MemoryKeyNode[] evaluationState;
+    private static final int MIN_CHUNK_ROWS = 64;
+    private final FactType[] allFactTypes;
+    private final BetaEvaluator expression;
+    private final ValueResolver valueResolver;
+    private final EvaluatorWrapper[] constituents;
+    private final ConditionValueReader[][] constituentReaders;
+    private final EvaluationState state;
     private final SourceMeta[] sourceMetas;
-    private final CachingEvaluator cachingEvaluator;
     private final int[] descriptorIndices;
+    private final int parallelThreshold;
 
     BetaConditionNode(RuntimeRuleImpl rule, ConditionNodeDescriptor descriptor, BetaMemoryNode[] sources) {
         super(rule, descriptor, sources);
-        BetaEvaluator expression = descriptor.getExpression();
-        ValueResolver valueResolver = rule.getRuntime().memory.memoryFactory.getValueResolver();
-        FactType[] allFactTypes = rule.getFactTypes();
-        this.evaluationState = new MemoryKeyNode[allFactTypes.length];
+        this.expression = descriptor.getExpression();
+        this.valueResolver = rule.getRuntime().memory.memoryFactory.getValueResolver();
+        this.allFactTypes = rule.getFactTypes();
+        this.parallelThreshold = rule.getRuntime().getConfiguration().getAsInteger(Configuration.PARALLEL_JOIN_THRESHOLD, Configuration.PARALLEL_JOIN_THRESHOLD_DEFAULT);
 
         FactType[] types = getDescriptor().getTypes();
         this.descriptorIndices = new int[types.length];
@@ -28,28 +42,23 @@ public class BetaConditionNode extends AbstractBetaConditionNode {
             this.descriptorIndices[i] = types[i].getInRuleIndex();
         }
 
-        RuntimeBetaEvaluator betaEvaluator = new RuntimeBetaEvaluator(getRuntime(), expression);
-        this.cachingEvaluator = new CachingEvaluator(betaEvaluator);
-
-        for (FactType type : allFactTypes) {
-            MemoryKeyNode keyMeta;
-            if (expression.getFactTypeMask().get(type)) {
-                // This fact type is a part of condition evaluation
-                keyMeta = new ConditionMemoryKeyNode(type, valueResolver, expression, cachingEvaluator);
-            } else {
-                // This is a pass-through type, no field value reads are required
-                keyMeta = new MemoryKeyNode();
-            }
-            this.evaluationState[type.getInRuleIndex()] = keyMeta;
-        }
-
         this.sourceMetas = new SourceMeta[sources.length];
         for (int i = 0; i < sources.length; i++) {
-            sourceMetas[i] = new SourceMeta(sources[i]);
+            sourceMetas[i] = new SourceMeta(sources[i], valueResolver);
+        }
+
+        // Which source provides which fact type
+        int[] typeSources = new int[allFactTypes.length];
+        for (int i = 0; i < sourceMetas.length; i++) {
+            for (int typeIndex : sourceMetas[i].factTypeIndices) {
+                typeSources[typeIndex] = i;
+            }
         }
 
-        EvaluatorWrapper[] childConditions = betaEvaluator.constituents();
-        for (EvaluatorWrapper e : childConditions) {
+        this.constituents = new RuntimeBetaEvaluator(getRuntime(), expression).constituents();
+        this.constituentReaders = new ConditionValueReader[constituents.length][];
+        for (int c = 0; c < constituents.length; c++) {
+            EvaluatorWrapper e = constituents[c];
             FieldReference[] refs = e.descriptor();
             final ConditionValueReader[] valueReaders = new ConditionValueReader[refs.length];
             for (int i = 0; i < refs.length; i++) {
@@ -57,11 +66,24 @@ public class BetaConditionNode extends AbstractBetaConditionNode {
                 FactType factType = rule.resolveFactType(ref.type());
                 final int typeId = factType.getInRuleIndex();
                 final int fieldPosition = factType.findFieldPosition(ref.field());
-                valueReaders[i] = new ConditionValueReader(evaluationState, typeId, fieldPosition);
+                valueReaders[i] = new ConditionValueReader(typeId, fieldPosition);
+            }
+            this.constituentReaders[c] = valueReaders;
+
+            if (valueReaders.length == 2) {
+                // A two-field condition that spans two sources may become a hash or a range join
+                // if it turns out to be an equality or a comparison at the evaluation time
+                int s0 = typeSources[valueReaders[0].type];
+                int s1 = typeSources[valueReaders[1].type];
+                if (s0 != s1) {
+                    ConditionValueReader outer = s0 < s1 ? valueReaders[0] : valueReaders[1];
+                    ConditionValueReader inner = s0 < s1 ? valueReaders[1] : valueReaders[0];
+                    SourceMeta innerSource = sourceMetas[Math.max(s0, s1)];
+                    innerSource.joinCandidates.add(new JoinCandidate(e, outer, innerSource.rowPosition(inner.type), inner.field, s0 > s1));
+                }
             }
-            e.setStateValues(i -> valueReaders[i].get());
         }
-
+        this.state = new EvaluationState();
     }
 
     public static void forEachConditionNode(BetaConditionNode node, Consumer<BetaConditionNode> consumer) {
@@ -79,6 +101,9 @@ public class BetaConditionNode extends AbstractBetaConditionNode {
     }
 
     public void computeDelta(boolean deltaOnly) {
+        for (SourceMeta meta : sourceMetas) {
+            meta.prepareJoin();
+        }
         forEachKeyMode(0, false, false, new KeyMode[this.sourceMetas.length], deltaOnly);
     }
 
@@ -100,65 +125,246 @@ public class BetaConditionNode extends AbstractBetaConditionNode {
 
     private void forEachModeSelection(KeyMode destinationMode, KeyMode[] sourceModes) {
         MemoryKeyCollection destination = getStore(destinationMode);
+        long outerSize = 0;
         for (int i = 0; i < sourceMetas.length; i++) {
-            if (!sourceMetas[i].setIterator(sourceModes[i])) {
+            long size = sourceMetas[i].setIterator(sourceModes[i]);
+            if (size == 0) {
                 return;
+            } else if (i == 0) {
+                outerSize = size;
             }
         }
-        // Reset cached states
-        for (MemoryKeyNode meta : evaluationState) {
-            meta.clear();
+
+        if (parallelThreshold > 0 && outerSize >= parallelThreshold && !hasListeners()) {
+            forEachModeSelectionParallel(destination);
+        } else {
+            // Reset cached states
+            state.clear();
+            // Evaluate current mode selection
+            state.forEachMemoryKey(0, destination::add);
         }
-        // Evaluate current mode selection
-        forEachMemoryKey(0, destination);
     }
 
-    private void forEachMemoryKey(int sourceIndex, MemoryKeyCollection destination) {
-        SourceMeta meta = this.sourceMetas[sourceIndex];
-        ReIterator<MemoryKey> it = meta.currentIterator;
-        if (it.reset() == 0) return;
+    /**
+     * <p>
+     * Splits the outer source into chunks and evaluates them concurrently. Source iterators
+     * can not be shared between threads, so the current keys of non-indexed sources are copied
+     * first. Each chunk has its own evaluation state and output, the outputs are merged
+     * in the same order as if the keys were evaluated sequentially.
+     * </p>
+     *
+     * @param destination key collection to save the results to
+     */
+    private void forEachModeSelectionParallel(MemoryKeyCollection destination) {
+        KeyRows[] sourceRows = new KeyRows[sourceMetas.length];
+        for (int i = 0; i < sourceMetas.length; i++) {
+            SourceMeta meta = sourceMetas[i];
+            if (meta.activeJoin == null) {
+                KeyRows rows = new KeyRows(meta.factTypeIndices.length);
+                ReIterator<MemoryKey> it = meta.currentIterator;
+                it.reset();
+                rows.addAll(it);
+                if (rows.size == 0) return;
+                sourceRows[i] = rows;
+            }
+        }
 
-        if (sourceIndex == this.sourceMetas.length - 1) {
-            while (it.hasNext()) {
-                if (setState(it, meta.factTypeIndices)) {
-                    if (cachingEvaluator.test()) {
-                        for (int ruleIndex : descriptorIndices) {
-                            destination.add(evaluationState[ruleIndex].currentKey);
-                        }
+        ForkJoinExecutor executor = getRuntime().getExecutor();
+        int outerRows = sourceRows[0].size;
+        int chunkCount = Math.max(1, Math.min(executor.getParallelism() * 2, outerRows / MIN_CHUNK_ROWS));
+        List<JoinChunk> chunks = new ArrayList<>(chunkCount);
+        for (int c = 0; c < chunkCount; c++) {
+            int from = (int) ((long) outerRows * c / chunkCount);
+            int to = (int) ((long) outerRows * (c + 1) / chunkCount);
+            chunks.add(new JoinChunk(sourceRows, from, to));
+        }
+        if (chunkCount == 1) {
+            chunks.get(0).run();
+        } else {
+            executor.invoke(Completer.of(chunks));
+        }
+        for (JoinChunk chunk : chunks) {
+            for (MemoryKey key : chunk.output) {
+                destination.add(key);
+            }
+        }
+    }
+
+    private boolean hasListeners() {
+        for (EvaluatorWrapper e : constituents) {
+            // Listeners are not necessarily thread-safe
+            if (e.hasListeners()) return true;
+        }
+        return false;
+    }
+
+    void forEachConditionNode(Consumer<BetaConditionNode> consumer) {
+        forEachConditionNode(this, consumer);
+    }
+
+    /**
+     * Per-thread state of the evaluation: current keys, their field values and the cached condition result
+     */
+    private final class EvaluationState {
+        private final MemoryKeyNode[] nodes;
+        private final CachingEvaluator cachingEvaluator;
+        // Joined rows, one range per source
+        private final RowRange[] ranges;
+
+        EvaluationState() {
+            this.nodes = new MemoryKeyNode[allFactTypes.length];
+            this.ranges = new RowRange[sourceMetas.length];
+            for (int i = 0; i < ranges.length; i++) {
+                this.ranges[i] = new RowRange();
+            }
+            this.cachingEvaluator = new CachingEvaluator(constituents, constituentReaders, nodes);
+            for (FactType type : allFactTypes) {
+                MemoryKeyNode keyMeta;
+                if (expression.getFactTypeMask().get(type)) {
+                    // This fact type is a part of condition evaluation
+                    keyMeta = new ConditionMemoryKeyNode(type, valueResolver, expression, cachingEvaluator);
+                } else {
+                    // This is a pass-through type, no field value reads are required
+                    keyMeta = new MemoryKeyNode();
+                }
+                this.nodes[type.getInRuleIndex()] = keyMeta;
+            }
+        }
+
+        void clear() {
+            for (MemoryKeyNode node : nodes) {
+                node.clear();
+            }
+        }
+
+        private void saveMatch(Consumer<MemoryKey> destination) {
+            if (cachingEvaluator.test()) {
+                for (int ruleIndex : descriptorIndices) {
+                    destination.accept(nodes[ruleIndex].currentKey);
+                }
+            }
+        }
+
+        void forEachMemoryKey(int sourceIndex, Consumer<MemoryKey> destination) {
+            SourceMeta meta = sourceMetas[sourceIndex];
+            if (meta.activeJoin != null) {
+                forEachJoinedKey(sourceIndex, meta, destination);
+                return;
+            }
+            ReIterator<MemoryKey> it = meta.currentIterator;
+            if (it.reset() == 0) return;
+
+            if (sourceIndex == sourceMetas.length - 1) {
+                while (it.hasNext()) {
+                    if (setState(it, meta.factTypeIndices)) {
+                        saveMatch(destination);
+                    }
+                }
+            } else {
+                while (it.hasNext()) {
+                    if (setState(it, meta.factTypeIndices)) {
+                        forEachMemoryKey(sourceIndex + 1, destination);
                     }
                 }
             }
-        } else {
-            while (it.hasNext()) {
-                if (setState(it, meta.factTypeIndices)) {
+        }
+
+        /**
+         * Same as {@link #forEachMemoryKey(int, Consumer)}, but reads the keys from copied source rows
+         */
+        void forEachRow(int sourceIndex, KeyRows[] sourceRows, Consumer<MemoryKey> destination) {
+            SourceMeta meta = sourceMetas[sourceIndex];
+            if (meta.activeJoin != null) {
+                RowRange range = ranges[sourceIndex];
+                if (meta.joinedRows(nodes, range)) {
+                    forEachRow(sourceIndex, range.rows, range.from, range.to, sourceRows, destination);
+                }
+            } else {
+                KeyRows rows = sourceRows[sourceIndex];
+                forEachRow(sourceIndex, rows, 0, rows.size, sourceRows, destination);
+            }
+        }
+
+        void forEachRow(int sourceIndex, KeyRows rows, int from, int to, KeyRows[] sourceRows, Consumer<MemoryKey> destination) {
+            int[] indices = sourceMetas[sourceIndex].factTypeIndices;
+            boolean last = sourceIndex == sourceMetas.length - 1;
+            for (int r = from; r < to; r++) {
+                rows.setState(r, nodes, indices);
+                if (last) {
+                    saveMatch(destination);
+                } else {
+                    forEachRow(sourceIndex + 1, sourceRows, destination);
+                }
+            }
+        }
+
+        private void forEachJoinedKey(int sourceIndex, SourceMeta meta, Consumer<MemoryKey> destination) {
+            RowRange range = ranges[sourceIndex];
+            if (!meta.joinedRows(nodes, range)) return;
+
+            KeyRows rows = range.rows;
+            boolean last = sourceIndex == sourceMetas.length - 1;
+            for (int r = range.from; r < range.to; r++) {
+                rows.setState(r, nodes, meta.factTypeIndices);
+                if (last) {
+                    saveMatch(destination);
+                } else {
                     forEachMemoryKey(sourceIndex + 1, destination);
                 }
             }
         }
-    }
 
-    private boolean setState(ReIterator<MemoryKey> it, int[] indices) {
-        MemoryKey key;
-        boolean ret = true;
-        for (int idx : indices) {
-            key = it.next();
-            ret = ret & key.getMetaValue() != DELETED_MEMORY_KEY_FLAG;
-            this.evaluationState[idx].setKey(key);
+        private boolean setState(ReIterator<MemoryKey> it, int[] indices) {
+            MemoryKey key;
+            boolean ret = true;
+            for (int idx : indices) {
+                key = it.next();
+                ret = ret & key.getMetaValue() != DELETED_MEMORY_KEY_FLAG;
+                this.nodes[idx].setKey(key);
+            }
+            return ret;
         }
-        return ret;
     }
 
-    void forEachConditionNode(Consumer<BetaConditionNode> consumer) {
-        forEachConditionNode(this, consumer);
+    /**
+     * A range of outer source's rows evaluated by a separate thread
+     */
+    private final class JoinChunk implements Runnable {
+        private final KeyRows[] sourceRows;
+        private final int from;
+        private final int to;
+        private final List<MemoryKey> output = new ArrayList<>();
+
+        JoinChunk(KeyRows[] sourceRows, int from, int to) {
+            this.sourceRows = sourceRows;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public void run() {
+            EvaluationState chunkState = new EvaluationState();
+            chunkState.forEachRow(0, sourceRows[0], from, to, sourceRows, output::add);
+        }
     }
 
     private static class SourceMeta {
         final BetaMemoryNode source;
         final int[] factTypeIndices;
+        final List<JoinCandidate> joinCandidates = new ArrayList<>();
+        private final ValueResolver valueResolver;
+        private final KeyIndex[] indices = new KeyIndex[KeyMode.values().length];
+        private final RangeIndex[] rangeIndices = new RangeIndex[KeyMode.values().length];
         ReIterator<MemoryKey> currentIterator;
+        JoinCandidate activeJoin;
+        // Non-null if the active join is a range join
+        ConstantComparison.Operator rangeOperator;
+        KeyIndex currentIndex;
+        RangeIndex currentRangeIndex;
 
-        SourceMeta(BetaMemoryNode source) {
+        SourceMeta(BetaMemoryNode source, ValueResolver valueResolver) {
             this.source = source;
+            this.valueResolver = valueResolver;
             FactType[] factTypes = source.getDescriptor().getTypes();
             this.factTypeIndices = new int[factTypes.length];
             for (int i = 0; i < factTypes.length; i++) {
@@ -166,9 +372,363 @@ public class BetaConditionNode extends AbstractBetaConditionNode {
             }
         }
 
-        boolean setIterator(KeyMode mode) {
+        int rowPosition(int factTypeIndex) {
+            for (int i = 0; i < factTypeIndices.length; i++) {
+                if (factTypeIndices[i] == factTypeIndex) return i;
+            }
+            throw new IllegalStateException("Fact type not found in source " + source.getDescriptor());
+        }
+
+        // Conditions can be replaced or get listeners at any time, so the join
+        // strategy is selected at the beginning of each delta computation
+        void prepareJoin() {
+            this.activeJoin = null;
+            this.rangeOperator = null;
+            for (JoinCandidate candidate : joinCandidates) {
+                if (candidate.isHashJoin()) {
+                    this.activeJoin = candidate;
+                    break;
+                }
+            }
+            if (activeJoin == null) {
+                // Range scans are selected only if there are no equalities to join on
+                for (JoinCandidate candidate : joinCandidates) {
+                    ConstantComparison.Operator operator = candidate.rangeOperator();
+                    if (operator != null) {
+                        this.activeJoin = candidate;
+                        this.rangeOperator = operator;
+                        break;
+                    }
+                }
+            }
+            for (KeyIndex index : indices) {
+                if (index != null) {
+                    index.invalidate();
+                }
+            }
+            for (RangeIndex index : rangeIndices) {
+                if (index != null) {
+                    index.invalidate();
+                }
+            }
+        }
+
+        /**
+         * @return number of keys in the selected mode, zero if there's nothing to iterate over
+         */
+        long setIterator(KeyMode mode) {
             this.currentIterator = source.iterator(mode);
-            return this.currentIterator.reset() > 0;
+            long size = this.currentIterator.reset();
+            if (size == 0) {
+                return 0;
+            }
+            if (activeJoin != null) {
+                if (rangeOperator == null) {
+                    KeyIndex index = indices[mode.ordinal()];
+                    if (index == null) {
+                        index = new KeyIndex(factTypeIndices.length);
+                        indices[mode.ordinal()] = index;
+                    }
+                    index.build(currentIterator, activeJoin);
+                    this.currentIndex = index;
+                } else {
+                    RangeIndex index = rangeIndices[mode.ordinal()];
+                    if (index == null) {
+                        index = new RangeIndex(factTypeIndices.length);
+                        rangeIndices[mode.ordinal()] = index;
+                    }
+                    index.build(currentIterator, activeJoin, valueResolver);
+                    this.currentRangeIndex = index;
+                }
+            }
+            return size;
+        }
+
+        /**
+         * @param evaluationState current keys of the outer sources
+         * @param range           range of rows to fill
+         * @return false if no rows can match the current outer keys
+         */
+        boolean joinedRows(MemoryKeyNode[] evaluationState, RowRange range) {
+            if (rangeOperator == null) {
+                MemoryKey outerKey = evaluationState[activeJoin.outer.type].currentKey;
+                KeyRows rows = currentIndex.get(outerKey.get(activeJoin.outer.field));
+                if (rows == null) {
+                    return false;
+                } else {
+                    range.set(rows, 0, rows.size);
+                    return true;
+                }
+            } else {
+                Object outerValue = activeJoin.outer.get(evaluationState);
+                return currentRangeIndex.get(outerValue, rangeOperator, range);
+            }
+        }
+    }
+
+    private static class JoinCandidate {
+        final EvaluatorWrapper condition;
+        final ConditionValueReader outer;
+        final int innerPosition;
+        final int innerField;
+        // Whether the inner field is the condition's first argument
+        final boolean innerFirst;
+
+        JoinCandidate(EvaluatorWrapper condition, ConditionValueReader outer, int innerPosition, int innerField, boolean innerFirst) {
+            this.condition = condition;
+            this.outer = outer;
+            this.innerPosition = innerPosition;
+            this.innerField = innerField;
+            this.innerFirst = innerFirst;
+        }
+
+        boolean isHashJoin() {
+            // Listeners expect to be notified on every evaluation, hash lookups would skip some of them
+            return condition.isEquality() && !condition.hasListeners();
+        }
+
+        /**
+         * @return operator of the <code>inner &lt;operator&gt; outer</code> comparison,
+         * or <code>null</code> if the condition can not be evaluated as a range scan
+         */
+        ConstantComparison.Operator rangeOperator() {
+            if (condition.hasListeners()) return null;
+            ConstantComparison.Operator operator = condition.getComparisonOperator();
+            if (operator == null || operator == ConstantComparison.Operator.EQUALS || operator == ConstantComparison.Operator.NOT_EQUALS) {
+                return null;
+            } else {
+                return innerFirst ? operator : operator.swapped();
+            }
+        }
+    }
+
+    /**
+     * Source keys grouped by the value of the join field. The index is built at most once
+     * per key mode and delta computation, turning nested loops over the source into direct lookups.
+     */
+    private static class KeyIndex {
+        private final Map<ValueHandle, KeyRows> rows = new HashMap<>();
+        private final MemoryKey[] buffer;
+        private boolean valid = false;
+
+        KeyIndex(int width) {
+            this.buffer = new MemoryKey[width];
+        }
+
+        void invalidate() {
+            this.valid = false;
+        }
+
+        KeyRows get(ValueHandle handle) {
+            return rows.get(handle);
+        }
+
+        void build(ReIterator<MemoryKey> it, JoinCandidate join) {
+            if (valid) return;
+            rows.clear();
+            int width = buffer.length;
+            while (it.hasNext()) {
+                boolean deleted = false;
+                for (int i = 0; i < width; i++) {
+                    MemoryKey key = it.next();
+                    deleted |= key.getMetaValue() == DELETED_MEMORY_KEY_FLAG;
+                    buffer[i] = key;
+                }
+                if (!deleted) {
+                    ValueHandle h = buffer[join.innerPosition].get(join.innerField);
+                    rows.computeIfAbsent(h, k -> new KeyRows(width)).add(buffer);
+                }
+            }
+            this.valid = true;
+        }
+    }
+
+    /**
+     * Source keys sorted by the value of the join field. Like the {@link KeyIndex}, the index is built
+     * at most once per key mode and delta computation, and each outer key gets its matching rows
+     * with a binary search instead of a nested loop. The result is a superset of the matching rows,
+     * the join condition is still evaluated on every one of them.
+     */
+    private static class RangeIndex {
+        private final MemoryKey[] buffer;
+        private KeyRows rows;
+        private Comparable<?>[] values = new Comparable<?>[0];
+        private boolean valid = false;
+
+        RangeIndex(int width) {
+            this.buffer = new MemoryKey[width];
+            this.rows = new KeyRows(width);
+        }
+
+        // Negative zero equals positive zero in primitive comparisons
+        private static Comparable<?> normalize(Object value) {
+            return value instanceof Double ? (Double) value + 0.0 : (Comparable<?>) value;
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static int compare(Comparable<?> c1, Comparable<?> c2) {
+            return ((Comparable) c1).compareTo(c2);
+        }
+
+        void invalidate() {
+            this.valid = false;
+        }
+
+        void build(ReIterator<MemoryKey> it, JoinCandidate join, ValueResolver valueResolver) {
+            if (valid) return;
+            int width = buffer.length;
+            KeyRows unsorted = new KeyRows(width);
+            List<Comparable<?>> unsortedValues = new ArrayList<>();
+            while (it.hasNext()) {
+                boolean deleted = false;
+                for (int i = 0; i < width; i++) {
+                    MemoryKey key = it.next();
+                    deleted |= key.getMetaValue() == DELETED_MEMORY_KEY_FLAG;
+                    buffer[i] = key;
+                }
+                if (!deleted) {
+                    unsorted.add(buffer);
+                    unsortedValues.add(normalize(valueResolver.getValue(buffer[join.innerPosition].get(join.innerField))));
+                }
+            }
+
+            Integer[] order = new Integer[unsorted.size];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (i1, i2) -> compare(unsortedValues.get(i1), unsortedValues.get(i2)));
+
+            this.rows = new KeyRows(width);
+            this.values = new Comparable<?>[order.length];
+            for (int i = 0; i < order.length; i++) {
+                rows.add(unsorted, order[i]);
+                values[i] = unsortedValues.get(order[i]);
+            }
+            this.valid = true;
+        }
+
+        /**
+         * @param outerValue value of the outer field
+         * @param operator   operator of the <code>inner &lt;operator&gt; outer</code> comparison
+         * @param range      range of rows to fill
+         * @return false if there are no rows to scan
+         */
+        boolean get(Object outerValue, ConstantComparison.Operator operator, RowRange range) {
+            int size = values.length;
+            if (size == 0) return false;
+            Comparable<?> value = normalize(outerValue);
+            if (value.getClass() != values[0].getClass()) {
+                // Nothing to compare with, scanning all the rows
+                range.set(rows, 0, size);
+                return true;
+            }
+            switch (operator) {
+                case LESS:
+                    range.set(rows, 0, bound(value, false));
+                    break;
+                case LESS_OR_EQUAL:
+                    range.set(rows, 0, bound(value, true));
+                    break;
+                case GREATER:
+                    range.set(rows, bound(value, true), size);
+                    break;
+                case GREATER_OR_EQUAL:
+                    range.set(rows, bound(value, false), size);
+                    break;
+                default:
+                    throw new IllegalStateException("Unsupported operator " + operator);
+            }
+            return range.from < range.to;
+        }
+
+        /**
+         * @return index of the first value that is greater than (inclusive == true),
+         * or greater than or equal to (inclusive == false) the argument
+         */
+        private int bound(Comparable<?> value, boolean inclusive) {
+            int low = 0;
+            int high = values.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                int c = compare(values[mid], value);
+                if (c < 0 || (inclusive && c == 0)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    /**
+     * Rows of a joined source to evaluate
+     */
+    private static class RowRange {
+        KeyRows rows;
+        int from;
+        int to;
+
+        void set(KeyRows rows, int from, int to) {
+            this.rows = rows;
+            this.from = from;
+            this.to = to;
+        }
+    }
+
+    /**
+     * Copied rows of source keys. Rows are read concurrently by join chunks, so the keys
+     * are only read, their meta values are never restored or otherwise changed.
+     */
+    private static class KeyRows {
+        private final int width;
+        private MemoryKey[] keys;
+        int size;
+
+        KeyRows(int width) {
+            this.width = width;
+            this.keys = new MemoryKey[width];
+        }
+
+        /**
+         * Copies iterator's rows except those that contain deleted keys
+         *
+         * @param it source iterator
+         */
+        void addAll(ReIterator<MemoryKey> it) {
+            MemoryKey[] row = new MemoryKey[width];
+            while (it.hasNext()) {
+                boolean deleted = false;
+                for (int i = 0; i < width; i++) {
+                    MemoryKey key = it.next();
+                    deleted |= key.getMetaValue() == DELETED_MEMORY_KEY_FLAG;
+                    row[i] = key;
+                }
+                if (!deleted) {
+                    add(row);
+                }
+            }
+        }
+
+        void add(MemoryKey[] row) {
+            int offset = size * width;
+            if (offset + width > keys.length) {
+                this.keys = Arrays.copyOf(keys, keys.length * 2);
+            }
+            System.arraycopy(row, 0, keys, offset, width);
+            size++;
+        }
+
+        void add(KeyRows other, int row) {
+            int offset = row * width;
+            add(Arrays.copyOfRange(other.keys, offset, offset + width));
+        }
+
+        void setState(int row, MemoryKeyNode[] evaluationState, int[] indices) {
+            int offset = row * width;
+            for (int i = 0; i < width; i++) {
+                evaluationState[indices[i]].setKey(keys[offset + i]);
+            }
         }
     }
 
@@ -269,12 +829,18 @@ public class BetaConditionNode extends AbstractBetaConditionNode {
     }
 
     private static class CachingEvaluator {
-        private final RuntimeBetaEvaluator delegate;
+        private final EvaluatorWrapper[] constituents;
+        private final IntToValue[] values;
         private boolean cached = false;
         private boolean lastResponse;
 
-        CachingEvaluator(RuntimeBetaEvaluator delegate) {
-            this.delegate = delegate;
+        CachingEvaluator(EvaluatorWrapper[] constituents, ConditionValueReader[][] readers, MemoryKeyNode[] evaluationState) {
+            this.constituents = constituents;
+            this.values = new IntToValue[constituents.length];
+            for (int i = 0; i < constituents.length; i++) {
+                ConditionValueReader[] valueReaders = readers[i];
+                this.values[i] = idx -> valueReaders[idx].get(evaluationState);
+            }
         }
 
         void valuesChanged() {
@@ -283,26 +849,31 @@ public class BetaConditionNode extends AbstractBetaConditionNode {
 
         boolean test() {
             if (!cached) {
-                lastResponse = delegate.test();
+                lastResponse = testAll();
                 cached = true;
             }
             return lastResponse;
         }
+
+        private boolean testAll() {
+            for (int i = 0; i < constituents.length; i++) {
+                if (!constituents[i].test(values[i])) return false;
+            }
+            return true;
+        }
     }
 
     private static class ConditionValueReader {
-        private final MemoryKeyNode[] evaluationState;
         private final int type;
         private final int field;
 
-        ConditionValueReader(MemoryKeyNode[] evaluationState, int type, int field) {
-            this.evaluationState = evaluationState;
+        ConditionValueReader(int type, int field) {
             this.type = type;
             this.field = field;
         }
 
-        Object get() {
-            return this.evaluationState[type].value(field);
+        Object get(MemoryKeyNode[] evaluationState) {
+            return evaluationState[type].value(field);
         }
     }
 
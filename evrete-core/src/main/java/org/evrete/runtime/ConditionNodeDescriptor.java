@@ -3,10 +3,10 @@ package org.evrete.runtime;
 import org.evrete.runtime.evaluation.BetaEvaluator;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 public final class ConditionNodeDescriptor extends NodeDescriptor {
     public static final ConditionNodeDescriptor[] ZERO_ARRAY = new ConditionNodeDescriptor[0];
+    private static final double ENTRY_NODE_WEIGHT = 1.0;
     private final BetaEvaluator expression;
 
     private ConditionNodeDescriptor(BetaEvaluator expression, Set<NodeDescriptor> sourceNodes) {
@@ -14,32 +14,61 @@ public final class ConditionNodeDescriptor extends NodeDescriptor {
         this.expression = expression;
     }
 
+    /**
+     * <p>
+     * Builds the beta graph by greedily allocating the cheapest of the remaining conditions.
+     * The cost of a condition is estimated by the (logarithmic) size of the data it would need
+     * to evaluate, given the nodes built so far. Every entry node counts as one unit,
+     * every selective join reduces the estimate by one unit. Conditions that only filter
+     * already joined data are therefore allocated first, narrow joins come next, and joins of
+     * many unrelated nodes (cross products) are deferred. Among conditions of the same estimated
+     * size, the lower {@link BetaEvaluator#getComplexity()} wins, and remaining ties are resolved
+     * by the initial order of the list.
+     * </p>
+     *
+     * @param betaTypes fact types that are subject to beta conditions
+     * @param list      beta conditions
+     * @return final (root) condition nodes
+     */
     static Collection<ConditionNodeDescriptor> allocateConditions(Collection<FactType> betaTypes, List<BetaEvaluator> list) {
-        final Set<NodeDescriptor> unallocatedNodes = new HashSet<>();
+        final Map<NodeDescriptor, Double> unallocatedNodes = new HashMap<>();
         for (FactType factType : betaTypes) {
-            EntryNodeDescriptor e = new EntryNodeDescriptor(factType);
-            unallocatedNodes.add(e);
+            unallocatedNodes.put(new EntryNodeDescriptor(factType), ENTRY_NODE_WEIGHT);
         }
 
-        BetaEvaluator[] evaluatorSequence = list.toArray(new BetaEvaluator[0]);
+        final List<BetaEvaluator> remaining = new LinkedList<>(list);
+        while (!remaining.isEmpty()) {
+            BetaEvaluator best = null;
+            Set<NodeDescriptor> bestMatching = null;
+            double bestWeight = Double.MAX_VALUE;
+            for (BetaEvaluator evaluator : remaining) {
+                Set<NodeDescriptor> matching = new HashSet<>();
+                double weight = 0.0;
+                for (Map.Entry<NodeDescriptor, Double> entry : unallocatedNodes.entrySet()) {
+                    if (entry.getKey().getFactTypeMask().intersects(evaluator.getFactTypeMask())) {
+                        matching.add(entry.getKey());
+                        weight += entry.getValue();
+                    }
+                }
+                assert !matching.isEmpty();
 
-        // Loop through the expressions one by one
-        // The initial order of expressions defines the outcome.
-        for (BetaEvaluator evaluator : evaluatorSequence) {
-            Set<NodeDescriptor> matching = unallocatedNodes
-                    .stream()
-                    .filter(node -> node.getFactTypeMask().intersects(evaluator.getFactTypeMask()))
-                    .collect(Collectors.toSet());
+                if (best == null || weight < bestWeight || (weight == bestWeight && evaluator.getComplexity() < best.getComplexity())) {
+                    best = evaluator;
+                    bestMatching = matching;
+                    bestWeight = weight;
+                }
+            }
 
-            //Set<NodeDescriptor> matching = Bits.matchesOR(evaluator.getFactTypeMask(), unallocatedNodes, NodeDescriptor::getFactTypeMask);
-            assert !matching.isEmpty();
+            remaining.remove(best);
             // replace the matching nodes with a new one
-            unallocatedNodes.removeAll(matching);
-            unallocatedNodes.add(new ConditionNodeDescriptor(evaluator, matching));
+            for (NodeDescriptor node : bestMatching) {
+                unallocatedNodes.remove(node);
+            }
+            unallocatedNodes.put(new ConditionNodeDescriptor(best, bestMatching), Math.max(ENTRY_NODE_WEIGHT, bestWeight - ENTRY_NODE_WEIGHT));
         }
 
         Collection<ConditionNodeDescriptor> finalNodes = new ArrayList<>(unallocatedNodes.size());
-        for (NodeDescriptor nd : unallocatedNodes) {
+        for (NodeDescriptor nd : unallocatedNodes.keySet()) {
             if (nd.isConditionNode()) {
                 ConditionNodeDescriptor cnd = (ConditionNodeDescriptor) nd;
                 finalNodes.add(cnd);
@@ -13,6 +13,8 @@ class EvaluatorStorageImpl implements Copyable<EvaluatorStorageImpl>, Evaluation
     private final Map<EvaluatorHandleImpl, EvaluatorWrapper> conditions;
     private final Map<Evaluator, EvaluatorHandleImpl> inverse;
     private final LinkedHashSet<EvaluationListener> listeners;
+    // Incremented on every change that may affect existing evaluators
+    private int modCount = 0;
 
     EvaluatorStorageImpl() {
         this.conditions = new HashMap<>();
@@ -36,6 +38,7 @@ class EvaluatorStorageImpl implements Copyable<EvaluatorStorageImpl>, Evaluation
     @Override
     public void addListener(EvaluationListener listener) {
         this.listeners.add(listener);
+        this.modCount++;
         for (EvaluatorWrapper w : this.conditions.values()) {
             w.update(listeners);
         }
@@ -44,11 +47,36 @@ class EvaluatorStorageImpl implements Copyable<EvaluatorStorageImpl>, Evaluation
     @Override
     public void removeListener(EvaluationListener listener) {
         this.listeners.remove(listener);
+        this.modCount++;
         for (EvaluatorWrapper w : this.conditions.values()) {
             w.update(listeners);
         }
     }
 
+    /**
+     * Restores the listeners and evaluators of the given storage, undoing changes made to this copy.
+     *
+     * @param source the storage this one has been copied from
+     */
+    void resetTo(EvaluatorStorageImpl source) {
+        this.listeners.clear();
+        this.listeners.addAll(source.listeners);
+        for (Map.Entry<EvaluatorHandleImpl, EvaluatorWrapper> entry : source.conditions.entrySet()) {
+            EvaluatorWrapper w = this.conditions.get(entry.getKey());
+            if (w != null && w.getDelegate() != entry.getValue().getDelegate()) {
+                w.setDelegate(entry.getValue().getDelegate());
+            }
+        }
+        for (EvaluatorWrapper w : this.conditions.values()) {
+            w.update(listeners);
+        }
+        this.modCount++;
+    }
+
+    int getModCount() {
+        return modCount;
+    }
+
     int compare(EvaluatorHandle h1, EvaluatorHandle h2) {
         EvaluatorWrapper w1 = get(h1, false);
         EvaluatorWrapper w2 = get(h2, false);
@@ -62,6 +90,7 @@ class EvaluatorStorageImpl implements Copyable<EvaluatorStorageImpl>, Evaluation
         } else {
             if (existing.sameDescriptor(evaluator)) {
                 existing.setDelegate(evaluator);
+                this.modCount++;
             } else {
                 throw new IllegalArgumentException("Mismatched descriptors");
             }
@@ -86,6 +115,7 @@ class EvaluatorStorageImpl implements Copyable<EvaluatorStorageImpl>, Evaluation
                 }
             };
             existing.setDelegate(newEvaluator);
+            this.modCount++;
         }
     }
 
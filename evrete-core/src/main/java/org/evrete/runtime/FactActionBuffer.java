@@ -7,14 +7,15 @@ import org.evrete.api.Type;
 import org.evrete.collections.LinearHashSet;
 
 import java.util.Arrays;
-import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiPredicate;
 import java.util.function.Consumer;
 
 public class FactActionBuffer {
-    private final Map<Integer, ActionQueue> typedQueues = new ConcurrentHashMap<>();
+    private static final ActionQueue[] EMPTY = new ActionQueue[0];
+    // Queues indexed by type id. Queues are created by write operations only, so that concurrent
+    // readers, like delta memory tasks, never modify the array.
+    private ActionQueue[] typedQueues = EMPTY;
     private final int[] actionCounts = new int[Action.values().length];
     private final int capacity;
     private long totalActions = 0L;
@@ -35,34 +36,62 @@ public class FactActionBuffer {
     }
 
     AtomicMemoryAction find(FactHandle factHandle) {
-        return get(factHandle).get(factHandle);
+        if (totalActions == 0L) {
+            return null;
+        } else {
+            ActionQueue queue = existing(factHandle.getTypeId());
+            return queue == null ? null : queue.get(factHandle);
+        }
     }
 
     void clear() {
-        Arrays.fill(this.actionCounts, 0);
-        this.typedQueues.values().forEach(ActionQueue::clear);
-        this.totalActions = 0L;
+        if (totalActions > 0L) {
+            Arrays.fill(this.actionCounts, 0);
+            for (ActionQueue queue : typedQueues) {
+                if (queue != null) {
+                    queue.clear();
+                }
+            }
+            this.totalActions = 0L;
+        }
     }
 
     int deltaOperations() {
         return getCount(Action.INSERT, Action.UPDATE);
     }
 
-    private ActionQueue get(Type<?> t) {
-        return get(t.getId());
-    }
-
     private ActionQueue get(FactHandle h) {
-        return get(h.getTypeId());
-    }
-
-    private ActionQueue get(int typeId) {
-        return typedQueues.computeIfAbsent(typeId, i -> new ActionQueue(capacity));
+        int typeId = h.getTypeId();
+        if (typeId >= typedQueues.length) {
+            typedQueues = Arrays.copyOf(typedQueues, typeId + 1);
+        }
+        ActionQueue queue = typedQueues[typeId];
+        if (queue == null) {
+            queue = new ActionQueue(capacity);
+            typedQueues[typeId] = queue;
+        }
+        return queue;
+    }
+
+    /**
+     * @param typeId type id
+     * @return non-empty queue of the given type or {@code null}
+     */
+    private ActionQueue existing(int typeId) {
+        ActionQueue[] queues = this.typedQueues;
+        if (typeId < queues.length) {
+            ActionQueue queue = queues[typeId];
+            return queue == null || queue.isEmpty() ? null : queue;
+        } else {
+            return null;
+        }
     }
 
     void copyToAndClear(FactActionBuffer other) {
-        this.typedQueues.values().forEach(queue -> queue.queue.forEachDataEntry(a -> other.add(a.action, a.handle, a.getDelta())));
-        this.clear();
+        if (totalActions > 0L) {
+            forEach(a -> other.add(a.action, a.handle, a.getDelta()));
+            this.clear();
+        }
     }
 
     private int getCount(Action... actions) {
@@ -82,15 +111,23 @@ public class FactActionBuffer {
     }
 
     public void forEach(Consumer<AtomicMemoryAction> consumer) {
-        this.typedQueues.values().forEach(q -> q.forEachDataEntry(consumer));
+        for (ActionQueue queue : typedQueues) {
+            if (queue != null) {
+                queue.forEachDataEntry(consumer);
+            }
+        }
     }
 
     public ReIterator<AtomicMemoryAction> actions(Type<?> type) {
-        return get(type).queue.iterator();
+        ActionQueue queue = existing(type.getId());
+        return queue == null ? ReIterator.emptyIterator() : queue.queue.iterator();
     }
 
     public void forEach(Type<?> t, Consumer<AtomicMemoryAction> consumer) {
-        get(t).forEachDataEntry(consumer);
+        ActionQueue queue = existing(t.getId());
+        if (queue != null) {
+            queue.forEachDataEntry(consumer);
+        }
     }
 
     void newDelete(FactHandle handle, FactRecord record) {
@@ -112,6 +149,10 @@ public class FactActionBuffer {
             return queue.get(binIndex);
         }
 
+        boolean isEmpty() {
+            return queue.size() == 0;
+        }
+
         void forEachDataEntry(Consumer<AtomicMemoryAction> consumer) {
             queue.forEachDataEntry(consumer);
         }
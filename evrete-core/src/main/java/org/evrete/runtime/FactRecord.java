@@ -1,12 +1,20 @@
 package org.evrete.runtime;
 
+import org.evrete.api.ValueHandle;
 import org.evrete.runtime.evaluation.MemoryAddress;
 import org.evrete.util.Mask;
 
+import java.util.Arrays;
+import java.util.BitSet;
+
 public class FactRecord {
     final Object instance;
     private final Mask<MemoryAddress> bucketsMask;
     private int version = 0;
+    // Field values define the memory keys of the fact, alpha test results are used by property-reactive updates.
+    // Both are null unless the session's configuration needs them.
+    private ValueHandle[] values;
+    private BitSet alphaTests;
 
     FactRecord(Object instance) {
         this.instance = instance;
@@ -24,6 +32,30 @@ public class FactRecord {
         return new FactRecord(previous, updated);
     }
 
+    /**
+     * Creates a record of an updated fact that retains the version and memory locations
+     * of the previous one.
+     */
+    static FactRecord unchanged(FactRecord previous, FactRecord updated) {
+        FactRecord record = new FactRecord(previous, updated.instance);
+        record.version = previous.version;
+        record.setState(updated.values, updated.alphaTests);
+        return record;
+    }
+
+    void setState(ValueHandle[] values, BitSet alphaTests) {
+        this.values = values;
+        this.alphaTests = alphaTests;
+    }
+
+    boolean sameState(ValueHandle[] values, BitSet alphaTests) {
+        return this.values != null && Arrays.equals(this.values, values) && this.alphaTests.equals(alphaTests);
+    }
+
+    ValueHandle[] getValues() {
+        return values;
+    }
+
     void markLocation(MemoryAddress address) {
         this.bucketsMask.set(address);
     }
@@ -16,6 +16,10 @@ public abstract class KeyMemoryBucket extends MemoryComponent {
     final KeyedFactStorage fieldData;
     final ActiveField[] activeFields;
     final Collection<FactHandleVersioned> buffer = new LinkedList<>();
+    // Key values of the facts deleted since the last purge
+    private final Collection<ValueHandle[]> deletedKeys = new LinkedList<>();
+    private boolean fullPurge = false;
+    private long deletesSinceFullPurge = 0L;
     RuntimeFact current = null;
 
     KeyMemoryBucket(MemoryComponent runtime, MemoryAddress address) {
@@ -49,7 +53,52 @@ public abstract class KeyMemoryBucket extends MemoryComponent {
         }
     }
 
+    /**
+     * Registers a deleted fact so that the next purge visits only the memory keys of the deleted facts.
+     *
+     * @param values field values of the deleted fact, or {@code null} if unknown
+     */
+    void onDelete(ValueHandle[] values) {
+        if (fullPurge) {
+            return;
+        }
+        if (values == null || activeFields.length == 0) {
+            fullPurge = true;
+        } else {
+            for (ActiveField field : activeFields) {
+                if (field.getValueIndex() >= values.length) {
+                    // The fact was saved before the field became active
+                    fullPurge = true;
+                    return;
+                }
+            }
+            deletedKeys.add(values);
+        }
+    }
+
     public void purgeDeleted(Predicate<FactHandleVersioned> predicate, Consumer<MemoryKey> emptyKeysConsumer) {
+        this.deletesSinceFullPurge += deletedKeys.size();
+        if (fullPurge || deletesSinceFullPurge >= fieldData.keys(KeyMode.OLD_OLD).reset()) {
+            // Full scans also collect stale handles that have been left by previous purges
+            purgeAll(predicate, emptyKeysConsumer);
+            this.deletesSinceFullPurge = 0L;
+        } else {
+            for (ValueHandle[] values : deletedKeys) {
+                for (ActiveField field : activeFields) {
+                    fieldData.write(values[field.getValueIndex()]);
+                }
+                MemoryKey key = fieldData.purge(predicate);
+                if (key != null) {
+                    key.setMetaValue(DELETED_MEMORY_KEY_FLAG);
+                    emptyKeysConsumer.accept(key);
+                }
+            }
+        }
+        this.deletedKeys.clear();
+        this.fullPurge = false;
+    }
+
+    private void purgeAll(Predicate<FactHandleVersioned> predicate, Consumer<MemoryKey> emptyKeysConsumer) {
         ReIterator<MemoryKey> keys = fieldData.keys(KeyMode.OLD_OLD);
         long remaining;
         while (keys.hasNext()) {
@@ -87,6 +136,9 @@ public abstract class KeyMemoryBucket extends MemoryComponent {
     protected final void clearLocalData() {
         fieldData.clear();
         buffer.clear();
+        deletedKeys.clear();
+        fullPurge = false;
+        deletesSinceFullPurge = 0L;
     }
 
     public final KeyedFactStorage getFieldData() {
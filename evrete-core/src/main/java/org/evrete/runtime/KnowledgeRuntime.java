@@ -2,19 +2,27 @@ package org.evrete.runtime;
 
 import org.evrete.KnowledgeService;
 import org.evrete.api.*;
+import org.evrete.api.spi.LiteralRhsCompiler;
 import org.evrete.runtime.compiler.CompilationException;
 import org.evrete.runtime.evaluation.MemoryAddress;
 import org.evrete.util.SearchList;
 
-import java.util.Collection;
-import java.util.Collections;
-import java.util.List;
-import java.util.WeakHashMap;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 public class KnowledgeRuntime extends AbstractRuntime<RuleDescriptor, Knowledge> implements Knowledge {
     private final WeakHashMap<RuleSession<?>, Object> sessions = new WeakHashMap<>();
     private final Object VALUE = new Object();
     private final SearchList<RuleDescriptor> ruleDescriptors = new SearchList<>();
+    // Literal RHS of the rules that are being added by addRules(), compiled at the end of the batch
+    private final List<PendingRhs> pendingRhs = new ArrayList<>();
+    // Builder of the batch rule that is being added, or null outside the addRules() call
+    private RuleBuilder<?> batchRule;
+    // Compiled conditions of the batch that is being added, or null if rules compile their own conditions
+    private Function<RuleBuilderImpl<?>, LhsConditionHandles> batchConditions;
+    private final AtomicInteger version = new AtomicInteger();
 
     public KnowledgeRuntime(KnowledgeService service) {
         super(service);
@@ -37,9 +45,114 @@ public class KnowledgeRuntime extends AbstractRuntime<RuleDescriptor, Knowledge>
     @Override
     protected void addRuleInner(org.evrete.api.RuleBuilder<?> builder) throws CompilationException {
         RuleBuilderImpl<?> impl = (RuleBuilderImpl<?>) builder;
-        RuleDescriptor rd = super.compileRuleBuilder(impl);
+        RuleDescriptor rd = batchConditions == null ? super.compileRuleBuilder(impl) : super.compileRuleBuilder(impl, batchConditions);
         this.ruleDescriptors.add(rd);
         this.ruleDescriptors.sort(getRuleComparator());
+        this.version.incrementAndGet();
+    }
+
+    @Override
+    public RuleSetBuilder<Knowledge> builder() {
+        return new RuleSetBuilderImpl<>(this);
+    }
+
+    @Override
+    synchronized void addRules(List<RuleBuilderImpl<Knowledge>> builders) {
+        // Literal conditions of the whole batch are compiled together, so that they can share classes
+        try {
+            this.batchConditions = LhsConditions.compile(this, Collections.<RuleBuilderImpl<?>>unmodifiableList(builders));
+        } catch (CompilationException | RuntimeException e) {
+            // Rules compile their own conditions, so that errors are reported against them
+            this.batchConditions = null;
+        }
+        try {
+            for (RuleBuilderImpl<Knowledge> builder : builders) {
+                this.batchRule = builder;
+                addRule(builder);
+            }
+        } catch (RuntimeException e) {
+            // The exception handler has stopped the batch, rules added so far still get their RHS
+            endBatch();
+            try {
+                compilePendingRhs();
+            } catch (RuntimeException other) {
+                e.addSuppressed(other);
+            }
+            throw e;
+        }
+        endBatch();
+        compilePendingRhs();
+    }
+
+    private void endBatch() {
+        this.batchRule = null;
+        this.batchConditions = null;
+    }
+
+    @Override
+    synchronized void setLiteralRhs(AbstractRuntimeRule<?> rule, String literalRhs, Collection<NamedType> namedTypes) {
+        if (batchRule == null) {
+            // Rules that are added directly fail fast
+            super.setLiteralRhs(rule, literalRhs, namedTypes);
+        } else {
+            pendingRhs.add(new PendingRhs(batchRule, rule, literalRhs, namedTypes.toArray(new NamedType[0])));
+        }
+    }
+
+    /**
+     * Compiles queued RHS in a single batch. If the batch fails, the sources are compiled one by one,
+     * so that the rest of the rules get their RHS and each failure is reported against its rule.
+     * Failed rules are removed, as if they had failed outside a batch. The queue is drained in any case.
+     */
+    private void compilePendingRhs() {
+        if (pendingRhs.isEmpty()) {
+            return;
+        }
+        List<PendingRhs> batch = new ArrayList<>(pendingRhs);
+        pendingRhs.clear();
+        try {
+            List<Consumer<RhsContext>> compiled = compile(batch);
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).rule.setRhs(compiled.get(i));
+            }
+            return;
+        } catch (CompilationException e) {
+            // Errors are logged by the per-rule compilation below
+        }
+
+        Map<PendingRhs, RuntimeException> failures = new LinkedHashMap<>();
+        for (PendingRhs p : batch) {
+            try {
+                p.rule.setRhs(compile(p.source, Arrays.asList(p.types)));
+            } catch (RuntimeException e) {
+                ruleDescriptors.remove((RuleDescriptor) p.rule);
+                failures.put(p, e);
+            }
+        }
+
+        RuntimeException error = null;
+        for (Map.Entry<PendingRhs, RuntimeException> entry : failures.entrySet()) {
+            PendingRhs p = entry.getKey();
+            try {
+                handleRuleBuilderException(p.builder, new IllegalStateException("Failed to compile RHS of rule '" + p.rule.getName() + "'", entry.getValue()));
+            } catch (RuntimeException e) {
+                if (error == null) {
+                    error = e;
+                } else {
+                    error.addSuppressed(e);
+                }
+            }
+        }
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    /**
+     * @return a counter that changes each time a new rule is added to the knowledge
+     */
+    int getVersion() {
+        return version.get();
     }
 
     @Override
@@ -78,8 +191,39 @@ public class KnowledgeRuntime extends AbstractRuntime<RuleDescriptor, Knowledge>
         return register(new StatelessSessionImpl(this));
     }
 
-    private <S extends RuleSession<S>> S register(S session) {
-        sessions.put(session, VALUE);
+    @Override
+    public SessionPool newSessionPool(int size) {
+        return new StatelessSessionPool(this, size);
+    }
+
+    <S extends RuleSession<S>> S register(S session) {
+        synchronized (sessions) {
+            sessions.put(session, VALUE);
+        }
         return session;
     }
+
+    private static final class PendingRhs implements LiteralRhsCompiler.LiteralRhs {
+        private final RuleBuilder<?> builder;
+        private final AbstractRuntimeRule<?> rule;
+        private final String source;
+        private final NamedType[] types;
+
+        PendingRhs(RuleBuilder<?> builder, AbstractRuntimeRule<?> rule, String source, NamedType[] types) {
+            this.builder = builder;
+            this.rule = rule;
+            this.source = source;
+            this.types = types;
+        }
+
+        @Override
+        public String getSource() {
+            return source;
+        }
+
+        @Override
+        public NamedType[] getTypes() {
+            return types;
+        }
+    }
 }
@@ -7,14 +7,20 @@ import org.evrete.runtime.evaluation.EvaluatorOfPredicate;
 import org.evrete.util.NamedTypeImpl;
 
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Objects;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
 
 class LhsBuilderImpl<C extends RuntimeContext<C>> extends  DefaultTypeResolver implements LhsBuilder<C> {
     private final RuleBuilderImpl<C> ruleBuilder;
     private final AbstractRuntime<?, C> runtime;
     private final LhsConditions conditions = new LhsConditions();
+    private final Map<String, Aggregate<?, ?, ?>> aggregates = new LinkedHashMap<>();
+    private String groupName;
+    private Function<?, ?> groupKey;
 
     LhsBuilderImpl(RuleBuilderImpl<C> ruleBuilder) {
         this.ruleBuilder = ruleBuilder;
@@ -33,6 +39,45 @@ class LhsBuilderImpl<C extends RuntimeContext<C>> extends  DefaultTypeResolver i
         return conditions;
     }
 
+    /**
+     * @return aggregate declarations, or {@code null} if this is not an aggregate rule
+     */
+    AggregateDescriptor getAggregates() {
+        if (aggregates.isEmpty()) {
+            if (groupName != null) {
+                throw new IllegalStateException("Group '" + groupName + "' is declared without aggregates");
+            }
+            return null;
+        } else {
+            return new AggregateDescriptor(groupName, groupKey, aggregates);
+        }
+    }
+
+    @Override
+    public synchronized <T> LhsBuilderImpl<C> groupBy(@NonNull String name, @NonNull Function<T, ?> groupKey) {
+        if (this.groupName != null) {
+            throw new IllegalStateException("Group key is already declared");
+        }
+        assertNewName(name);
+        this.groupName = name;
+        this.groupKey = Objects.requireNonNull(groupKey);
+        return this;
+    }
+
+    @Override
+    public synchronized <T> LhsBuilderImpl<C> aggregate(@NonNull String name, @NonNull Aggregate<T, ?, ?> aggregate) {
+        assertNewName(name);
+        this.aggregates.put(name, Objects.requireNonNull(aggregate));
+        return this;
+    }
+
+    private void assertNewName(String name) {
+        Objects.requireNonNull(name);
+        if (name.equals(groupName) || aggregates.containsKey(name) || getDeclaredFactTypes().stream().anyMatch(t -> t.getName().equals(name))) {
+            throw new IllegalArgumentException("Duplicate name '" + name + "'");
+        }
+    }
+
     @Override
     public RuleBuilder<C> create() {
         return ruleBuilder;
@@ -8,7 +8,6 @@ import org.evrete.util.MapOfSet;
 import org.evrete.util.NextIntSupplier;
 
 import java.util.*;
-import java.util.function.ToDoubleFunction;
 
 class LhsDescriptor {
     private static final Set<EvaluatorHandle> EMPTY_ALPHA_CONDITIONS = new HashSet<>();
@@ -92,36 +91,14 @@ class LhsDescriptor {
         final List<BetaEvaluator> evaluators = new ArrayList<>(EvaluatorFactory.flattenEvaluators(betaConditions, mapping));
         if (evaluators.isEmpty()) throw new IllegalStateException();
 
-        double maxComplexity = Double.MIN_VALUE;
-        double minComplexity = Double.MAX_VALUE;
         Set<FactType> betaTypes = new HashSet<>();
-
         for (BetaEvaluator g : evaluators) {
-            double complexity = g.getComplexity();
-            if (complexity <= 0.0) throw new IllegalStateException("Complexity must be a positive value");
-
-            if (complexity > maxComplexity) {
-                maxComplexity = complexity;
-            }
-
-            if (complexity < minComplexity) {
-                minComplexity = complexity;
-            }
-
+            if (g.getComplexity() <= 0.0) throw new IllegalStateException("Complexity must be a positive value");
             betaTypes.addAll(g.factTypes());
-
-        }
-
-        // MinMax complexities (times
-        Map<BetaEvaluator, Double> minMaxComplexities = new HashMap<>();
-        for (BetaEvaluator g : evaluators) {
-            double newComplexity = 1.0 + (g.getComplexity() - minComplexity) / (maxComplexity - minComplexity);
-            minMaxComplexities.put(g, newComplexity * g.getTotalTypesInvolved());
         }
 
-        // Sorting
-        // Same complexity
-        evaluators.sort(Comparator.comparingDouble((ToDoubleFunction<BetaEvaluator>) minMaxComplexities::get).thenComparing(BetaEvaluator::toString));
+        // Initial order, the actual join order is chosen by the allocation itself
+        evaluators.sort(Comparator.comparingDouble(BetaEvaluator::getComplexity).thenComparing(BetaEvaluator::toString));
 
         Collection<ConditionNodeDescriptor> finalNodes = ConditionNodeDescriptor.allocateConditions(betaTypes, evaluators);
         return finalNodes.toArray(ConditionNodeDescriptor.ZERO_ARRAY);
@@ -15,10 +15,13 @@ class RuleBuilderImpl<C extends RuntimeContext<C>> extends AbstractRule implemen
     public static final int NULL_SALIENCE = Integer.MIN_VALUE;
     private final AbstractRuntime<?, C> runtime;
     private final LhsBuilderImpl<C> lhsBuilder;
+    // Batch of rules that this rule belongs to, or null if the rule is added directly
+    private final RuleSetBuilderImpl<C> ruleSet;
 
-    RuleBuilderImpl(AbstractRuntime<?, C> ctx, String name) {
+    RuleBuilderImpl(AbstractRuntime<?, C> ctx, String name, RuleSetBuilderImpl<C> ruleSet) {
         super(name, NULL_SALIENCE);
         this.runtime = ctx;
+        this.ruleSet = ruleSet;
         this.lhsBuilder = new LhsBuilderImpl<>(this);
     }
 
@@ -62,7 +65,11 @@ class RuleBuilderImpl<C extends RuntimeContext<C>> extends AbstractRule implemen
     }
 
     C build() {
-        runtime.addRule(this);
+        if (ruleSet == null) {
+            runtime.addRule(this);
+        } else {
+            ruleSet.add(this);
+        }
         return getRuntime();
     }
 
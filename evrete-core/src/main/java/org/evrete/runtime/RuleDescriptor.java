@@ -6,21 +6,34 @@ import org.evrete.util.NextIntSupplier;
 
 public final class RuleDescriptor extends AbstractRuntimeRule<FactType> {
     private final LhsDescriptor lhsDescriptor;
+    private final AggregateDescriptor aggregates;
 
-    private RuleDescriptor(AbstractRuntime<?, ?> runtime, AbstractRule other, String ruleName, int salience, LhsDescriptor lhsDescriptor) {
+    private RuleDescriptor(AbstractRuntime<?, ?> runtime, AbstractRule other, String ruleName, int salience, LhsDescriptor lhsDescriptor, AggregateDescriptor aggregates) {
         super(runtime, other, ruleName, salience, lhsDescriptor.getFactTypes());
         this.lhsDescriptor = lhsDescriptor;
+        this.aggregates = aggregates;
     }
 
     static RuleDescriptor factory(AbstractRuntime<?, ?> runtime, RuleBuilderImpl<?> rule, LhsConditionHandles lhsConditions,  String ruleName, int salience) {
         LhsDescriptor lhsDescriptor = new LhsDescriptor(runtime, rule.getLhs(), lhsConditions, new NextIntSupplier(), new MapFunction<>());
-        return new RuleDescriptor(runtime, rule, ruleName, salience, lhsDescriptor);
+        AggregateDescriptor aggregates = rule.getLhs().getAggregates();
+        if (aggregates != null && lhsDescriptor.getFactTypes().length != 1) {
+            throw new IllegalStateException("Aggregate rule '" + ruleName + "' must declare exactly one fact type");
+        }
+        return new RuleDescriptor(runtime, rule, ruleName, salience, lhsDescriptor, aggregates);
     }
 
     LhsDescriptor getLhs() {
         return lhsDescriptor;
     }
 
+    /**
+     * @return aggregate declarations, or {@code null} if this is not an aggregate rule
+     */
+    AggregateDescriptor getAggregates() {
+        return aggregates;
+    }
+
     @Override
     public RuleDescriptor set(String property, Object value) {
         super.set(property, value);
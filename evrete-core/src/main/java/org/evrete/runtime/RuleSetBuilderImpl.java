@@ -0,0 +1,43 @@
+package org.evrete.runtime;
+
+import org.evrete.api.RuleBuilder;
+import org.evrete.api.RuleSetBuilder;
+import org.evrete.api.RuntimeContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class RuleSetBuilderImpl<C extends RuntimeContext<C>> implements RuleSetBuilder<C> {
+    private final AbstractRuntime<?, C> runtime;
+    private final List<RuleBuilderImpl<C>> rules = new ArrayList<>();
+
+    RuleSetBuilderImpl(AbstractRuntime<?, C> runtime) {
+        this.runtime = runtime;
+    }
+
+    @Override
+    public RuleBuilder<C> newRule(String name) {
+        return runtime.newRule(name, this);
+    }
+
+    @Override
+    public RuleBuilder<C> newRule() {
+        return runtime.newRule(null, this);
+    }
+
+    synchronized void add(RuleBuilderImpl<C> rule) {
+        this.rules.add(rule);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public C build() {
+        List<RuleBuilderImpl<C>> batch;
+        synchronized (this) {
+            batch = new ArrayList<>(this.rules);
+            this.rules.clear();
+        }
+        runtime.addRules(batch);
+        return (C) runtime;
+    }
+}
@@ -15,13 +15,6 @@ class RuntimeBetaEvaluator {
         }
     }
 
-    public boolean test() {
-        for (EvaluatorWrapper w : constituents) {
-            if (!w.test()) return false;
-        }
-        return true;
-    }
-
     EvaluatorWrapper[] constituents() {
         return constituents;
     }
@@ -42,6 +42,10 @@ public class RuntimeFact {
         return this.valueHandles[field.getValueIndex()];
     }
 
+    boolean sameState(FactRecord record) {
+        return record.sameState(valueHandles, alphaTests);
+    }
+
     boolean sameValues(RuntimeFact other) {
         if (other == null) return false;
         for (int i = 0; i < valueHandles.length; i++) {
@@ -49,6 +49,19 @@ abstract class RuntimeMetaData<C extends RuntimeContext<C>> implements RuntimeCo
                 );
     }
 
+    /**
+     * Restores properties, imports and evaluators of a copy to those of its parent.
+     *
+     * @param parent the parent this instance has been copied from
+     */
+    void resetTo(RuntimeMetaData<?> parent) {
+        this.properties.clear();
+        this.properties.putAll(parent.properties);
+        this.imports.clear();
+        this.imports.append(parent.imports);
+        this.evaluators.resetTo(parent.evaluators);
+    }
+
     EvaluatorStorageImpl getEvaluators() {
         return evaluators;
     }
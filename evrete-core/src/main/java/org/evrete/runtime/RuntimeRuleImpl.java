@@ -2,7 +2,9 @@ package org.evrete.runtime;
 
 import org.evrete.api.*;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.function.Consumer;
@@ -18,7 +20,12 @@ public class RuntimeRuleImpl extends AbstractRuntimeRule<RuntimeFactType> implem
     private final Map<String, Integer> nameMapping = new HashMap<>();
     private final RhsContextImpl rhsContext;
     private final BetaEndNode[] endNodes;
+    private final List<RhsActivation> activations = new ArrayList<>();
+    private final AggregateNode aggregateNode;
+    private final AggregateContext aggregateContext;
+    private final List<Object[]> aggregateActivations = new ArrayList<>();
     private long rhsCallCounter = 0;
+    private int position;
 
     public RuntimeRuleImpl(RuleDescriptor rd, AbstractRuleSession<?> runtime) {
         super(runtime, rd, build(runtime, rd.getLhs().getFactTypes()));
@@ -53,8 +60,18 @@ public class RuntimeRuleImpl extends AbstractRuntimeRule<RuntimeFactType> implem
         }
 
         this.endNodes = lhs.getEndNodes().toArray(new BetaEndNode[0]);
-        this.rhsContext = new RhsContextImpl();
-
+        AggregateDescriptor aggregates = rd.getAggregates();
+        if (aggregates == null) {
+            this.aggregateNode = null;
+            this.aggregateContext = null;
+            this.rhsContext = new RhsContextImpl();
+        } else {
+            FactType factType = rd.getLhs().getFactTypes()[0];
+            this.aggregateNode = new AggregateNode(factType.getMemoryAddress(), aggregates);
+            this.aggregateContext = new AggregateContext(aggregates);
+            this.rhsContext = aggregateContext;
+            runtime.getMemory().get(factType.type()).addAggregateNode(aggregateNode);
+        }
     }
 
     private static RuntimeFactType[] build(AbstractRuleSession<?> runtime, FactType[] types) {
@@ -83,6 +100,12 @@ public class RuntimeRuleImpl extends AbstractRuntimeRule<RuntimeFactType> implem
 
     final long callRhs(FactActionBuffer destination) {
         this.rhsContext.setBuffer(destination);
+        if (aggregateNode != null) {
+            return aggregateNode.forEachChange((key, results) -> {
+                aggregateContext.setState(key, results);
+                rhs.accept(aggregateContext);
+            });
+        }
         this.rhsCallCounter = 0;
         // Reset state if any
         for (RhsFactType type : this.factTypeNodes) {
@@ -93,6 +116,68 @@ public class RuntimeRuleImpl extends AbstractRuntimeRule<RuntimeFactType> implem
         return this.rhsCallCounter;
     }
 
+    /**
+     * <p>
+     * First stage of the {@link org.evrete.api.ActivationMode#PARALLEL} mode. The method iterates over
+     * rule's matches and stores them for a subsequent {@link #callCollectedRhs(FactActionBuffer)} call.
+     * Unlike the RHS calls, this stage reads shared session memory and must be performed sequentially.
+     * </p>
+     *
+     * @return number of collected activations
+     */
+    final long collectActivations() {
+        if (aggregateNode != null) {
+            this.aggregateActivations.clear();
+            return aggregateNode.forEachChange((key, results) -> aggregateActivations.add(new Object[]{key, results}));
+        }
+        this.activations.clear();
+        for (RhsFactType type : this.factTypeNodes) {
+            type.resetState();
+        }
+        this.forEachFactGroup(0, false, ctx -> activations.add(new RhsActivation(factTypeNodes)));
+        this.commitDeltas();
+        return this.activations.size();
+    }
+
+    /**
+     * <p>
+     * Second stage of the {@link org.evrete.api.ActivationMode#PARALLEL} mode. Calls rule's RHS for each
+     * of the collected activations. Different rules may execute this method concurrently provided that
+     * each rule has its own destination buffer.
+     * </p>
+     *
+     * @param destination action buffer of this rule
+     */
+    final void callCollectedRhs(FactActionBuffer destination) {
+        this.rhsContext.setBuffer(destination);
+        this.rhsContext.concurrentInserts = true;
+        try {
+            if (aggregateNode != null) {
+                for (Object[] activation : aggregateActivations) {
+                    aggregateContext.setState(activation[0], (Object[]) activation[1]);
+                    rhs.accept(aggregateContext);
+                }
+            } else {
+                for (RhsActivation activation : activations) {
+                    activation.restore(factTypeNodes);
+                    rhs.accept(rhsContext);
+                }
+            }
+        } finally {
+            this.rhsContext.concurrentInserts = false;
+            this.activations.clear();
+            this.aggregateActivations.clear();
+        }
+    }
+
+    int getPosition() {
+        return position;
+    }
+
+    void setPosition(int position) {
+        this.position = position;
+    }
+
     public BetaEndNode[] getEndNodes() {
         return endNodes;
     }
@@ -170,6 +255,20 @@ public class RuntimeRuleImpl extends AbstractRuntimeRule<RuntimeFactType> implem
         for (BetaEndNode endNode : lhs.getEndNodes()) {
             endNode.clear();
         }
+        if (aggregateNode != null) {
+            aggregateNode.clear();
+        }
+    }
+
+    boolean isAggregate() {
+        return aggregateNode != null;
+    }
+
+    /**
+     * @return true if the rule's aggregates have been modified since the last RHS call
+     */
+    boolean hasAggregateChanges() {
+        return aggregateNode != null && aggregateNode.hasChanges();
     }
 
     @Override
@@ -178,6 +277,13 @@ public class RuntimeRuleImpl extends AbstractRuntimeRule<RuntimeFactType> implem
         return this;
     }
 
+    /**
+     * Restores the rule's RHS, salience and properties from its descriptor.
+     */
+    void resetToDescriptor() {
+        resetTo(descriptor);
+    }
+
     public RuleDescriptor getDescriptor() {
         return descriptor;
     }
@@ -235,8 +341,12 @@ public class RuntimeRuleImpl extends AbstractRuntimeRule<RuntimeFactType> implem
             boolean ret = true;
             for (RhsFactType t : myFactTypeNodes) {
                 key = iterator.next();
-                ret = ret & key.getMetaValue() != DELETED_MEMORY_KEY_FLAG;
-                t.setCurrentKey(key);
+                // Rows with deleted keys are skipped, but their keys still need to be read
+                if (key.getMetaValue() == DELETED_MEMORY_KEY_FLAG) {
+                    ret = false;
+                } else {
+                    t.setCurrentKey(key);
+                }
             }
             return ret;
         }
@@ -252,13 +362,42 @@ public class RuntimeRuleImpl extends AbstractRuntimeRule<RuntimeFactType> implem
 
         boolean copyKeyState(ReIterator<MemoryKey> iterator) {
             MemoryKey key = iterator.next();
-            this.factTypeNode.setCurrentKey(key);
-            return key.getMetaValue() != DELETED_MEMORY_KEY_FLAG;
+            if (key.getMetaValue() == DELETED_MEMORY_KEY_FLAG) {
+                return false;
+            } else {
+                this.factTypeNode.setCurrentKey(key);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * A stored combination of facts that matches rule's conditions
+     */
+    private static class RhsActivation {
+        private final FactHandle[] handles;
+        private final FactRecord[] records;
+
+        RhsActivation(RhsFactType[] types) {
+            this.handles = new FactHandle[types.length];
+            this.records = new FactRecord[types.length];
+            for (int i = 0; i < types.length; i++) {
+                this.handles[i] = types[i].handle;
+                this.records[i] = types[i].record;
+            }
+        }
+
+        void restore(RhsFactType[] types) {
+            for (int i = 0; i < types.length; i++) {
+                types[i].handle = this.handles[i];
+                types[i].record = this.records[i];
+            }
         }
     }
 
     private class RhsContextImpl implements RhsContext {
         private FactActionBuffer buffer;
+        private boolean concurrentInserts = false;
 
         void setBuffer(FactActionBuffer buffer) {
             this.buffer = buffer;
@@ -266,12 +405,19 @@ public class RuntimeRuleImpl extends AbstractRuntimeRule<RuntimeFactType> implem
 
         @Override
         public RhsContext insert(Object fact, boolean resolveCollections) {
-            runtime.bufferInsert(fact, resolveCollections, buffer);
+            if (concurrentInserts) {
+                // Other rules may be inserting facts at the same time
+                synchronized (runtime.memory) {
+                    runtime.bufferInsert(fact, resolveCollections, buffer);
+                }
+            } else {
+                runtime.bufferInsert(fact, resolveCollections, buffer);
+            }
             return this;
         }
 
         @Override
-        public final RhsContext update(Object obj) {
+        public RhsContext update(Object obj) {
             Objects.requireNonNull(obj);
             for (RhsFactType state : factTypeNodes) {
                 if (state.record.instance == obj) {
@@ -283,7 +429,7 @@ public class RuntimeRuleImpl extends AbstractRuntimeRule<RuntimeFactType> implem
         }
 
         @Override
-        public final RhsContext delete(Object obj) {
+        public RhsContext delete(Object obj) {
             Objects.requireNonNull(obj);
             for (RhsFactType state : factTypeNodes) {
                 if (state.record.instance == obj) {
@@ -307,4 +453,47 @@ public class RuntimeRuleImpl extends AbstractRuntimeRule<RuntimeFactType> implem
         }
     }
 
+    /**
+     * RHS context of aggregate rules, exposes the group key and the aggregate results of the current group
+     */
+    private class AggregateContext extends RhsContextImpl {
+        private final Map<String, Integer> aggregateNames = new HashMap<>();
+        private final String groupName;
+        private Object groupKey;
+        private Object[] results;
+
+        AggregateContext(AggregateDescriptor descriptor) {
+            this.groupName = descriptor.getGroupName();
+            String[] names = descriptor.getNames();
+            for (int i = 0; i < names.length; i++) {
+                this.aggregateNames.put(names[i], i);
+            }
+        }
+
+        void setState(Object groupKey, Object[] results) {
+            this.groupKey = groupKey;
+            this.results = results;
+        }
+
+        @Override
+        public RhsContext update(Object obj) {
+            throw new IllegalArgumentException("Fact " + obj + " not found in current RHS context");
+        }
+
+        @Override
+        public RhsContext delete(Object obj) {
+            throw new IllegalArgumentException("Fact " + obj + " not found in current RHS context");
+        }
+
+        @Override
+        public Object getObject(String name) {
+            if (name.equals(groupName)) {
+                return groupKey;
+            }
+            Integer idx = aggregateNames.get(name);
+            if (idx == null) throw new IllegalArgumentException("Unknown aggregate reference: " + name);
+            return results[idx];
+        }
+    }
+
 }
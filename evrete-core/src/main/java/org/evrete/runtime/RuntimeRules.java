@@ -1,12 +1,95 @@
 package org.evrete.runtime;
 
+import org.evrete.runtime.evaluation.MemoryAddress;
+import org.evrete.util.Mask;
 import org.evrete.util.SearchList;
 
+import java.util.*;
+
 class RuntimeRules extends SearchList<RuntimeRuleImpl> {
+    // Rules and end nodes subscribed to memory addresses, indexed by address id
+    private final List<Subscribers> subscribers = new ArrayList<>();
+    // Aggregate rules are activated by changes of their aggregates rather than by new matches
+    private final List<RuntimeRuleImpl> aggregateRules = new ArrayList<>();
 
     RuntimeRuleImpl addRule(RuleDescriptor ruleDescriptor, AbstractRuleSession<?> session) {
         RuntimeRuleImpl r = new RuntimeRuleImpl(ruleDescriptor, session);
         this.add(r);
+        r.setPosition(getList().size() - 1);
+        if (r.isAggregate()) {
+            aggregateRules.add(r);
+        } else {
+            for (RhsFactGroup group : r.getLhs().getFactGroups()) {
+                group.getMemoryMask().forEachBit(address -> subscribe(address, r, group));
+            }
+        }
         return r;
     }
+
+    @Override
+    public void sort(Comparator<? super RuntimeRuleImpl> comparator) {
+        super.sort(comparator);
+        List<RuntimeRuleImpl> list = getList();
+        for (int i = 0; i < list.size(); i++) {
+            list.get(i).setPosition(i);
+        }
+    }
+
+    /**
+     * <p>
+     * Looks up the rules and end nodes that depend on the given memory addresses. The cost of the
+     * lookup is proportional to the number of subscriptions, not to the total number of rules.
+     * Aggregate rules are affected if their aggregates have been modified.
+     * </p>
+     *
+     * @param matchMask        memory addresses with new data
+     * @param affectedEndNodes collection of affected end nodes to fill
+     * @return affected rules in their current order
+     */
+    List<RuntimeRuleImpl> affectedRules(Mask<MemoryAddress> matchMask, Collection<BetaEndNode> affectedEndNodes) {
+        BitSet positions = new BitSet();
+        for (RuntimeRuleImpl rule : aggregateRules) {
+            if (rule.hasAggregateChanges()) {
+                positions.set(rule.getPosition());
+            }
+        }
+        matchMask.forEachBit(address -> {
+            if (address < subscribers.size()) {
+                Subscribers s = subscribers.get(address);
+                if (s != null) {
+                    for (RuntimeRuleImpl rule : s.rules) {
+                        positions.set(rule.getPosition());
+                    }
+                    affectedEndNodes.addAll(s.endNodes);
+                }
+            }
+        });
+
+        List<RuntimeRuleImpl> list = getList();
+        List<RuntimeRuleImpl> result = new ArrayList<>(positions.cardinality());
+        for (int i = positions.nextSetBit(0); i >= 0; i = positions.nextSetBit(i + 1)) {
+            result.add(list.get(i));
+        }
+        return result;
+    }
+
+    private void subscribe(int address, RuntimeRuleImpl rule, RhsFactGroup group) {
+        while (subscribers.size() <= address) {
+            subscribers.add(null);
+        }
+        Subscribers s = subscribers.get(address);
+        if (s == null) {
+            s = new Subscribers();
+            subscribers.set(address, s);
+        }
+        s.rules.add(rule);
+        if (group instanceof BetaEndNode) {
+            s.endNodes.add((BetaEndNode) group);
+        }
+    }
+
+    private static class Subscribers {
+        private final List<RuntimeRuleImpl> rules = new ArrayList<>();
+        private final List<BetaEndNode> endNodes = new ArrayList<>();
+    }
 }
@@ -52,6 +52,15 @@ public class SessionMemory extends MemoryComponent implements Iterable<TypeMemor
         return get(t.getId());
     }
 
+    TypeMemory getCreate(int type) {
+        TypeMemory m = typedMemories.get(type);
+        if (m == null) {
+            m = new TypeMemory(this, type);
+            typedMemories.set(type, m);
+        }
+        return m;
+    }
+
     TypeMemory getCreateUpdate(int type) {
         TypeMemory m = typedMemories.get(type);
         if (m == null) {
@@ -8,9 +8,54 @@ import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
 class StatelessSessionImpl extends AbstractRuleSessionIO<StatelessSession> implements StatelessSession {
+    private final StatelessSessionPool pool;
+    // Pooled sessions are cleared when fired, and returned to the pool when closed
+    private boolean fired;
+    private boolean closed;
 
     StatelessSessionImpl(KnowledgeRuntime knowledge) {
+        this(knowledge, null);
+    }
+
+    StatelessSessionImpl(KnowledgeRuntime knowledge, StatelessSessionPool pool) {
         super(knowledge);
+        this.pool = pool;
+    }
+
+    private synchronized void complete() {
+        if (pool == null) {
+            closeInner();
+            this.closed = true;
+        } else {
+            recycleInner();
+            this.fired = true;
+        }
+    }
+
+    /**
+     * Prepares a pooled session for the next use
+     */
+    synchronized void reuse() {
+        this.fired = false;
+        this.closed = false;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        this.closed = true;
+        if (pool == null) {
+            closeInner();
+        } else {
+            if (!fired) {
+                recycleInner();
+            }
+            if (!pool.release(this)) {
+                destroy();
+            }
+        }
     }
 
     @Override
@@ -24,7 +69,7 @@ class StatelessSessionImpl extends AbstractRuleSessionIO<StatelessSession> imple
             fireInner();
             getMemory().forEach(tm -> tm.forEachFact(consumer));
         } finally {
-            closeInner();
+            complete();
         }
     }
 
@@ -34,7 +79,7 @@ class StatelessSessionImpl extends AbstractRuleSessionIO<StatelessSession> imple
             fireInner();
             return null;
         } finally {
-            closeInner();
+            complete();
         }
     }
 
@@ -44,7 +89,7 @@ class StatelessSessionImpl extends AbstractRuleSessionIO<StatelessSession> imple
             fireInner();
             getMemory().forEach(tm -> tm.forEachFact((handle, o) -> consumer.accept(o)));
         } finally {
-            closeInner();
+            complete();
         }
     }
 
@@ -60,7 +105,7 @@ class StatelessSessionImpl extends AbstractRuleSessionIO<StatelessSession> imple
             }
             getMemory().get(t).forEachFact((factHandle, o) -> consumer.accept((T) o));
         } finally {
-            closeInner();
+            complete();
         }
     }
 
@@ -75,7 +120,7 @@ class StatelessSessionImpl extends AbstractRuleSessionIO<StatelessSession> imple
                 }
             });
         } finally {
-            closeInner();
+            complete();
         }
     }
 }
@@ -0,0 +1,56 @@
+package org.evrete.runtime;
+
+import org.evrete.api.SessionPool;
+import org.evrete.api.StatelessSession;
+
+import java.util.concurrent.ArrayBlockingQueue;
+
+class StatelessSessionPool implements SessionPool {
+    private final KnowledgeRuntime knowledge;
+    private final ArrayBlockingQueue<StatelessSessionImpl> idle;
+
+    StatelessSessionPool(KnowledgeRuntime knowledge, int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Pool size must be positive");
+        }
+        this.knowledge = knowledge;
+        this.idle = new ArrayBlockingQueue<>(size);
+    }
+
+    @Override
+    public StatelessSession newStatelessSession() {
+        StatelessSessionImpl session;
+        while ((session = idle.poll()) != null) {
+            if (isInSync(session)) {
+                session.reuse();
+                return knowledge.register(session);
+            } else {
+                session.destroy();
+            }
+        }
+        return knowledge.register(new StatelessSessionImpl(knowledge, this));
+    }
+
+    @Override
+    public int idleSessions() {
+        return idle.size();
+    }
+
+    /**
+     * <p>
+     * Takes a closed session back. The session's memory must already be cleared.
+     * </p>
+     *
+     * @param session session to recycle
+     * @return true if the session has been accepted by the pool
+     */
+    boolean release(StatelessSessionImpl session) {
+        return isInSync(session) && idle.offer(session);
+    }
+
+    private boolean isInSync(StatelessSessionImpl session) {
+        return session.getKnowledgeVersion() == knowledge.getVersion()
+                && session.getRules().size() == knowledge.getRules().size()
+                && session.hasInitialContext();
+    }
+}
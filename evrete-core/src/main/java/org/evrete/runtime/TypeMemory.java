@@ -1,11 +1,13 @@
 package org.evrete.runtime;
 
+import org.evrete.Configuration;
 import org.evrete.api.*;
 import org.evrete.runtime.evaluation.AlphaEvaluator;
 import org.evrete.runtime.evaluation.EvaluatorWrapper;
 import org.evrete.runtime.evaluation.MemoryAddress;
 import org.evrete.util.Mask;
 
+import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -15,6 +17,7 @@ import java.util.logging.Logger;
 
 public final class TypeMemory extends TypeMemoryBase {
     private static final Logger LOGGER = Logger.getLogger(TypeMemory.class.getName());
+    private final List<AggregateNode> aggregateNodes = new ArrayList<>();
     private Cache cache;
 
     TypeMemory(SessionMemory sessionMemory, int type) {
@@ -61,6 +64,69 @@ public final class TypeMemory extends TypeMemoryBase {
         return cache.createFactRuntime(factHandle, factRecord, valueResolver);
     }
 
+    /**
+     * Returns a record that keeps the version and memory locations of an updated fact,
+     * or {@code null} if the update has to be processed as a delete and insert pair.
+     * Updates are considered unchanged only if property-reactive updates are enabled, and
+     * none of the fields and alpha conditions the rules depend upon have changed their values.
+     */
+    public FactRecord unchangedRecord(FactRecord previous, RuntimeFact updated) {
+        if (cache.propertyReactive && updated.sameState(previous)) {
+            return FactRecord.unchanged(previous, updated.factRecord);
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Registers a deleted fact record with the memory buckets the fact has been saved in,
+     * and removes the fact from the aggregates
+     */
+    public void onDelete(FactHandle handle, FactRecord record) {
+        Mask<MemoryAddress> mask = record.getBucketsMask();
+        if (mask.cardinality() > 0) {
+            for (KeyMemoryBucket bucket : this) {
+                if (mask.get(bucket.address)) {
+                    bucket.onDelete(record.getValues());
+                }
+            }
+        }
+        for (AggregateNode node : aggregateNodes) {
+            node.remove(handle);
+        }
+    }
+
+    /**
+     * Adds an inserted or updated fact to the aggregates
+     */
+    public void onInsert(RuntimeFact fact) {
+        for (AggregateNode node : aggregateNodes) {
+            node.insert(fact);
+        }
+    }
+
+    /**
+     * Refreshes the aggregates with a fact whose update has not affected the memory buckets
+     */
+    public void onUnchanged(RuntimeFact fact) {
+        FactHandle handle = fact.factHandle.getHandle();
+        for (AggregateNode node : aggregateNodes) {
+            node.remove(handle);
+            node.insert(fact);
+        }
+    }
+
+    void addAggregateNode(AggregateNode node) {
+        // Facts that are already in the memory
+        factStorage.iterator().forEachRemaining(entry -> {
+            FactRecord record = entry.getInstance();
+            if (record.getBucketsMask().get(node.getAddress())) {
+                node.add(entry.getHandle(), record.instance);
+            }
+        });
+        this.aggregateNodes.add(node);
+    }
+
     void onNewAlphaBucket(MemoryAddress address) {
         KeyMemoryBucket bucket = touchMemory(address);
         ReIterator<FactStorage.Entry<FactRecord>> allFacts = factStorage.iterator();
@@ -79,67 +145,152 @@ public final class TypeMemory extends TypeMemoryBase {
      */
     static class Cache {
         final TypeField[] fields;
+        final FieldReader[] readers;
+        final FieldValuesReader generatedReader;
         final AlphaPredicate[] alphaEvaluators;
         final Object[] currentValues;
+        final boolean[] alphaFields;
         final boolean hasAlphaConditions;
+        final boolean propertyReactive;
+        // Field values of stored facts are needed by property-reactive updates and incremental key purges
+        final boolean keepValues;
+        private final EvaluatorStorageImpl evaluators;
+        private AlphaIndex alphaIndex;
+        private int alphaIndexModCount;
 
         Cache(Type<?> type, AbstractRuleSession<?> runtime) {
             Type<?> t = runtime.getType(type.getId());
             TypeMemoryMetaData meta = runtime.getTypeMeta(t.getId());
 
             this.fields = new TypeField[meta.activeFields.length];
+            this.readers = new FieldReader[meta.activeFields.length];
             for (int i = 0; i < meta.activeFields.length; i++) {
 
                 String fieldName = meta.activeFields[i].getName();
                 TypeField tf = type.getField(fieldName);
                 this.fields[i] = tf;
+                this.readers[i] = FieldReader.of(tf);
             }
+            this.generatedReader = fields.length > 0 && runtime.getConfiguration().getAsBoolean(Configuration.GENERATED_FIELD_READERS, false) ?
+                    type.newFieldValuesReader(fields, runtime.getSourceCompiler())
+                    :
+                    null;
             this.currentValues = new Object[this.fields.length];
+            this.alphaFields = new boolean[this.fields.length];
             this.hasAlphaConditions = meta.alphaEvaluators.length > 0;
+            this.propertyReactive = runtime.getConfiguration().getAsBoolean(Configuration.PROPERTY_REACTIVE_UPDATES, false);
+            this.keepValues = propertyReactive || (fields.length > 0 && runtime.getConfiguration().getAsBoolean(Configuration.INCREMENTAL_KEY_PURGE, true));
             this.alphaEvaluators = new AlphaPredicate[meta.alphaEvaluators.length];
+            this.evaluators = runtime.getEvaluators();
             if (hasAlphaConditions) {
                 for (int i = 0; i < alphaEvaluators.length; i++) {
                     this.alphaEvaluators[i] = new AlphaPredicate(meta.alphaEvaluators[i], runtime.getEvaluators(), currentValues);
+                    for (ActiveField f : meta.alphaEvaluators[i].getDescriptor()) {
+                        this.alphaFields[f.getValueIndex()] = true;
+                    }
                 }
             }
         }
 
+        AlphaIndex alphaIndex() {
+            // Replaced evaluators and new listeners invalidate the index
+            int modCount = evaluators.getModCount();
+            if (alphaIndex == null || alphaIndexModCount != modCount) {
+                this.alphaIndex = new AlphaIndex(alphaEvaluators, currentValues);
+                this.alphaIndexModCount = modCount;
+            }
+            return alphaIndex;
+        }
+
         private RuntimeFact createFactRuntime(FactHandleVersioned factHandle, FactRecord factRecord, ValueResolver valueResolver) {
 
             ValueHandle[] valueHandles = new ValueHandle[fields.length];
             BitSet alphaTests;
 
-            if (hasAlphaConditions) {
+            if (generatedReader == null) {
                 for (int i = 0; i < valueHandles.length; i++) {
-                    TypeField f = fields[i];
-                    Object fieldValue = f.readValue(factRecord.instance);
-                    currentValues[i] = fieldValue;
-                    valueHandles[i] = valueResolver.getValueHandle(f.getValueType(), fieldValue);
+                    valueHandles[i] = readers[i].read(factRecord.instance, valueResolver);
                 }
+            } else {
+                generatedReader.read(factRecord.instance, valueResolver, valueHandles);
+            }
 
-                alphaTests = new BitSet();
-                for (AlphaPredicate alphaEvaluator : alphaEvaluators) {
-                    if (alphaEvaluator.test()) {
-                        alphaTests.set(alphaEvaluator.getIndex());
+            if (hasAlphaConditions) {
+                // Only the values that alpha conditions depend upon need to be resolved
+                for (int i = 0; i < valueHandles.length; i++) {
+                    if (alphaFields[i]) {
+                        currentValues[i] = valueResolver.getValue(valueHandles[i]);
                     }
                 }
 
+                alphaTests = new BitSet();
+                alphaIndex().test(alphaTests);
+
             } else {
-                for (int i = 0; i < valueHandles.length; i++) {
-                    TypeField f = fields[i];
-                    valueHandles[i] = valueResolver.getValueHandle(f.getValueType(), f.readValue(factRecord.instance));
-                }
                 alphaTests = Mask.EMPTY;
             }
 
+            if (propertyReactive) {
+                factRecord.setState(valueHandles, alphaTests);
+            } else if (keepValues) {
+                factRecord.setState(valueHandles, null);
+            }
             return new RuntimeFact(factRecord, factHandle, valueHandles, alphaTests);
         }
 
     }
 
+    /**
+     * Field readers that turn values of int, long and double fields into value handles without boxing
+     */
+    private static abstract class FieldReader {
+        final TypeField field;
+
+        FieldReader(TypeField field) {
+            this.field = field;
+        }
+
+        static FieldReader of(TypeField field) {
+            // Nested and custom fields may produce nulls and are read as objects
+            Class<?> valueType = field.hasPrimitiveReader() ? field.getValueType() : Object.class;
+            if (valueType == int.class) {
+                return new FieldReader(field) {
+                    @Override
+                    ValueHandle read(Object instance, ValueResolver resolver) {
+                        return resolver.getValueHandle(field.readInt(instance));
+                    }
+                };
+            } else if (valueType == long.class) {
+                return new FieldReader(field) {
+                    @Override
+                    ValueHandle read(Object instance, ValueResolver resolver) {
+                        return resolver.getValueHandle(field.readLong(instance));
+                    }
+                };
+            } else if (valueType == double.class) {
+                return new FieldReader(field) {
+                    @Override
+                    ValueHandle read(Object instance, ValueResolver resolver) {
+                        return resolver.getValueHandle(field.readDouble(instance));
+                    }
+                };
+            } else {
+                return new FieldReader(field) {
+                    @Override
+                    ValueHandle read(Object instance, ValueResolver resolver) {
+                        return resolver.getValueHandle(field.getValueType(), field.readValue(instance));
+                    }
+                };
+            }
+        }
+
+        abstract ValueHandle read(Object instance, ValueResolver resolver);
+    }
+
     static class AlphaPredicate {
         private final EvaluatorWrapper delegate;
         private final int index;
+        private final int[] valueIndices;
         private final IntToValue func;
 
         AlphaPredicate(AlphaEvaluator alphaEvaluator, EvaluatorStorageImpl evaluators, Object[] values) {
@@ -151,6 +302,7 @@ public final class TypeMemory extends TypeMemoryBase {
             for (int i = 0; i < valueIndices.length; i++) {
                 valueIndices[i] = activeDescriptor[i].getValueIndex();
             }
+            this.valueIndices = valueIndices;
             this.func = i -> values[valueIndices[i]];
         }
 
@@ -162,5 +314,21 @@ public final class TypeMemory extends TypeMemoryBase {
             return delegate.test(func);
         }
 
+        int getValueIndex() {
+            return valueIndices[0];
+        }
+
+        /**
+         * @return constant comparison of a single-field condition, or {@code null} if the condition can not be indexed
+         */
+        ConstantComparison getConstantComparison() {
+            // Listeners expect to be notified on every evaluation, index lookups would skip them
+            if (valueIndices.length != 1 || delegate.hasListeners()) {
+                return null;
+            } else {
+                return delegate.getConstantComparison();
+            }
+        }
+
     }
 }
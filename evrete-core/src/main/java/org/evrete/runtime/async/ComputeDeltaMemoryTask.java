@@ -95,21 +95,33 @@ public class ComputeDeltaMemoryTask extends Completer {
                         FactRecord record = factStorage.getFact(handle);
                         if (record != null) {
                             deleteMask.or(record.getBucketsMask());
+                            tm.onDelete(handle, record);
                         }
                         factStorage.delete(handle);
                         break;
                     case INSERT:
-                        inserts.add(tm.createFactRuntime(handle, a.getDelta().getLatest()));
+                        RuntimeFact inserted = tm.createFactRuntime(handle, a.getDelta().getLatest());
+                        tm.onInsert(inserted);
+                        inserts.add(inserted);
                         break;
                     case UPDATE:
                         FactRecordDelta delta = a.getDelta();
 
                         FactRecord previous = delta.getPrevious();
-                        deleteMask.or(previous.getBucketsMask());
-
-                        FactRecord latest = a.getDelta().getLatest();
-                        factStorage.update(handle, latest);
-                        inserts.add(tm.createFactRuntime(handle, latest));
+                        FactRecord latest = delta.getLatest();
+                        RuntimeFact updated = tm.createFactRuntime(handle, latest);
+                        FactRecord unchanged = tm.unchangedRecord(previous, updated);
+                        if (unchanged == null) {
+                            deleteMask.or(previous.getBucketsMask());
+                            tm.onDelete(handle, previous);
+                            factStorage.update(handle, latest);
+                            tm.onInsert(updated);
+                            inserts.add(updated);
+                        } else {
+                            // Memory buckets already contain the fact under its current version
+                            factStorage.update(handle, unchanged);
+                            tm.onUnchanged(updated);
+                        }
                         break;
                     default:
                         throw new IllegalStateException();
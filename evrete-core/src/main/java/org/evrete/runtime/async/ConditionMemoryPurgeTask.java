@@ -14,22 +14,49 @@ import org.evrete.util.Mask;
 import java.util.Collection;
 import java.util.LinkedList;
 
+/**
+ * <p>
+ * Removes rows with deleted memory keys from the main storage of condition nodes. Condition
+ * memories keep no reverse index from memory keys to the rows that contain them, so removing
+ * the rows of a single key requires a scan of the whole storage, just like removing all of them.
+ * Maintaining such an index would add to the cost and memory of every stored row.
+ * </p>
+ * <p>
+ * Instead, rows with deleted keys are left in place, where all the readers skip them, and a
+ * storage is scanned only once the estimated share of such rows reaches
+ * {@link #STALE_ROWS_THRESHOLD}. The estimate for a condition node is the sum of the shares of
+ * deleted keys in the memory buckets of its fact types, which keeps the amortized cost of a scan
+ * proportional to the number of rows it removes.
+ * </p>
+ */
 public class ConditionMemoryPurgeTask extends Completer {
     private static final long serialVersionUID = 7911593735991639599L;
+    static final double STALE_ROWS_THRESHOLD = 0.25;
     private final Collection<SubTask> subtasks = new LinkedList<>();
 
-    public ConditionMemoryPurgeTask(Iterable<RuntimeRuleImpl> rules, Mask<MemoryAddress> keyPurgeMask) {
+    public ConditionMemoryPurgeTask(Iterable<RuntimeRuleImpl> rules, MemoryPurgeTask keyPurge) {
+        Mask<MemoryAddress> keyPurgeMask = keyPurge.getKeyPurgeMask();
         for (RuntimeRuleImpl rule : rules) {
             for (BetaConditionNode node : rule.getLhs().getEndNodes()) {
                 BetaConditionNode.forEachConditionNode(node, cn -> {
                     if (cn.hasMainStorage() && cn.getDescriptor().getMemoryMask().intersects(keyPurgeMask)) {
-                        subtasks.add(new SubTask(ConditionMemoryPurgeTask.this, cn, keyPurgeMask));
+                        double deletedShare = 0.0;
+                        for (FactType type : cn.getDescriptor().getTypes()) {
+                            deletedShare += keyPurge.getDeletedKeyShare(type.getMemoryAddress());
+                        }
+                        if (cn.onDeletedKeys(deletedShare, STALE_ROWS_THRESHOLD)) {
+                            subtasks.add(new SubTask(ConditionMemoryPurgeTask.this, cn));
+                        }
                     }
                 });
             }
         }
     }
 
+    public boolean isEmpty() {
+        return subtasks.isEmpty();
+    }
+
     @Override
     protected void execute() {
         tailCall(subtasks, o -> o);
@@ -38,21 +65,12 @@ public class ConditionMemoryPurgeTask extends Completer {
     static class SubTask extends Completer {
         private static final long serialVersionUID = 8912306547512886112L;
         private final transient BetaConditionNode node;
-        private final boolean[] checkFlags;
         private final MemoryKey[] buffer;
 
-        SubTask(Completer completer, BetaConditionNode node, Mask<MemoryAddress> keyPurgeMask) {
+        SubTask(Completer completer, BetaConditionNode node) {
             super(completer);
             this.node = node;
-
-            FactType[] types = node.getDescriptor().getTypes();
-            // Which types do we check
-            this.checkFlags = new boolean[types.length];
-            for (int i = 0; i < types.length; i++) {
-                checkFlags[i] = types[i].getMemoryMask().intersects(keyPurgeMask);
-            }
-            this.buffer = new MemoryKey[types.length];
-
+            this.buffer = new MemoryKey[node.getDescriptor().getTypes().length];
         }
 
         @Override
@@ -86,12 +104,10 @@ public class ConditionMemoryPurgeTask extends Completer {
         }
 
         private boolean test() {
-            for (int i = 0; i < buffer.length; i++) {
-                if (checkFlags[i]) {
-                    MemoryKey key = buffer[i];
-                    if (key.getMetaValue() == Constants.DELETED_MEMORY_KEY_FLAG) {
-                        return false;
-                    }
+            // Keys of all types are checked, the storage may hold rows left by previous purges
+            for (MemoryKey key : buffer) {
+                if (key.getMetaValue() == Constants.DELETED_MEMORY_KEY_FLAG) {
+                    return false;
                 }
             }
             return true;
@@ -13,6 +13,10 @@ public class ForkJoinExecutor {
         this.delegate = new ForkJoinPool(parallelism, new EvreteForkJoinWorkerThreadFactory(), null, false);
     }
 
+    public int getParallelism() {
+        return delegate.getParallelism();
+    }
+
     public void shutdown() {
         delegate.shutdown();
     }
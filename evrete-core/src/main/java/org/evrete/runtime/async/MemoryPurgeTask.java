@@ -1,6 +1,7 @@
 package org.evrete.runtime.async;
 
 import org.evrete.api.FactHandleVersioned;
+import org.evrete.api.KeyMode;
 import org.evrete.runtime.KeyMemoryBucket;
 import org.evrete.runtime.SessionMemory;
 import org.evrete.runtime.TypeMemory;
@@ -8,13 +9,17 @@ import org.evrete.runtime.evaluation.MemoryAddress;
 import org.evrete.util.Mask;
 
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.LinkedList;
+import java.util.Map;
 import java.util.function.Predicate;
 
 public class MemoryPurgeTask extends Completer {
     private static final long serialVersionUID = 7911593735991639599L;
     private final Collection<TypeMemoryTask> subtasks = new LinkedList<>();
     private final transient Mask<MemoryAddress> keyPurgeMask = Mask.addressMask();
+    // Shares of deleted memory keys by bucket id
+    private final transient Map<Integer, Double> deletedKeyShares = new HashMap<>();
 
     public MemoryPurgeTask(SessionMemory memory, Mask<MemoryAddress> factPurgeMask) {
         for (TypeMemory tm : memory) {
@@ -31,6 +36,14 @@ public class MemoryPurgeTask extends Completer {
         return keyPurgeMask;
     }
 
+    /**
+     * @param address memory bucket address
+     * @return the share of the bucket's memory keys that have been deleted by this task
+     */
+    public double getDeletedKeyShare(MemoryAddress address) {
+        return deletedKeyShares.getOrDefault(address.getId(), 0.0);
+    }
+
     @Override
     protected void execute() {
         tailCall(subtasks, o -> o);
@@ -39,8 +52,9 @@ public class MemoryPurgeTask extends Completer {
     @Override
     protected void onCompletion() {
         for (TypeMemoryTask sub : subtasks) {
-            if (sub.hasEmptyKeys) {
+            if (sub.deletedKeys > 0) {
                 this.keyPurgeMask.set(sub.bucket.address);
+                this.deletedKeyShares.put(sub.bucket.address.getId(), (double) sub.deletedKeys / (sub.deletedKeys + sub.remainingKeys));
             }
         }
     }
@@ -49,7 +63,8 @@ public class MemoryPurgeTask extends Completer {
         private static final long serialVersionUID = 3628304099034857930L;
         private final transient KeyMemoryBucket bucket;
         private final transient Predicate<FactHandleVersioned> predicate;
-        private boolean hasEmptyKeys = false;
+        private long deletedKeys = 0L;
+        private long remainingKeys = 0L;
 
         TypeMemoryTask(MemoryPurgeTask parent, KeyMemoryBucket bucket, Predicate<FactHandleVersioned> predicate) {
             super(parent);
@@ -57,13 +72,16 @@ public class MemoryPurgeTask extends Completer {
             this.predicate = predicate;
         }
 
-        private void setHasEmptyKeys() {
-            this.hasEmptyKeys = true;
+        private void onEmptyKey() {
+            this.deletedKeys++;
         }
 
         @Override
         protected void execute() {
-            bucket.purgeDeleted(predicate, k -> setHasEmptyKeys());
+            bucket.purgeDeleted(predicate, k -> onEmptyKey());
+            if (deletedKeys > 0) {
+                this.remainingKeys = bucket.getFieldData().keys(KeyMode.OLD_OLD).reset();
+            }
         }
     }
 }
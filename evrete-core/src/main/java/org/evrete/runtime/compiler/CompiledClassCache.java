@@ -0,0 +1,206 @@
+package org.evrete.runtime.compiler;
+
+import org.evrete.Configuration;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * <p>
+ * Content-addressed directory of compiled classes. Each entry holds the classes compiled from a single source,
+ * and the entry's file name is the digest of the source and the class file version that the compiler targets.
+ * The key does not depend on the platform or on JDK patch releases, so entries that are built once can be shipped
+ * to every runtime of the same Java feature release. Cache entries are never invalidated, the directory must be
+ * cleared when the engine or the classes that the sources refer to change in an incompatible way.
+ * </p>
+ * <p>
+ * A cache location that starts with {@value #CLASSPATH_PREFIX} refers to a read-only resource directory, which
+ * allows shipping classes compiled at build time (see {@link org.evrete.util.KnowledgePrecompiler}) with
+ * the application, and running it without a Java compiler as long as every source is found in the cache.
+ * Read and write errors are logged and treated as cache misses, so a broken cache never stops compilation.
+ * </p>
+ *
+ * @see Configuration#COMPILED_CLASS_CACHE
+ */
+public final class CompiledClassCache {
+    private static final Logger LOGGER = Logger.getLogger(CompiledClassCache.class.getName());
+    private static final int FORMAT_VERSION = 1;
+    public static final String CLASSPATH_PREFIX = "classpath:";
+    private static final String EXTENSION = ".bin";
+    private static final String ENVIRONMENT = "class file " + classFileVersion() + "\n";
+    private final Path directory;
+    private final ClassLoader classLoader;
+    private final String resourceDirectory;
+
+    /**
+     * @param directory writable cache directory
+     */
+    public CompiledClassCache(Path directory) {
+        this.directory = directory;
+        this.classLoader = null;
+        this.resourceDirectory = null;
+    }
+
+    /**
+     * @param classLoader       class loader of the cache resources
+     * @param resourceDirectory read-only resource directory
+     */
+    public CompiledClassCache(ClassLoader classLoader, String resourceDirectory) {
+        this.directory = null;
+        this.classLoader = classLoader;
+        this.resourceDirectory = resourceDirectory.endsWith("/") ? resourceDirectory : resourceDirectory + "/";
+    }
+
+    /**
+     * @param configuration configuration
+     * @param classLoader   class loader of the classpath caches
+     * @return cache of the configured location, or {@code null} if the cache is not configured
+     */
+    public static CompiledClassCache of(Configuration configuration, ClassLoader classLoader) {
+        String location = configuration.getProperty(Configuration.COMPILED_CLASS_CACHE);
+        if (location == null || location.trim().isEmpty()) {
+            return null;
+        } else if (location.trim().startsWith(CLASSPATH_PREFIX)) {
+            String resource = location.trim().substring(CLASSPATH_PREFIX.length());
+            return new CompiledClassCache(classLoader, resource.startsWith("/") ? resource.substring(1) : resource);
+        } else {
+            return new CompiledClassCache(Paths.get(location.trim()));
+        }
+    }
+
+    /**
+     * The compiler is run without a {@code --release} option, so classes target the running Java feature release.
+     *
+     * @return major class file version that the compiler targets
+     */
+    private static String classFileVersion() {
+        String spec = System.getProperty("java.specification.version", "");
+        // "1.8" up to Java 8, "9", "17", etc. afterwards
+        String feature = spec.startsWith("1.") ? spec.substring(2) : spec;
+        try {
+            return String.valueOf(44 + Integer.parseInt(feature));
+        } catch (NumberFormatException e) {
+            return spec;
+        }
+    }
+
+    /**
+     * @param s string to digest
+     * @return hex SHA-256 digest of the string
+     */
+    public static String digest(String s) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(s.getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder(hash.length * 2);
+            for (byte b : hash) {
+                sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String fileName(String source) {
+        return digest(ENVIRONMENT + source) + EXTENSION;
+    }
+
+    private InputStream open(String fileName) throws IOException {
+        if (directory == null) {
+            return classLoader.getResourceAsStream(resourceDirectory + fileName);
+        } else {
+            Path file = directory.resolve(fileName);
+            return Files.isRegularFile(file) ? Files.newInputStream(file) : null;
+        }
+    }
+
+    /**
+     * @param source Java source
+     * @return class bytes by binary names, or {@code null} if the source is not in the cache
+     */
+    Map<String, byte[]> get(String source) {
+        String fileName = fileName(source);
+        InputStream stream;
+        try {
+            stream = open(fileName);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Unable to read compiled class cache entry " + fileName + " in " + this, e);
+            return null;
+        }
+        if (stream == null) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(stream))) {
+            if (in.readInt() != FORMAT_VERSION) {
+                return null;
+            }
+            int count = in.readInt();
+            Map<String, byte[]> classes = new HashMap<>(count * 2);
+            for (int i = 0; i < count; i++) {
+                String binaryName = in.readUTF();
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                classes.put(binaryName, bytes);
+            }
+            return classes;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Unable to read compiled class cache entry " + fileName + " in " + this, e);
+            return null;
+        }
+    }
+
+    /**
+     * Stores compiled classes, classpath caches are read-only and ignore this call.
+     *
+     * @param source  Java source
+     * @param classes class bytes by binary names
+     */
+    void put(String source, Map<String, byte[]> classes) {
+        if (directory == null) {
+            return;
+        }
+        Path file = directory.resolve(fileName(source));
+        Path tmp = null;
+        try {
+            Files.createDirectories(directory);
+            tmp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(FORMAT_VERSION);
+                out.writeInt(classes.size());
+                for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    out.writeInt(entry.getValue().length);
+                    out.write(entry.getValue());
+                }
+            }
+            // Other processes may be reading or writing the same entry
+            try {
+                Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Unable to write compiled class cache entry " + file, e);
+            if (tmp != null) {
+                try {
+                    Files.deleteIfExists(tmp);
+                } catch (IOException ignored) {
+                    // Nothing to do
+                }
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledClassCache{" + (directory == null ? CLASSPATH_PREFIX + resourceDirectory : directory) + '}';
+    }
+}
@@ -20,7 +20,13 @@ final class InMemoryFileManager extends ForwardingJavaFileManager<JavaFileManage
     InMemoryFileManager(JavaFileManager fileManager, RuntimeClassloader classLoader) {
         super(fileManager);
         this.classLoader = classLoader;
-        this.finder = new PackageExplorer(classLoader);
+        this.finder = classLoader.getPackageExplorer();
+    }
+
+    @Override
+    public void close() throws IOException {
+        // The standard file manager is reused by other compilations and remains open
+        flush();
     }
 
     public Collection<DestinationClassObject> getOutput() {
@@ -15,6 +15,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.spi.FileSystemProvider;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
@@ -26,7 +27,8 @@ import java.util.zip.ZipInputStream;
 class PackageExplorer {
     private static final String CLASS_FILE_EXTENSION = ".class";
     private static final String CLASS_MODULE_INFO = "module-info.class";
-    private final Map<String, Collection<JavaFileObject>> cache = new HashMap<>();
+    // Classpath contents do not change at runtime, so the listings are shared by all compilations
+    private final Map<String, Collection<JavaFileObject>> cache = new ConcurrentHashMap<>();
 
     private final RuntimeClassloader classLoader;
 
@@ -57,8 +59,8 @@ class PackageExplorer {
         String key = packageName + packageFolderURL;
         Collection<JavaFileObject> cached = cache.get(key);
         if (cached == null) {
-            cached = new LinkedList<>(listUnderUncached(packageName, packageFolderURL));
-            cache.put(key, cached);
+            cached = new ArrayList<>(listUnderUncached(packageName, packageFolderURL));
+            cache.putIfAbsent(key, cached);
         }
         return cached;
     }
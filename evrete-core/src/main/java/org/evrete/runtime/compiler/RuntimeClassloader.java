@@ -5,9 +5,9 @@ import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
 public class RuntimeClassloader extends ClassLoader {
@@ -16,9 +16,20 @@ public class RuntimeClassloader extends ClassLoader {
     private final Map<String, Collection<String>> definedClasses = new ConcurrentHashMap<>();
 
     private final Map<String, byte[]> classDefinitions = new ConcurrentHashMap<>();
+    private final PackageExplorer packageExplorer;
 
     public RuntimeClassloader(ClassLoader parent) {
         super(parent);
+        // Child loaders share the classpath index of their parent
+        if (parent instanceof RuntimeClassloader) {
+            this.packageExplorer = ((RuntimeClassloader) parent).packageExplorer;
+        } else {
+            this.packageExplorer = new PackageExplorer(this);
+        }
+    }
+
+    PackageExplorer getPackageExplorer() {
+        return packageExplorer;
     }
 
     @Override
@@ -58,8 +69,9 @@ public class RuntimeClassloader extends ClassLoader {
 
     void saveClass(String binaryName, byte[] classBytes) {
         ClassMeta meta = new ClassMeta(binaryName);
-        this.classDefinitions.put(binaryName, classBytes);
-        this.definedClasses.computeIfAbsent(meta.getPackageName(), k->new LinkedList<>()).add(binaryName);
+        if (this.classDefinitions.put(binaryName, classBytes) == null) {
+            this.definedClasses.computeIfAbsent(meta.getPackageName(), k->new CopyOnWriteArrayList<>()).add(binaryName);
+        }
     }
 
     private ClassPathJavaObject getLocallyDefined(String binaryName) {
@@ -2,21 +2,61 @@ package org.evrete.runtime.compiler;
 
 import org.evrete.api.JavaSourceCompiler;
 import org.evrete.api.annotations.NonNull;
+import org.evrete.runtime.async.ForkJoinExecutor;
 
 import javax.tools.*;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 public class SourceCompiler implements JavaSourceCompiler {
     private final static String COMPILER_PARAM_OPTION = "-parameters";
+    // Standard file managers are expensive to create and are reused by subsequent compilations
+    private static final Queue<StandardJavaFileManager> FILE_MANAGERS = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger POOLED_FILE_MANAGERS = new AtomicInteger();
+    private static final int MAX_POOLED_FILE_MANAGERS = Runtime.getRuntime().availableProcessors();
+    private static final AtomicLong COMPILER_TASKS = new AtomicLong();
     private final RuntimeClassloader classLoader;
-    private final JavaCompiler compiler;
+    private JavaCompiler compiler;
+    private final CompiledClassCache cache;
+    private final ForkJoinExecutor executor;
+    private final int partitionSize;
 
     public SourceCompiler(RuntimeClassloader classLoader) {
+        this(classLoader, null);
+    }
+
+    /**
+     * @param classLoader class loader of the compiled classes
+     * @param cache       cache of compiled classes, or {@code null} if every source must be compiled
+     */
+    public SourceCompiler(RuntimeClassloader classLoader, CompiledClassCache cache) {
+        this(classLoader, cache, null, 0);
+    }
+
+    /**
+     * @param classLoader   class loader of the compiled classes
+     * @param cache         cache of compiled classes, or {@code null} if every source must be compiled
+     * @param executor      executor of concurrent compilations, or {@code null} if sources are compiled in a single batch
+     * @param partitionSize minimum number of sources in a concurrently compiled partition
+     */
+    public SourceCompiler(RuntimeClassloader classLoader, CompiledClassCache cache, ForkJoinExecutor executor, int partitionSize) {
         this.classLoader = classLoader;
-        this.compiler = Objects.requireNonNull(ToolProvider.getSystemJavaCompiler(), "No Java compiler provided by this platform");
+        this.cache = cache;
+        this.executor = executor;
+        this.partitionSize = partitionSize;
+    }
+
+    /**
+     * @return number of Java compiler tasks run in this JVM, sources loaded from a {@link CompiledClassCache} are not counted
+     */
+    public static long compilerTasks() {
+        return COMPILER_TASKS.get();
     }
 
     @Override
@@ -25,7 +65,7 @@ public class SourceCompiler implements JavaSourceCompiler {
     }
 
     @Override
-    public synchronized Map<String, Class<?>> compile(@NonNull Set<String> sources) throws CompilationException {
+    public Map<String, Class<?>> compile(@NonNull Set<String> sources) throws CompilationException {
         Map<String, ClassSource> sourceMap = new HashMap<>(sources.size());
         for(String source : sources) {
             sourceMap.put(source, JavaSourceObject.parse(source));
@@ -42,13 +82,147 @@ public class SourceCompiler implements JavaSourceCompiler {
     }
 
     @Override
-     public <S extends ClassSource> Collection<Result<S>> compile(Collection<S> sources) throws CompilationException {
-        Map<String, S> sourcesByClassName = new HashMap<>(sources.size());
-        for(S s : sources) {
-            sourcesByClassName.put(s.binaryName(), s);
+    public <S extends ClassSource> Collection<Result<S>> compile(Collection<S> sources) throws CompilationException {
+        // Generated sources with identical contents share their class names, each class is compiled only once
+        Map<String, List<S>> sourcesByClassName = new LinkedHashMap<>(sources.size());
+        for (S s : sources) {
+            sourcesByClassName.computeIfAbsent(s.binaryName(), k -> new LinkedList<>()).add(s);
+        }
+
+        List<S> toCompile = new ArrayList<>(sourcesByClassName.size());
+        for (List<S> group : sourcesByClassName.values()) {
+            S first = group.get(0);
+            Map<String, byte[]> cached = cache == null ? null : cache.get(first.getSource());
+            if (cached == null) {
+                toCompile.add(first);
+            } else {
+                for (Map.Entry<String, byte[]> entry : cached.entrySet()) {
+                    classLoader.saveClass(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+
+        if (!toCompile.isEmpty()) {
+            Collection<DestinationClassObject> output = compilePartitions(toCompile, sourcesByClassName);
+            for (DestinationClassObject compiled : output) {
+                classLoader.saveClass(compiled);
+            }
+            if (cache != null) {
+                cacheOutput(toCompile, output);
+            }
+        }
+
+        Collection<Result<S>> results = new ArrayList<>(sources.size());
+        for (Map.Entry<String, List<S>> entry : sourcesByClassName.entrySet()) {
+            final Class<?> cl;
+            try {
+                cl = Class.forName(entry.getKey(), false, classLoader);
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException("Class has been compiled, but can not be resolved", e);
+            }
+            for (S source : entry.getValue()) {
+                results.add(new Result<S>() {
+                    @Override
+                    public S getSource() {
+                        return source;
+                    }
+
+                    @Override
+                    public Class<?> getCompiledClass() {
+                        return cl;
+                    }
+                });
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Stores compiled classes in the cache, grouped by their sources. Outputs of a batch are not cached
+     * if some of them can not be attributed to a source by their names.
+     */
+    private <S extends ClassSource> void cacheOutput(List<S> sources, Collection<DestinationClassObject> output) {
+        Map<String, Map<String, byte[]>> classesBySource = new HashMap<>(sources.size());
+        for (S source : sources) {
+            classesBySource.put(source.binaryName(), new HashMap<>());
+        }
+        for (DestinationClassObject compiled : output) {
+            String binaryName = compiled.getBinaryName();
+            int nested = binaryName.indexOf('$', binaryName.lastIndexOf('.') + 1);
+            Map<String, byte[]> classes = classesBySource.get(nested < 0 ? binaryName : binaryName.substring(0, nested));
+            if (classes == null) {
+                return;
+            } else {
+                classes.put(binaryName, compiled.getBytes());
+            }
+        }
+        for (S source : sources) {
+            cache.put(source.getSource(), classesBySource.get(source.binaryName()));
+        }
+    }
+
+    /**
+     * The compiler is resolved lazily, so that sources found in the cache can be loaded on platforms without one
+     */
+    private synchronized JavaCompiler javaCompiler() {
+        if (compiler == null) {
+            compiler = ToolProvider.getSystemJavaCompiler();
+            if (compiler == null) {
+                throw new IllegalStateException("No Java compiler provided by this platform, consider running on a JDK or using a pre-built class cache, see " + CompiledClassCache.class.getName());
+            }
+        }
+        return compiler;
+    }
+
+    /**
+     * Splits large batches into partitions and compiles them concurrently. Partitioned sources may refer to each other,
+     * so if any partition fails, the sources are compiled again in a single batch, which also reports the actual errors.
+     */
+    private <S extends ClassSource> Collection<DestinationClassObject> compilePartitions(List<S> sources, Map<String, List<S>> sourcesByClassName) throws CompilationException {
+        int partitionCount = executor == null || partitionSize <= 0 ? 1 : Math.min(executor.getParallelism(), sources.size() / partitionSize);
+        if (partitionCount < 2) {
+            return compileSources(sources, sourcesByClassName);
+        }
+
+        List<Partition<S>> partitions = new ArrayList<>(partitionCount);
+        for (int i = 0; i < partitionCount; i++) {
+            int from = sources.size() * i / partitionCount;
+            int to = sources.size() * (i + 1) / partitionCount;
+            partitions.add(new Partition<>(sources.subList(from, to), sourcesByClassName));
+        }
+
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(partitionCount - 1);
+        for (Partition<S> partition : partitions.subList(1, partitionCount)) {
+            tasks.add(executor.submit(partition, null));
+        }
+        // The current thread compiles the first partition
+        partitions.get(0).run();
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+
+        Collection<DestinationClassObject> output = new ArrayList<>(sources.size());
+        for (Partition<S> partition : partitions) {
+            if (partition.output == null) {
+                return compileSources(sources, sourcesByClassName);
+            } else {
+                output.addAll(partition.output);
+            }
         }
+        return output;
+    }
+
+    private <S extends ClassSource> Collection<DestinationClassObject> compileSources(Collection<S> sources, Map<String, List<S>> sourcesByClassName) throws CompilationException {
+        JavaCompiler compiler = javaCompiler();
+        COMPILER_TASKS.incrementAndGet();
         DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
-        try (StandardJavaFileManager systemFm = compiler.getStandardFileManager(diagnostics, null, null)) {
+        StandardJavaFileManager systemFm = FILE_MANAGERS.poll();
+        if (systemFm == null) {
+            systemFm = compiler.getStandardFileManager(null, null, null);
+        } else {
+            POOLED_FILE_MANAGERS.decrementAndGet();
+        }
+        try {
 
             Collection<JavaSourceObject> parsedSources = sources.stream().map(JavaSourceObject::new).collect(Collectors.toList());
 
@@ -71,41 +245,7 @@ public class SourceCompiler implements JavaSourceCompiler {
                 ).call();
 
                 if (success) {
-                    Collection<String> binaryNames = new LinkedList<>();
-                    for (DestinationClassObject compiled : fm.getOutput()) {
-                        classLoader.saveClass(compiled);
-                        binaryNames.add(compiled.getBinaryName());
-                    }
-
-                    Collection<Class<?>> compiled = new ArrayList<>(binaryNames.size());
-                    for(String binaryName : binaryNames) {
-                        try {
-                            Class<?> cl = Class.forName(binaryName, false, classLoader);
-                            compiled.add(cl);
-                        } catch (ClassNotFoundException e) {
-                            throw new IllegalStateException("Class has been compiled, but can not be resolved", e);
-                        }
-                    }
-
-                    return compiled.stream().map(cl -> {
-                        String binaryName = cl.getName();
-                        final S source = sourcesByClassName.get(binaryName);
-                        if (source == null) {
-                            return null;
-                        } else {
-                            return new Result<S>() {
-                                @Override
-                                public S getSource() {
-                                    return source;
-                                }
-
-                                @Override
-                                public Class<?> getCompiledClass() {
-                                    return cl;
-                                }
-                            };
-                        }
-                    }).filter(Objects::nonNull).collect(Collectors.toList());
+                    return fm.getOutput();
                 } else {
                     List<String> otherErrors = new LinkedList<>();
                     Map<ClassSource, String> errorSources = new IdentityHashMap<>();
@@ -114,8 +254,10 @@ public class SourceCompiler implements JavaSourceCompiler {
                             JavaFileObject errorSource = diagnostic.getSource();
                             String err = diagnostic.toString();
                             if(errorSource instanceof JavaSourceObject) {
-                                JavaSourceObject javaSource = (JavaSourceObject) errorSource;
-                                errorSources.put(javaSource.getSource(), err);
+                                ClassSource javaSource = ((JavaSourceObject) errorSource).getSource();
+                                for (ClassSource s : sourcesByClassName.get(javaSource.binaryName())) {
+                                    errorSources.put(s, err);
+                                }
                             } else {
                                 otherErrors.add(err);
                             }
@@ -126,6 +268,42 @@ public class SourceCompiler implements JavaSourceCompiler {
             }
         } catch (IOException e) {
             throw new UncheckedIOException(e);
+        } finally {
+            release(systemFm);
+        }
+    }
+
+    private static void release(StandardJavaFileManager fileManager) {
+        if (POOLED_FILE_MANAGERS.incrementAndGet() <= MAX_POOLED_FILE_MANAGERS) {
+            FILE_MANAGERS.offer(fileManager);
+        } else {
+            POOLED_FILE_MANAGERS.decrementAndGet();
+            try {
+                fileManager.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private final class Partition<S extends ClassSource> implements Runnable {
+        private final List<S> sources;
+        private final Map<String, List<S>> sourcesByClassName;
+        private Collection<DestinationClassObject> output;
+
+        Partition(List<S> sources, Map<String, List<S>> sourcesByClassName) {
+            this.sources = sources;
+            this.sourcesByClassName = sourcesByClassName;
+        }
+
+        @Override
+        public void run() {
+            try {
+                output = compileSources(sources, sourcesByClassName);
+            } catch (CompilationException e) {
+                // Leaving the output empty
+                output = null;
+            }
         }
     }
 }
@@ -10,12 +10,13 @@ import java.util.function.Predicate;
 public class EvaluatorOfArray implements Evaluator {
     private final FieldReference[] descriptor;
     private final Predicate<Object[]> predicate;
-    private final Object[] sharedValues;
+    // Evaluators are shared by sessions and parallel tasks, each thread gets its own argument array
+    private final ThreadLocal<Object[]> arguments;
 
     public EvaluatorOfArray(Predicate<Object[]> predicate, FieldReference... descriptor) {
         this.descriptor = descriptor;
         this.predicate = predicate;
-        this.sharedValues = new Object[descriptor.length];
+        this.arguments = ThreadLocal.withInitial(() -> new Object[descriptor.length]);
     }
 
     @Override
@@ -25,12 +26,11 @@ public class EvaluatorOfArray implements Evaluator {
 
     @Override
     public boolean test(IntToValue values) {
-        synchronized (sharedValues) {
-            for (int i = 0; i < sharedValues.length; i++) {
-                sharedValues[i] = values.apply(i);
-            }
-            return predicate.test(sharedValues);
+        Object[] arr = arguments.get();
+        for (int i = 0; i < arr.length; i++) {
+            arr[i] = values.apply(i);
         }
+        return predicate.test(arr);
     }
 
 
@@ -20,18 +20,15 @@ public class EvaluatorWrapper implements Evaluator, Copyable<EvaluatorWrapper> {
     };
 
     private ValuesPredicate active;
-    private IntToValue stateValues;
 
     public EvaluatorWrapper(Evaluator delegate) {
         this.delegate = unwrap(delegate);
-        this.stateValues = null;
         updateActiveEvaluator();
     }
 
     private EvaluatorWrapper(EvaluatorWrapper other) {
         this.delegate = unwrap(other.delegate);
         this.listeners.addAll(other.listeners);
-        this.stateValues = null;
         updateActiveEvaluator();
     }
 
@@ -87,17 +84,31 @@ public class EvaluatorWrapper implements Evaluator, Copyable<EvaluatorWrapper> {
         return active.test(intToValue);
     }
 
-    public final void setStateValues(IntToValue stateValues) {
-        this.stateValues = stateValues;
+    @Override
+    public FieldReference[] descriptor() {
+        return delegate.descriptor();
     }
 
-    public final boolean test() {
-        return test(this.stateValues);
+    @Override
+    public boolean isEquality() {
+        return delegate.isEquality();
     }
 
     @Override
-    public FieldReference[] descriptor() {
-        return delegate.descriptor();
+    public ConstantComparison.Operator getComparisonOperator() {
+        return delegate.getComparisonOperator();
+    }
+
+    @Override
+    public ConstantComparison getConstantComparison() {
+        return delegate.getConstantComparison();
+    }
+
+    /**
+     * @return true if evaluation listeners are attached and every single evaluation must be reported
+     */
+    public final boolean hasListeners() {
+        return active == verbose;
     }
 
     @Override
@@ -10,6 +10,8 @@ import org.evrete.util.Constants;
 import java.util.Collection;
 import java.util.function.BiPredicate;
 import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 abstract class AbstractFactsMap<K extends MemoryKey> {
     private static final ReIterator<FactHandleVersioned> EMPTY = ReIterator.emptyIterator();
@@ -17,10 +19,12 @@ abstract class AbstractFactsMap<K extends MemoryKey> {
     private final BiPredicate<MapKey<K>, IntToValueHandle> search;
     private final BiPredicate<MapKey<K>, K> SEARCH_PREDICATE = (entry, memoryKey) -> entry.key.equals(memoryKey);
     private final Function<MapKey<K>, MemoryKey> ENTRY_MAPPER = entry -> entry.key;
+    private final Supplier<FactHandles> handlesSupplier;
 
-    AbstractFactsMap(int minCapacity) {
+    AbstractFactsMap(int minCapacity, Supplier<FactHandles> handlesSupplier) {
         this.search = this::sameData;
         this.data = new LinearHashSet<>(minCapacity);
+        this.handlesSupplier = handlesSupplier;
     }
 
     abstract boolean sameData(MapKey<K> mapEntry, IntToValueHandle key);
@@ -37,7 +41,7 @@ abstract class AbstractFactsMap<K extends MemoryKey> {
         MapKey<K> entry = data.get(pos);
         if (entry == null) {
             K k = newKeyInstance(key, keyHash);
-            entry = new MapKey<>(k);
+            entry = new MapKey<>(k, handlesSupplier.get());
             // TODO saveDirect is doing unnecessary job
             data.saveDirect(entry, pos);
         }
@@ -47,6 +51,26 @@ abstract class AbstractFactsMap<K extends MemoryKey> {
 
     }
 
+    final MemoryKey purge(IntToValueHandle key, int keyHash, Predicate<FactHandleVersioned> predicate) {
+        int pos = data.findBinIndex(key, keyHash, search);
+        MapKey<K> entry = data.get(pos);
+        if (entry == null) {
+            return null;
+        }
+        ReIterator<FactHandleVersioned> it = entry.facts.iterator();
+        while (it.hasNext()) {
+            if (predicate.test(it.next())) {
+                it.remove();
+            }
+        }
+        if (it.reset() == 0) {
+            data.deleteAt(pos);
+            return entry.key;
+        } else {
+            return null;
+        }
+    }
+
     final boolean hasKey(int hash, IntToValueHandle key) {
         int pos = data.findBinIndex(key, hash, search);
         return data.get(pos) != null;
@@ -95,11 +119,12 @@ abstract class AbstractFactsMap<K extends MemoryKey> {
     }
 
     static class MapKey<K extends MemoryKey> {
-        final LinkedFactHandles facts = new LinkedFactHandles();
+        final FactHandles facts;
         final K key;
 
-        MapKey(K key) {
+        MapKey(K key, FactHandles facts) {
             this.key = key;
+            this.facts = facts;
         }
 
         @Override
@@ -6,6 +6,7 @@ import org.evrete.util.CollectionUtils;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
 abstract class AbstractKeyedFactStorage<T extends AbstractFactsMap<?>> implements KeyedFactStorage {
     private final T[] maps;
@@ -55,6 +56,13 @@ abstract class AbstractKeyedFactStorage<T extends AbstractFactsMap<?>> implement
         this.currentRecord = null;
     }
 
+    @Override
+    public MemoryKey purge(Predicate<FactHandleVersioned> predicate) {
+        KeyState state = this.currentRecord;
+        this.currentRecord = null;
+        return get(KeyMode.OLD_OLD).purge(state.values, state.hash, predicate);
+    }
+
     public final ReIterator<MemoryKey> keys(KeyMode keyMode) {
         return get(keyMode).keys();
     }
@@ -12,14 +12,29 @@ class CompiledEvaluator implements LiteralEvaluator {
     private final String originalCondition;
     private final String javaClassSource;
     private final String comparableClassSource;
+    private final boolean equality;
+    private final ConstantComparison constantComparison;
+    private final ConstantComparison.Operator comparisonOperator;
 
     CompiledEvaluator(MethodHandle methodHandle, EvaluatorClassSource source) {
+        this(methodHandle, source, source.getSource());
+    }
+
+    /**
+     * @param methodHandle condition's method handle
+     * @param source       condition source
+     * @param javaSource   Java source of the class that contains the condition
+     */
+    CompiledEvaluator(MethodHandle methodHandle, EvaluatorClassSource source, String javaSource) {
         this.source = source.getExpression();
         this.descriptor = source.getDescriptor();
         this.originalCondition = source.getExpression().getSource();
-        this.javaClassSource = source.getSource();
+        this.javaClassSource = javaSource;
         this.comparableClassSource = source.getComparableClassSource();
         this.methodHandle = methodHandle;
+        this.equality = source.isEquality();
+        this.constantComparison = source.getConstantComparison();
+        this.comparisonOperator = source.getComparisonOperator();
     }
 
     @Override
@@ -43,6 +58,21 @@ class CompiledEvaluator implements LiteralEvaluator {
         return LiteralEvaluator.super.compare(other);
     }
 
+    @Override
+    public boolean isEquality() {
+        return equality;
+    }
+
+    @Override
+    public ConstantComparison.Operator getComparisonOperator() {
+        return comparisonOperator;
+    }
+
+    @Override
+    public ConstantComparison getConstantComparison() {
+        return constantComparison;
+    }
+
     @Override
     public FieldReference[] descriptor() {
         return descriptor;
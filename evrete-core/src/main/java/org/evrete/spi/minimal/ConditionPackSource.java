@@ -0,0 +1,66 @@
+package org.evrete.spi.minimal;
+
+import org.evrete.api.IntToValue;
+import org.evrete.api.JavaSourceCompiler;
+
+import java.util.List;
+
+/**
+ * <p>
+ * Java source of a class that holds several conditions as static methods. Method handles of all the conditions
+ * are resolved in the class's static initializer and are stored in the {@code HANDLES} array, in the order
+ * of the condition sources.
+ * </p>
+ */
+class ConditionPackSource implements JavaSourceCompiler.ClassSource {
+    private static final String CLASS_STUB = "CLASS_STUB";
+    private final List<EvaluatorClassSource> conditions;
+    private final String className;
+    private final String source;
+
+    ConditionPackSource(List<EvaluatorClassSource> conditions) {
+        EvaluatorClassSource first = conditions.get(0);
+        this.conditions = conditions;
+
+        StringBuilder sb = new StringBuilder(4096);
+        sb.append("package ").append(first.getPackage()).append(";\n");
+        sb.append(first.getImportStatements()).append("\n\n");
+        sb.append("public final class ").append(CLASS_STUB).append(" extends ").append(first.getBaseClassName()).append(" {\n");
+        sb.append("    public static final java.lang.invoke.MethodHandle[] HANDLES;\n\n");
+        sb.append("    static {\n");
+        sb.append("        try {\n");
+        sb.append("            java.lang.invoke.MethodHandles.Lookup lookup = java.lang.invoke.MethodHandles.lookup();\n");
+        sb.append("            java.lang.invoke.MethodType type = java.lang.invoke.MethodType.methodType(boolean.class, ").append(IntToValue.class.getName()).append(".class);\n");
+        sb.append("            HANDLES = new java.lang.invoke.MethodHandle[").append(conditions.size()).append("];\n");
+        for (int i = 0; i < conditions.size(); i++) {
+            sb.append("            HANDLES[").append(i).append("] = lookup.findStatic(").append(CLASS_STUB).append(".class, \"__$test").append(i).append("\", type);\n");
+        }
+        sb.append("        } catch (Exception e) {\n");
+        sb.append("            throw new IllegalStateException(e);\n");
+        sb.append("        }\n");
+        sb.append("    }\n\n");
+        for (int i = 0; i < conditions.size(); i++) {
+            conditions.get(i).appendMethods(sb, i);
+        }
+        sb.append("}\n");
+
+        String stubSource = sb.toString();
+        String simpleName = Const.className("ConditionPack", stubSource);
+        this.className = first.getPackage() + "." + simpleName;
+        this.source = stubSource.replace(CLASS_STUB, simpleName);
+    }
+
+    List<EvaluatorClassSource> getConditions() {
+        return conditions;
+    }
+
+    @Override
+    public String binaryName() {
+        return className;
+    }
+
+    @Override
+    public String getSource() {
+        return source;
+    }
+}
@@ -1,5 +1,7 @@
 package org.evrete.spi.minimal;
 
+import org.evrete.runtime.compiler.CompiledClassCache;
+
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
@@ -26,6 +28,18 @@ final class Const {
             )
     );
 
+    /**
+     * Builds a content-derived name of a generated class, so that identical sources share their class names
+     * across runs and compiled classes can be reused.
+     *
+     * @param prefix     class name prefix
+     * @param stubSource generated source with a placeholder in place of the class name
+     * @return class simple name
+     */
+    static String className(String prefix, String stubSource) {
+        return prefix + CompiledClassCache.digest(stubSource).substring(0, 32);
+    }
+
     static void assertName(String var) {
         if (LOCAL_RESERVED_WORDS.contains(var) || JAVA13_RESERVED_WORDS.contains(var)) {
             throw new IllegalArgumentException("Reserved word: '" + var + "'");
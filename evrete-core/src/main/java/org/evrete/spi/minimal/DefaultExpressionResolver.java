@@ -1,13 +1,12 @@
 package org.evrete.spi.minimal;
 
+import org.evrete.Configuration;
 import org.evrete.api.*;
 import org.evrete.api.annotations.NonNull;
 import org.evrete.runtime.compiler.CompilationException;
 
 import java.lang.invoke.MethodHandle;
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
+import java.util.*;
 import java.util.stream.Collectors;
 
 import static org.evrete.spi.minimal.ConditionStringTerm.resolveTerms;
@@ -65,6 +64,15 @@ class DefaultExpressionResolver implements ExpressionResolver {
                 })
                 .collect(Collectors.toList());
 
+        int conditionsPerClass = context.getConfiguration().getAsInteger(Configuration.CONDITIONS_PER_CLASS, 1);
+        if (conditionsPerClass > 1 && sources.size() > 1) {
+            try {
+                return buildConsolidated(sources, conditionsPerClass);
+            } catch (CompilationException e) {
+                // Falling back to one class per condition, so that errors refer to the actual conditions
+            }
+        }
+
         // Compile all sources
         Collection<JavaSourceCompiler.Result<EvaluatorClassSource>> compiled = context.getSourceCompiler()
                 .compile(sources);
@@ -86,6 +94,36 @@ class DefaultExpressionResolver implements ExpressionResolver {
         return result;
     }
 
+    /**
+     * Packs conditions into classes with many static methods each, which reduces the number of generated classes.
+     */
+    private Collection<LiteralEvaluator> buildConsolidated(Collection<EvaluatorClassSource> sources, int conditionsPerClass) throws CompilationException {
+        Map<String, List<EvaluatorClassSource>> byClassKey = new LinkedHashMap<>();
+        for (EvaluatorClassSource source : sources) {
+            byClassKey.computeIfAbsent(source.classKey(), k -> new ArrayList<>()).add(source);
+        }
+        List<ConditionPackSource> packs = new ArrayList<>();
+        for (List<EvaluatorClassSource> group : byClassKey.values()) {
+            for (int i = 0; i < group.size(); i += conditionsPerClass) {
+                packs.add(new ConditionPackSource(group.subList(i, Math.min(group.size(), i + conditionsPerClass))));
+            }
+        }
+
+        List<LiteralEvaluator> result = new ArrayList<>(sources.size());
+        for (JavaSourceCompiler.Result<ConditionPackSource> r : context.getSourceCompiler().compile(packs)) {
+            List<EvaluatorClassSource> conditions = r.getSource().getConditions();
+            try {
+                MethodHandle[] handles = (MethodHandle[]) r.getCompiledClass().getDeclaredField("HANDLES").get(null);
+                for (int i = 0; i < conditions.size(); i++) {
+                    result.add(new CompiledEvaluator(handles[i], conditions.get(i), r.getSource().getSource()));
+                }
+            } catch (NoSuchFieldException | IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return result;
+    }
+
     static MethodHandle getHandle(Class<?> compiledClass) throws NoSuchFieldException, IllegalAccessException {
         return (MethodHandle) compiledClass.getDeclaredField("HANDLE").get(null);
     }
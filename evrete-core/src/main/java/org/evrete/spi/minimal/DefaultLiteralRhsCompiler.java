@@ -1,26 +1,21 @@
 package org.evrete.spi.minimal;
 
-import org.evrete.api.Imports;
-import org.evrete.api.NamedType;
-import org.evrete.api.RhsContext;
-import org.evrete.api.RuntimeContext;
+import org.evrete.api.*;
 import org.evrete.api.spi.LiteralRhsCompiler;
 import org.evrete.runtime.compiler.CompilationException;
 
-import java.util.StringJoiner;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.*;
 import java.util.function.Consumer;
 
 public class DefaultLiteralRhsCompiler extends LeastImportantServiceProvider implements LiteralRhsCompiler {
-    private static final AtomicInteger classCounter = new AtomicInteger(0);
+    private static final String CLASS_STUB = "CLASS_STUB";
     private static final String classPackage = DefaultLiteralRhsCompiler.class.getPackage().getName() + ".rhs";
 
 
     @SuppressWarnings("unchecked")
     private static Class<? extends AbstractLiteralRhs> buildClass(RuntimeContext<?> context, NamedType[] types, String literalRhs, Imports imports) throws CompilationException {
-        String simpleName = "Rhs" + classCounter.getAndIncrement();
-        String source = buildSource(simpleName, types, literalRhs, imports);
-        return (Class<? extends AbstractLiteralRhs>) context.getSourceCompiler().compile(source);
+        RhsClassSource source = new RhsClassSource(types, literalRhs, imports);
+        return (Class<? extends AbstractLiteralRhs>) context.getSourceCompiler().compile(source.getSource());
     }
 
     private static String buildSource(String className, NamedType[] types, String literalRhs, Imports imports) {
@@ -74,4 +69,52 @@ public class DefaultLiteralRhsCompiler extends LeastImportantServiceProvider imp
             throw new RuntimeException("Failed to compile RHS:\n" + literalRhs);
         }
     }
+
+    @Override
+    public List<Consumer<RhsContext>> compileRhs(RuntimeContext<?> context, List<? extends LiteralRhs> sources) throws CompilationException {
+        Imports imports = context.getImports();
+        List<RhsClassSource> classSources = new ArrayList<>(sources.size());
+        for (LiteralRhs rhs : sources) {
+            classSources.add(new RhsClassSource(rhs.getTypes(), rhs.getSource(), imports));
+        }
+
+        Map<RhsClassSource, Class<?>> compiled = new IdentityHashMap<>(sources.size());
+        for (JavaSourceCompiler.Result<RhsClassSource> r : context.getSourceCompiler().compile(classSources)) {
+            compiled.put(r.getSource(), r.getCompiledClass());
+        }
+
+        List<Consumer<RhsContext>> result = new ArrayList<>(sources.size());
+        for (RhsClassSource source : classSources) {
+            try {
+                result.add((AbstractLiteralRhs) compiled.get(source).getDeclaredConstructor().newInstance());
+            } catch (ReflectiveOperationException e) {
+                throw new RuntimeException("Failed to compile RHS:\n" + source.literalRhs, e);
+            }
+        }
+        return result;
+    }
+
+    private static class RhsClassSource implements JavaSourceCompiler.ClassSource {
+        private final String literalRhs;
+        private final String className;
+        private final String source;
+
+        RhsClassSource(NamedType[] types, String literalRhs, Imports imports) {
+            String stubSource = buildSource(CLASS_STUB, types, literalRhs, imports);
+            String simpleName = Const.className("Rhs", stubSource);
+            this.literalRhs = literalRhs;
+            this.className = classPackage + "." + simpleName;
+            this.source = stubSource.replace(CLASS_STUB, simpleName);
+        }
+
+        @Override
+        public String binaryName() {
+            return className;
+        }
+
+        @Override
+        public String getSource() {
+            return source;
+        }
+    }
 }
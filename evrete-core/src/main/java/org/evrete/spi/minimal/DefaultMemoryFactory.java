@@ -5,17 +5,31 @@ import org.evrete.api.*;
 import org.evrete.runtime.FactType;
 
 import java.util.function.BiPredicate;
+import java.util.function.Supplier;
 
 class DefaultMemoryFactory implements MemoryFactory {
     private static final String CONFIG_BETA_INITIAL_SIZE = "evrete.impl.beta-memory-initial-size";
     private static final String CONFIG_FACT_STORAGE_CAPACITY = "evrete.impl.fact-storage-initial-size";
+    static final String CONFIG_VALUE_INTERNING = "evrete.impl.value-interning";
+    static final String CONFIG_SLAB_FACT_STORAGE = "evrete.impl.slab-fact-storage";
+    // Packed handles are re-created from ids, which requires the slab fact storage
+    static final String CONFIG_PACKED_FACT_HANDLES = "evrete.impl.packed-fact-handles";
     private static final int FACT_STORAGE_CAPACITY_DEFAULT = 8192;
     private static final int BETA_INITIAL_SIZE_DEFAULT = 4096;
-    private final DefaultValueResolver valueResolver = new DefaultValueResolver();
+    private final ValueResolver valueResolver;
     private final Configuration configuration;
+    private final boolean slabFactStorage;
+    private final Supplier<FactHandles> handlesSupplier;
 
     DefaultMemoryFactory(RuntimeContext<?> context) {
         this.configuration = context.getConfiguration();
+        boolean packedHandles = configuration.getAsBoolean(CONFIG_PACKED_FACT_HANDLES, false);
+        this.slabFactStorage = packedHandles || configuration.getAsBoolean(CONFIG_SLAB_FACT_STORAGE, false);
+        this.handlesSupplier = packedHandles ? PackedFactHandles::new : LinkedFactHandles::new;
+        this.valueResolver = configuration.getAsBoolean(CONFIG_VALUE_INTERNING, false) ?
+                new InterningValueResolver()
+                :
+                new DefaultValueResolver();
     }
 
     @Override
@@ -31,19 +45,23 @@ class DefaultMemoryFactory implements MemoryFactory {
     @Override
     public <Z> FactStorage<Z> newFactStorage(Type<?> type, Class<Z> storageClass, BiPredicate<Z, Z> identityFunction) {
         int minCapacity = configuration.getAsInteger(CONFIG_FACT_STORAGE_CAPACITY, FACT_STORAGE_CAPACITY_DEFAULT);
-        return new DefaultFactStorage<>(type, identityFunction, minCapacity);
+        if (slabFactStorage) {
+            return new SlabFactStorage<>(type, identityFunction, minCapacity);
+        } else {
+            return new DefaultFactStorage<>(type, identityFunction, minCapacity);
+        }
     }
 
     @Override
     public KeyedFactStorage newBetaStorage(int fieldCount) {
         int initialSize = configuration.getAsInteger(CONFIG_BETA_INITIAL_SIZE, BETA_INITIAL_SIZE_DEFAULT);
         if (fieldCount == 0) {
-            return new SharedAlphaData();
+            return new SharedAlphaData(handlesSupplier);
         } else {
             return fieldCount == 1 ?
-                    new KeyedFactStorageSingle(initialSize)
+                    new KeyedFactStorageSingle(initialSize, handlesSupplier)
                     :
-                    new KeyedFactStorageMulti(initialSize, fieldCount)
+                    new KeyedFactStorageMulti(initialSize, fieldCount, handlesSupplier)
                     ;
         }
     }
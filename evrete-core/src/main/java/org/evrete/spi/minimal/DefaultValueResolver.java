@@ -8,14 +8,45 @@ class DefaultValueResolver implements ValueResolver {
     DefaultValueResolver() {
     }
 
+    /**
+     * Boxed numbers get the same handles as primitive field values, so that handle equality
+     * depends only on values and not on the way the values have been read
+     * (primitive readers, custom or nested fields).
+     */
     @Override
-    public ValueHandleImpl getValueHandle(Class<?> valueType, Object value) {
-        return new ValueHandleImpl(value);
+    public ValueHandle getValueHandle(Class<?> valueType, Object value) {
+        if (value instanceof Integer) {
+            return new PrimitiveValueHandle.OfInt((Integer) value);
+        } else if (value instanceof Long) {
+            return new PrimitiveValueHandle.OfLong((Long) value);
+        } else if (value instanceof Double) {
+            return new PrimitiveValueHandle.OfDouble((Double) value);
+        } else {
+            return new ValueHandleImpl(value);
+        }
+    }
+
+    @Override
+    public ValueHandle getValueHandle(int value) {
+        return new PrimitiveValueHandle.OfInt(value);
+    }
+
+    @Override
+    public ValueHandle getValueHandle(long value) {
+        return new PrimitiveValueHandle.OfLong(value);
+    }
+
+    @Override
+    public ValueHandle getValueHandle(double value) {
+        return new PrimitiveValueHandle.OfDouble(value);
     }
 
     @Override
     public Object getValue(ValueHandle handle) {
-        ValueHandleImpl impl = (ValueHandleImpl) handle;
-        return impl.value;
+        if (handle instanceof ValueHandleImpl) {
+            return ((ValueHandleImpl) handle).value;
+        } else {
+            return ((PrimitiveValueHandle) handle).boxed();
+        }
     }
 }
@@ -5,12 +5,21 @@ import org.evrete.api.*;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.StringJoiner;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import static org.evrete.Configuration.CONDITION_BASE_CLASS;
 
 class EvaluatorClassSource implements JavaSourceCompiler.ClassSource {
-    private final static AtomicLong JAVA_CLASS_COUNTER = new AtomicLong();
+    private static final String CLASS_STUB = "CLASS_STUB";
+    private static final Pattern EQUALITY_PATTERN = Pattern.compile("^\\s*(\\w+)\\s*==\\s*(\\w+)\\s*$");
+    private static final String OPERATOR = "(==|!=|<=|>=|<|>)";
+    private static final Pattern COMPARISON_PATTERN = Pattern.compile("^\\s*(\\w+)\\s*(<=|>=|<|>)\\s*(\\w+)\\s*$");
+    private static final String NUMBER = "(-?\\d+(?:\\.\\d+)?[lLdD]?)";
+    private static final Pattern FIELD_CONSTANT_PATTERN = Pattern.compile("^\\s*(\\w+)\\s*" + OPERATOR + "\\s*" + NUMBER + "\\s*$");
+    private static final Pattern CONSTANT_FIELD_PATTERN = Pattern.compile("^\\s*" + NUMBER + "\\s*" + OPERATOR + "\\s*(\\w+)\\s*$");
+    private static final Pattern FIELD_EQUALS_STRING_PATTERN = Pattern.compile("^\\s*(\\w+)\\s*\\.\\s*equals\\s*\\(\\s*\"([^\"\\\\]*)\"\\s*\\)\\s*$");
+    private static final Pattern STRING_EQUALS_FIELD_PATTERN = Pattern.compile("^\\s*\"([^\"\\\\]*)\"\\s*\\.\\s*equals\\s*\\(\\s*(\\w+)\\s*\\)\\s*$");
 
     private static final String JAVA_EVALUATOR_TEMPLATE = "package %s;\n" +
             "%s\n" +
@@ -42,6 +51,17 @@ class EvaluatorClassSource implements JavaSourceCompiler.ClassSource {
     private final FieldReference[] descriptor;
     private final LiteralExpression expression;
     private final String className;
+    private final boolean equality;
+    private final ConstantComparison constantComparison;
+    private final ConstantComparison.Operator comparisonOperator;
+    // Parts of the source that are shared with consolidated condition classes
+    private final String pkg;
+    private final String importStatements;
+    private final String baseClassName;
+    private final String methodArgs;
+    private final String methodBody;
+    private final String argCasts;
+    private final String argTypes;
 
     public EvaluatorClassSource(RuntimeContext<?> context, LiteralExpression expression, final StringLiteralEncoder encoder, List<ConditionStringTerm> terms) throws IllegalArgumentException {
         this.expression = expression;
@@ -92,15 +112,20 @@ class EvaluatorClassSource implements JavaSourceCompiler.ClassSource {
         String replaced = encoder.unwrapLiterals(encodedExpression);
 
         String pkg = this.getClass().getPackage().getName() + ".compiled";
-        String classSimpleName = "Condition" + JAVA_CLASS_COUNTER.incrementAndGet();
-        this.className = pkg + "." + classSimpleName;
-        this.fullJavaSource = String.format(
+        this.pkg = pkg;
+        this.importStatements = importsBuilder.toString();
+        this.baseClassName = baseClassName;
+        this.methodArgs = methodArgs.toString();
+        this.methodBody = replaced;
+        this.argCasts = argCasts.toString();
+        this.argTypes = argTypes.toString();
+        String stubSource = String.format(
                 JAVA_EVALUATOR_TEMPLATE,
                 pkg,
                 importsBuilder,
-                classSimpleName,
+                CLASS_STUB,
                 baseClassName,
-                classSimpleName,
+                CLASS_STUB,
                 IntToValue.class.getName() + ".class",
                 methodArgs,
                 replaced,
@@ -108,13 +133,178 @@ class EvaluatorClassSource implements JavaSourceCompiler.ClassSource {
                 "__$testInner(" + argCasts + ");",
                 "fields in use: " + argTypes
         );
+        String classSimpleName = Const.className("Condition", stubSource);
+        this.className = pkg + "." + classSimpleName;
+        this.fullJavaSource = stubSource.replace(CLASS_STUB, classSimpleName);
 
         if(descriptorBuilder.isEmpty()) {
             throw new IllegalArgumentException("No field references were resolved in the '" + expression.getSource() + "'");
         } else {
-            this.comparableClassSource = fullJavaSource.replaceAll(classSimpleName, "CLASS_STUB");
+            this.comparableClassSource = stubSource;
             this.descriptor = descriptorBuilder.toArray(FieldReference.ZERO_ARRAY);
         }
+        this.equality = isEquality(replaced, uniqueReferences);
+        this.constantComparison = constantComparison(replaced, uniqueReferences);
+        this.comparisonOperator = comparisonOperator(replaced, uniqueReferences);
+    }
+
+    /**
+     * Tests if the expression is a plain equality of two field references like <code>$a.id == $b.id</code>
+     * with identical value types. Floating point types are excluded because their primitive
+     * comparison differs from {@link Object#equals(Object)}.
+     */
+    private static boolean isEquality(String expression, List<ConditionStringTerm> references) {
+        if (references.size() != 2) return false;
+        Matcher m = EQUALITY_PATTERN.matcher(expression);
+        if (!m.matches()) return false;
+        ConditionStringTerm t1 = references.get(0);
+        ConditionStringTerm t2 = references.get(1);
+        String left = m.group(1);
+        String right = m.group(2);
+        boolean sameVars = (left.equals(t1.varName) && right.equals(t2.varName)) || (left.equals(t2.varName) && right.equals(t1.varName));
+        if (!sameVars) return false;
+        Class<?> valueType = t1.field().getValueType();
+        return valueType.equals(t2.field().getValueType())
+                && valueType != double.class && valueType != Double.class
+                && valueType != float.class && valueType != Float.class;
+    }
+
+    /**
+     * Tests if the expression is a plain comparison of two field references like <code>$a.price &gt; $b.limit</code>.
+     * Only primitive numeric fields of the same type are accepted, so that arguments are never null.
+     */
+    private static ConstantComparison.Operator comparisonOperator(String expression, List<ConditionStringTerm> references) {
+        if (references.size() != 2) return null;
+        Matcher m = COMPARISON_PATTERN.matcher(expression);
+        if (!m.matches()) return null;
+        ConditionStringTerm t1 = references.get(0);
+        ConditionStringTerm t2 = references.get(1);
+        Class<?> valueType = t1.field().getValueType();
+        if (!valueType.equals(t2.field().getValueType()) || (valueType != int.class && valueType != long.class && valueType != double.class)) {
+            return null;
+        }
+        String left = m.group(1);
+        String right = m.group(3);
+        if (left.equals(t1.varName) && right.equals(t2.varName)) {
+            return operator(m.group(2));
+        } else if (left.equals(t2.varName) && right.equals(t1.varName)) {
+            return operator(m.group(2)).swapped();
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Tests if the expression compares a single field reference with a numeric or string literal,
+     * like <code>$a.price &gt; 100</code> or <code>"XYZ".equals($a.symbol)</code>. Equality of floating
+     * point values is excluded for the same reason as in {@link #isEquality(String, List)}.
+     */
+    private static ConstantComparison constantComparison(String expression, List<ConditionStringTerm> references) {
+        if (references.size() != 1) return null;
+        ConditionStringTerm term = references.get(0);
+        Class<?> valueType = term.field().getValueType();
+        Matcher m;
+        if (valueType.equals(String.class)) {
+            if ((m = FIELD_EQUALS_STRING_PATTERN.matcher(expression)).matches() && m.group(1).equals(term.varName)) {
+                return new ConstantComparison(ConstantComparison.Operator.EQUALS, m.group(2));
+            } else if ((m = STRING_EQUALS_FIELD_PATTERN.matcher(expression)).matches() && m.group(2).equals(term.varName)) {
+                return new ConstantComparison(ConstantComparison.Operator.EQUALS, m.group(1));
+            } else {
+                return null;
+            }
+        }
+
+        ConstantComparison.Operator operator;
+        String literal;
+        if ((m = FIELD_CONSTANT_PATTERN.matcher(expression)).matches() && m.group(1).equals(term.varName)) {
+            operator = operator(m.group(2));
+            literal = m.group(3);
+        } else if ((m = CONSTANT_FIELD_PATTERN.matcher(expression)).matches() && m.group(3).equals(term.varName)) {
+            operator = operator(m.group(2)).swapped();
+            literal = m.group(1);
+        } else {
+            return null;
+        }
+
+        Comparable<?> value = numericConstant(literal, valueType);
+        if (value == null) return null;
+        if (value instanceof Double && (operator == ConstantComparison.Operator.EQUALS || operator == ConstantComparison.Operator.NOT_EQUALS)) {
+            return null;
+        }
+        return new ConstantComparison(operator, value);
+    }
+
+    private static ConstantComparison.Operator operator(String s) {
+        switch (s) {
+            case "==":
+                return ConstantComparison.Operator.EQUALS;
+            case "!=":
+                return ConstantComparison.Operator.NOT_EQUALS;
+            case "<":
+                return ConstantComparison.Operator.LESS;
+            case "<=":
+                return ConstantComparison.Operator.LESS_OR_EQUAL;
+            case ">":
+                return ConstantComparison.Operator.GREATER;
+            case ">=":
+                return ConstantComparison.Operator.GREATER_OR_EQUAL;
+            default:
+                throw new IllegalStateException("Unknown operator " + s);
+        }
+    }
+
+    private static Comparable<?> numericConstant(String literal, Class<?> valueType) {
+        try {
+            if (valueType == int.class || valueType == Integer.class) {
+                return literal.matches("-?(0|[1-9]\\d*)") ? Integer.valueOf(literal) : null;
+            } else if (valueType == long.class || valueType == Long.class) {
+                return literal.matches("-?(0|[1-9]\\d*)[lL]?") ? Long.valueOf(literal.replaceAll("[lL]$", "")) : null;
+            } else if (valueType == double.class || valueType == Double.class) {
+                // Integer literals with leading zeros are octal, unless they have a fraction or a double suffix
+                if (!literal.matches("-?\\d+(\\.\\d+)?[dD]?") || literal.matches("-?0\\d+")) return null;
+                // Adding zero turns negative zero into positive, just like primitive comparisons see it
+                return Double.parseDouble(literal) + 0.0;
+            } else {
+                return null;
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return key of the sources that can be consolidated into a single class
+     */
+    String classKey() {
+        return pkg + "\n" + baseClassName + "\n" + importStatements;
+    }
+
+    String getPackage() {
+        return pkg;
+    }
+
+    String getImportStatements() {
+        return importStatements;
+    }
+
+    String getBaseClassName() {
+        return baseClassName;
+    }
+
+    /**
+     * Appends the condition's methods to a consolidated class source
+     *
+     * @param sb    class source
+     * @param index method name suffix
+     */
+    void appendMethods(StringBuilder sb, int index) {
+        sb.append("    private static boolean __$testInner").append(index).append("(").append(methodArgs).append(") {\n");
+        sb.append("        return ").append(methodBody).append(";\n");
+        sb.append("    }\n\n");
+        sb.append("    // fields in use: ").append(argTypes).append("\n");
+        sb.append("    public static boolean __$test").append(index).append("(").append(IntToValue.class.getName()).append(" values) {\n");
+        sb.append("        return __$testInner").append(index).append("(").append(argCasts).append(");\n");
+        sb.append("    }\n\n");
     }
 
     @Override
@@ -138,4 +328,16 @@ class EvaluatorClassSource implements JavaSourceCompiler.ClassSource {
     public FieldReference[] getDescriptor() {
         return descriptor;
     }
+
+    boolean isEquality() {
+        return equality;
+    }
+
+    ConstantComparison getConstantComparison() {
+        return constantComparison;
+    }
+
+    ConstantComparison.Operator getComparisonOperator() {
+        return comparisonOperator;
+    }
 }
@@ -0,0 +1,25 @@
+package org.evrete.spi.minimal;
+
+import org.evrete.api.FactHandleVersioned;
+import org.evrete.api.ReIterable;
+
+/**
+ * Fact handles stored under a memory key.
+ */
+interface FactHandles extends ReIterable<FactHandleVersioned> {
+
+    void add(FactHandleVersioned handle);
+
+    /**
+     * <p>
+     * Moves other collection's data to the end of this collection. The argument gets emptied upon completion.
+     * </p>
+     *
+     * @param other collection of the same implementation
+     */
+    void consume(FactHandles other);
+
+    long size();
+
+    void clear();
+}
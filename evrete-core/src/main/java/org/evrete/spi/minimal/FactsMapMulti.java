@@ -3,12 +3,13 @@ package org.evrete.spi.minimal;
 import org.evrete.api.IntToValueHandle;
 
 import java.util.Objects;
+import java.util.function.Supplier;
 
 class FactsMapMulti extends AbstractFactsMap<MemoryKeyMulti> {
     private final int fieldCount;
 
-    FactsMapMulti(int fieldCount, int minCapacity) {
-        super(minCapacity);
+    FactsMapMulti(int fieldCount, int minCapacity, Supplier<FactHandles> handlesSupplier) {
+        super(minCapacity, handlesSupplier);
         this.fieldCount = fieldCount;
     }
 
@@ -4,11 +4,12 @@ import org.evrete.api.IntToValueHandle;
 import org.evrete.api.ValueHandle;
 
 import java.util.Objects;
+import java.util.function.Supplier;
 
 class FactsMapSingle extends AbstractFactsMap<MemoryKeySingle> {
 
-    FactsMapSingle(int minCapacity) {
-        super(minCapacity);
+    FactsMapSingle(int minCapacity, Supplier<FactHandles> handlesSupplier) {
+        super(minCapacity, handlesSupplier);
     }
 
     @Override
@@ -0,0 +1,153 @@
+package org.evrete.spi.minimal;
+
+import org.evrete.api.*;
+
+import java.lang.reflect.Modifier;
+
+/**
+ * <p>
+ * Java source of a {@link FieldValuesReader} that reads a fixed set of fields via plain
+ * getter calls and field accesses. Fields that can not be accessed from a generated source
+ * are read via their {@link TypeField} functions.
+ * </p>
+ */
+class FieldValuesReaderSource implements JavaSourceCompiler.ClassSource {
+    private static final String CLASS_STUB = "CLASS_STUB";
+    private static final String FACT_VAR = "fact";
+
+    private final String className;
+    private final String source;
+
+    FieldValuesReaderSource(Class<?> factClass, TypeField[] fields) {
+        String pkg = this.getClass().getPackage().getName() + ".compiled";
+        String factType = factClass.getCanonicalName();
+
+        StringBuilder body = new StringBuilder(1024);
+        StringBuilder methods = new StringBuilder(1024);
+        body.append("        ").append(factType).append(" ").append(FACT_VAR).append(" = (").append(factType).append(") o;\n");
+
+        for (int i = 0; i < fields.length; i++) {
+            TypeField field = fields[i];
+            TypeImpl.JavaAccessor accessor = accessor(field);
+            String readerVar = "fields[" + i + "]";
+            String primitive = primitiveName(field);
+
+            body.append("        values[").append(i).append("] = resolver.getValueHandle(");
+            if (primitive != null) {
+                // Atomic primitive fields have no nulls and are read without boxing
+                if (accessor == null) {
+                    body.append(readerVar).append(".read").append(capitalize(primitive)).append("(o)");
+                } else {
+                    body.append(FACT_VAR).append('.').append(accessor.members[0]);
+                }
+            } else {
+                body.append("types[").append(i).append("], ");
+                if (accessor == null) {
+                    body.append("(Object) ").append(readerVar).append(".readValue(o)");
+                } else if (accessor.members.length == 0) {
+                    body.append("o");
+                } else if (accessor.members.length == 1) {
+                    body.append("(Object) ").append(FACT_VAR).append('.').append(accessor.members[0]);
+                } else {
+                    String methodName = "read" + i;
+                    body.append(methodName).append("(").append(FACT_VAR).append(")");
+                    appendNestedReader(methods, methodName, factType, accessor);
+                }
+            }
+            body.append(");\n");
+        }
+
+        String stubSource = "package " + pkg + ";\n" +
+                "\n" +
+                "public final class " + CLASS_STUB + " implements " + FieldValuesReader.class.getName() + " {\n" +
+                "    private final " + TypeField.class.getName() + "[] fields;\n" +
+                "    private final Class<?>[] types;\n" +
+                "\n" +
+                "    public " + CLASS_STUB + "(" + TypeField.class.getName() + "[] fields) {\n" +
+                "        this.fields = fields;\n" +
+                "        this.types = new Class<?>[fields.length];\n" +
+                "        for (int i = 0; i < fields.length; i++) {\n" +
+                "            this.types[i] = fields[i].getValueType();\n" +
+                "        }\n" +
+                "    }\n" +
+                "\n" +
+                "    @Override\n" +
+                "    public void read(Object o, " + ValueResolver.class.getName() + " resolver, " + ValueHandle.class.getName() + "[] values) {\n" +
+                body +
+                "    }\n" +
+                methods +
+                "}\n";
+        String classSimpleName = Const.className("FieldValuesReader", stubSource);
+        this.className = pkg + "." + classSimpleName;
+        this.source = stubSource.replace(CLASS_STUB, classSimpleName);
+    }
+
+    /**
+     * @return a string that uniquely identifies the generated code regardless of the class name
+     */
+    static String signature(Class<?> factClass, TypeField[] fields) {
+        StringBuilder signature = new StringBuilder(factClass.getCanonicalName());
+        for (TypeField field : fields) {
+            signature.append('|').append(field.getName()).append('/').append(accessor(field) != null).append('/').append(primitiveName(field));
+        }
+        return signature.toString();
+    }
+
+    static boolean isAccessible(Class<?> cl) {
+        if (cl.isPrimitive()) return true;
+        if (cl.isArray()) return isAccessible(cl.getComponentType());
+        if (cl.getCanonicalName() == null) return false;
+        Class<?> current = cl;
+        while (current != null) {
+            if (!Modifier.isPublic(current.getModifiers())) return false;
+            current = current.getEnclosingClass();
+        }
+        return true;
+    }
+
+    private static void appendNestedReader(StringBuilder methods, String methodName, String factType, TypeImpl.JavaAccessor accessor) {
+        methods.append("\n    private static Object ").append(methodName).append("(").append(factType).append(" v0) {\n");
+        int last = accessor.members.length - 1;
+        for (int j = 0; j < last; j++) {
+            String type = accessor.memberTypes[j].getCanonicalName();
+            methods.append("        ").append(type).append(" v").append(j + 1).append(" = v").append(j).append('.').append(accessor.members[j]).append(";\n");
+            methods.append("        if (v").append(j + 1).append(" == null) return null;\n");
+        }
+        methods.append("        return v").append(last).append('.').append(accessor.members[last]).append(";\n");
+        methods.append("    }\n");
+    }
+
+    private static TypeImpl.JavaAccessor accessor(TypeField field) {
+        if (!(field instanceof TypeFieldImpl)) return null;
+        TypeImpl.JavaAccessor accessor = ((TypeFieldImpl) field).getJavaAccessor();
+        if (accessor == null) return null;
+        for (Class<?> type : accessor.memberTypes) {
+            if (!isAccessible(type)) return null;
+        }
+        return accessor;
+    }
+
+    private static String primitiveName(TypeField field) {
+        if (field.hasPrimitiveReader()) {
+            Class<?> valueType = field.getValueType();
+            if (valueType == int.class || valueType == long.class || valueType == double.class) {
+                return valueType.getName();
+            }
+        }
+        return null;
+    }
+
+    private static String capitalize(String s) {
+        return Character.toUpperCase(s.charAt(0)) + s.substring(1);
+    }
+
+    @Override
+    public String binaryName() {
+        return className;
+    }
+
+    @Override
+    public String getSource() {
+        return source;
+    }
+}
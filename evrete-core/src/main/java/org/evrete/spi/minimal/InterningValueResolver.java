@@ -0,0 +1,100 @@
+package org.evrete.spi.minimal;
+
+import org.evrete.api.ValueHandle;
+import org.evrete.api.ValueResolver;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>
+ * A value resolver that maintains a canonical table of value handles, so that equal
+ * field values share the same {@link ValueHandle} instance and handle equality becomes
+ * a reference comparison. Handles are weakly referenced by the table and are evicted
+ * once no fact or memory key refers to them anymore.
+ * </p>
+ */
+class InterningValueResolver implements ValueResolver {
+    private static final CanonicalHandle NULL_HANDLE = new CanonicalHandle(null);
+    private final ConcurrentHashMap<Object, HandleReference> table = new ConcurrentHashMap<>();
+    private final ReferenceQueue<CanonicalHandle> evicted = new ReferenceQueue<>();
+
+    InterningValueResolver() {
+    }
+
+    @Override
+    public ValueHandleImpl getValueHandle(Class<?> valueType, Object value) {
+        if (value == null) {
+            return NULL_HANDLE;
+        }
+        expungeEvicted();
+        while (true) {
+            HandleReference ref = table.get(value);
+            CanonicalHandle handle;
+            if (ref != null && (handle = ref.get()) != null) {
+                return handle;
+            }
+
+            CanonicalHandle newHandle = new CanonicalHandle(value);
+            HandleReference newRef = new HandleReference(newHandle, evicted);
+            if (ref == null) {
+                if (table.putIfAbsent(value, newRef) == null) {
+                    return newHandle;
+                }
+            } else if (table.replace(value, ref, newRef)) {
+                return newHandle;
+            }
+            // Another thread has won the race, repeating the lookup
+        }
+    }
+
+    @Override
+    public Object getValue(ValueHandle handle) {
+        ValueHandleImpl impl = (ValueHandleImpl) handle;
+        return impl.value;
+    }
+
+    int size() {
+        expungeEvicted();
+        return table.size();
+    }
+
+    private void expungeEvicted() {
+        Reference<? extends CanonicalHandle> ref;
+        while ((ref = evicted.poll()) != null) {
+            HandleReference r = (HandleReference) ref;
+            table.remove(r.key, r);
+        }
+    }
+
+    private static final class HandleReference extends WeakReference<CanonicalHandle> {
+        private final Object key;
+
+        HandleReference(CanonicalHandle referent, ReferenceQueue<CanonicalHandle> q) {
+            super(referent, q);
+            this.key = referent.value;
+        }
+    }
+
+    private static final class CanonicalHandle extends ValueHandleImpl {
+        private final int hash;
+
+        CanonicalHandle(Object value) {
+            super(value);
+            this.hash = value == null ? 0 : value.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            // Canonical handles are unique per value
+            return this == o;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -3,11 +3,13 @@ package org.evrete.spi.minimal;
 import org.evrete.api.KeyMode;
 import org.evrete.api.ValueHandle;
 
+import java.util.function.Supplier;
+
 class KeyedFactStorageMulti extends AbstractKeyedFactStorage<FactsMapMulti> {
     private final MultiState multiState;
 
-    KeyedFactStorageMulti(int initialSize, int fieldCount) {
-        super(FactsMapMulti.class, mode -> new FactsMapMulti(fieldCount, initialSize));
+    KeyedFactStorageMulti(int initialSize, int fieldCount, Supplier<FactHandles> handlesSupplier) {
+        super(FactsMapMulti.class, mode -> new FactsMapMulti(fieldCount, initialSize, handlesSupplier));
         this.multiState = new MultiState(fieldCount);
     }
 
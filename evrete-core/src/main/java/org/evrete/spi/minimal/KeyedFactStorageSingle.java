@@ -3,12 +3,14 @@ package org.evrete.spi.minimal;
 import org.evrete.api.KeyMode;
 import org.evrete.api.ValueHandle;
 
+import java.util.function.Supplier;
+
 class KeyedFactStorageSingle extends AbstractKeyedFactStorage<FactsMapSingle> {
 
     private final SingleState state = new SingleState();
 
-    KeyedFactStorageSingle(int initialSize) {
-        super(FactsMapSingle.class, mode -> new FactsMapSingle(initialSize));
+    KeyedFactStorageSingle(int initialSize, Supplier<FactHandles> handlesSupplier) {
+        super(FactsMapSingle.class, mode -> new FactsMapSingle(initialSize, handlesSupplier));
     }
 
     @Override
@@ -1,8 +1,39 @@
 package org.evrete.spi.minimal;
 
 import org.evrete.api.FactHandleVersioned;
+import org.evrete.api.ReIterator;
 import org.evrete.collections.LinkedDataRWD;
 
-class LinkedFactHandles extends LinkedDataRWD<FactHandleVersioned> {
+class LinkedFactHandles implements FactHandles {
+    private final LinkedDataRWD<FactHandleVersioned> data = new LinkedDataRWD<>();
 
+    @Override
+    public void add(FactHandleVersioned handle) {
+        data.add(handle);
+    }
+
+    @Override
+    public void consume(FactHandles other) {
+        data.consume(((LinkedFactHandles) other).data);
+    }
+
+    @Override
+    public long size() {
+        return data.size();
+    }
+
+    @Override
+    public void clear() {
+        data.clear();
+    }
+
+    @Override
+    public ReIterator<FactHandleVersioned> iterator() {
+        return data.iterator();
+    }
+
+    @Override
+    public String toString() {
+        return data.toString();
+    }
 }
@@ -0,0 +1,198 @@
+package org.evrete.spi.minimal;
+
+import org.evrete.api.FactHandleVersioned;
+import org.evrete.api.ReIterator;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.StringJoiner;
+
+/**
+ * <p>
+ * Fact handles stored as primitive handle ids and versions in chunked arrays, with no per-fact
+ * objects. Handle objects are re-created on iteration, which requires handle hashes to be derived
+ * from handle ids, see {@link SlabFactStorage#handleHash(long)}.
+ * </p>
+ * <p>
+ * Removed entries are marked and skipped by iterators, they are compacted on subsequent
+ * writes, so that removals are safe during (nested) iterations.
+ * </p>
+ */
+class PackedFactHandles implements FactHandles {
+    private static final int CHUNK_SHIFT = 12;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int INITIAL_SIZE = 4;
+    private static final long REMOVED = -1L;
+    private static final long[][] EMPTY_IDS = new long[0][];
+    private static final int[][] EMPTY_VERSIONS = new int[0][];
+    private long[][] ids = EMPTY_IDS;
+    private int[][] versions = EMPTY_VERSIONS;
+    private int length;
+    private int removed;
+    private int typeId;
+
+    @Override
+    public void add(FactHandleVersioned handle) {
+        FactHandleImpl impl = (FactHandleImpl) handle.getHandle();
+        this.typeId = impl.getTypeId();
+        if (removed > 0 && removed >= length >> 1) {
+            compact();
+        }
+        append(impl.id, handle.getVersion());
+    }
+
+    private void append(long id, int version) {
+        int chunk = length >>> CHUNK_SHIFT;
+        int offset = length & CHUNK_MASK;
+        if (chunk == 0) {
+            if (ids.length == 0) {
+                ids = new long[][]{new long[INITIAL_SIZE]};
+                versions = new int[][]{new int[INITIAL_SIZE]};
+            } else if (offset == ids[0].length) {
+                int newSize = Math.min(CHUNK_SIZE, offset * 2);
+                ids[0] = Arrays.copyOf(ids[0], newSize);
+                versions[0] = Arrays.copyOf(versions[0], newSize);
+            }
+        } else if (offset == 0 && chunk == ids.length) {
+            ids = Arrays.copyOf(ids, chunk + 1);
+            versions = Arrays.copyOf(versions, chunk + 1);
+            ids[chunk] = new long[CHUNK_SIZE];
+            versions[chunk] = new int[CHUNK_SIZE];
+        }
+        ids[chunk][offset] = id;
+        versions[chunk][offset] = version;
+        length++;
+    }
+
+    @Override
+    public void consume(FactHandles other) {
+        PackedFactHandles o = (PackedFactHandles) other;
+        if (o.length > 0) {
+            this.typeId = o.typeId;
+            if (removed > 0) {
+                compact();
+            }
+            for (int i = 0; i < o.length; i++) {
+                long id = o.id(i);
+                if (id != REMOVED) {
+                    append(id, o.version(i));
+                }
+            }
+            o.clear();
+        }
+    }
+
+    @Override
+    public long size() {
+        return length - removed;
+    }
+
+    @Override
+    public void clear() {
+        this.ids = EMPTY_IDS;
+        this.versions = EMPTY_VERSIONS;
+        this.length = 0;
+        this.removed = 0;
+    }
+
+    @Override
+    public ReIterator<FactHandleVersioned> iterator() {
+        return new It();
+    }
+
+    private long id(int i) {
+        return ids[i >>> CHUNK_SHIFT][i & CHUNK_MASK];
+    }
+
+    private int version(int i) {
+        return versions[i >>> CHUNK_SHIFT][i & CHUNK_MASK];
+    }
+
+    private FactHandleVersioned handle(int i) {
+        long id = id(i);
+        return new FactHandleVersioned(new FactHandleImpl(id, SlabFactStorage.handleHash(id), typeId), version(i));
+    }
+
+    private void compact() {
+        int target = 0;
+        for (int i = 0; i < length; i++) {
+            long id = id(i);
+            if (id != REMOVED) {
+                if (target != i) {
+                    ids[target >>> CHUNK_SHIFT][target & CHUNK_MASK] = id;
+                    versions[target >>> CHUNK_SHIFT][target & CHUNK_MASK] = version(i);
+                }
+                target++;
+            }
+        }
+        // Releasing unused chunks
+        int chunks = target == 0 ? 0 : ((target - 1) >>> CHUNK_SHIFT) + 1;
+        if (chunks == 0) {
+            clear();
+        } else {
+            if (chunks < ids.length) {
+                ids = Arrays.copyOf(ids, chunks);
+                versions = Arrays.copyOf(versions, chunks);
+            }
+            this.length = target;
+            this.removed = 0;
+        }
+    }
+
+    private int skip(int from) {
+        int i = from;
+        while (i < length && id(i) == REMOVED) {
+            i++;
+        }
+        return i;
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner sj = new StringJoiner(",", "[", "]");
+        iterator().forEachRemaining(h -> sj.add(h.toString()));
+        return sj.toString();
+    }
+
+    private class It implements ReIterator<FactHandleVersioned> {
+        private int next;
+        private int last = -1;
+
+        It() {
+            this.next = skip(0);
+        }
+
+        @Override
+        public long reset() {
+            this.next = skip(0);
+            this.last = -1;
+            return size();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < length;
+        }
+
+        @Override
+        public FactHandleVersioned next() {
+            if (next >= length) {
+                throw new NoSuchElementException();
+            }
+            this.last = next;
+            this.next = skip(next + 1);
+            return handle(last);
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) throw new IllegalStateException("Iterator: remove() without next()");
+            if (last < length && id(last) != REMOVED) {
+                ids[last >>> CHUNK_SHIFT][last & CHUNK_MASK] = REMOVED;
+                removed++;
+            }
+            this.last = -1;
+        }
+    }
+}
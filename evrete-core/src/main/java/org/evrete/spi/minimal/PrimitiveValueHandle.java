@@ -0,0 +1,68 @@
+package org.evrete.spi.minimal;
+
+import org.evrete.api.ValueHandle;
+
+/**
+ * Value handles of primitive fields. Values are stored as raw <code>long</code> bits, so that
+ * hashing and comparison of numeric keys require no boxing.
+ */
+abstract class PrimitiveValueHandle implements ValueHandle {
+    final long bits;
+
+    private PrimitiveValueHandle(long bits) {
+        this.bits = bits;
+    }
+
+    abstract Object boxed();
+
+    @Override
+    public final boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return bits == ((PrimitiveValueHandle) o).bits;
+    }
+
+    @Override
+    public final int hashCode() {
+        return Long.hashCode(bits);
+    }
+
+    @Override
+    public String toString() {
+        return String.valueOf(boxed());
+    }
+
+    static final class OfInt extends PrimitiveValueHandle {
+        OfInt(int value) {
+            super(value);
+        }
+
+        @Override
+        Object boxed() {
+            return (int) bits;
+        }
+    }
+
+    static final class OfLong extends PrimitiveValueHandle {
+        OfLong(long value) {
+            super(value);
+        }
+
+        @Override
+        Object boxed() {
+            return bits;
+        }
+    }
+
+    static final class OfDouble extends PrimitiveValueHandle {
+        OfDouble(double value) {
+            // Same bits semantics as in Double.equals()
+            super(Double.doubleToLongBits(value));
+        }
+
+        @Override
+        Object boxed() {
+            return Double.longBitsToDouble(bits);
+        }
+    }
+}
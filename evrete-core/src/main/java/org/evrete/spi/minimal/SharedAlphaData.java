@@ -4,15 +4,17 @@ import org.evrete.api.*;
 
 import java.util.Collection;
 import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 class SharedAlphaData implements KeyedFactStorage {
-    private final LinkedFactHandles[] dataWrappers;
+    private final FactHandles[] dataWrappers;
 
-    SharedAlphaData() {
-        this.dataWrappers = new LinkedFactHandles[KeyMode.values().length];
+    SharedAlphaData(Supplier<FactHandles> handlesSupplier) {
+        this.dataWrappers = new FactHandles[KeyMode.values().length];
         for (KeyMode mode : KeyMode.values()) {
             int idx = mode.ordinal();
-            this.dataWrappers[idx] = new LinkedFactHandles();
+            this.dataWrappers[idx] = handlesSupplier.get();
         }
     }
 
@@ -23,13 +25,25 @@ class SharedAlphaData implements KeyedFactStorage {
 
     @Override
     public void write(Collection<FactHandleVersioned> factHandles) {
-        LinkedFactHandles data = get(KeyMode.OLD_NEW);
+        FactHandles data = get(KeyMode.OLD_NEW);
         for (FactHandleVersioned h : factHandles) {
             data.add(h);
         }
     }
 
-    LinkedFactHandles get(KeyMode mode) {
+    @Override
+    public MemoryKey purge(Predicate<FactHandleVersioned> predicate) {
+        // All the fact handles share the same entry
+        ReIterator<FactHandleVersioned> it = get(KeyMode.OLD_OLD).iterator();
+        while (it.hasNext()) {
+            if (predicate.test(it.next())) {
+                it.remove();
+            }
+        }
+        return it.reset() == 0 ? new KeyIterator(KeyMode.OLD_OLD).next() : null;
+    }
+
+    FactHandles get(KeyMode mode) {
         return dataWrappers[mode.ordinal()];
     }
 
@@ -45,14 +59,14 @@ class SharedAlphaData implements KeyedFactStorage {
 
     @Override
     public void clear() {
-        for (LinkedFactHandles wrapper : this.dataWrappers) {
+        for (FactHandles wrapper : this.dataWrappers) {
             wrapper.clear();
         }
     }
 
     @Override
     public void commitChanges() {
-        LinkedFactHandles delta = get(KeyMode.OLD_NEW);
+        FactHandles delta = get(KeyMode.OLD_NEW);
         get(KeyMode.OLD_OLD).consume(delta);
     }
 
@@ -0,0 +1,284 @@
+package org.evrete.spi.minimal;
+
+import org.evrete.api.FactHandle;
+import org.evrete.api.FactStorage;
+import org.evrete.api.ReIterator;
+import org.evrete.api.Type;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.StringJoiner;
+import java.util.function.BiPredicate;
+
+/**
+ * <p>
+ * Fact storage that keeps facts in a growable array (slab) addressed directly by fact handles.
+ * The lower 32 bits of a handle's id is the fact's slot in the slab, the upper bits is the
+ * slot's generation, so that handles of deleted facts never match facts that reuse the slot.
+ * Handle lookups are therefore a single array read. Free slots are kept in a stack and are
+ * reused by subsequent inserts.
+ * </p>
+ * <p>
+ * Duplicate inserts are detected with a separate open-addressing index of slot numbers.
+ * Handle hashes are derived from handle ids, so that handles can be re-created from their ids alone.
+ * </p>
+ */
+class SlabFactStorage<T> implements FactStorage<T> {
+    private static final int EMPTY = 0;
+    private static final int DELETED = -1;
+    private final Type<?> type;
+    private final BiPredicate<T, T> identityFunction;
+    private final int minCapacity;
+    // Slab data
+    private Object[] facts;
+    private FactHandleImpl[] handles;
+    private int[] hashes;
+    private int[] freeSlots;
+    private int freeCount;
+    private int slabSize;
+    // Identity index: slot + 1, EMPTY or DELETED
+    private int[] index;
+    private int indexMask;
+    private int indexUsed;
+    private int size;
+    // Generations survive clear() so that handles issued before never match new facts
+    private long minGeneration;
+    private long maxGeneration;
+
+    SlabFactStorage(Type<?> type, BiPredicate<T, T> identityFunction, int minCapacity) {
+        this.type = type;
+        this.identityFunction = identityFunction;
+        this.minCapacity = Math.max(16, minCapacity);
+        allocate();
+    }
+
+    private void allocate() {
+        this.facts = new Object[minCapacity];
+        this.handles = new FactHandleImpl[minCapacity];
+        this.hashes = new int[minCapacity];
+        this.freeSlots = new int[minCapacity];
+        this.freeCount = 0;
+        this.slabSize = 0;
+        this.index = new int[tableSizeFor(minCapacity * 2)];
+        this.indexMask = index.length - 1;
+        this.indexUsed = 0;
+        this.size = 0;
+    }
+
+    private static int tableSizeFor(int capacity) {
+        int n = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+        return n < 0 ? 1 << 30 : n;
+    }
+
+    static int handleHash(long id) {
+        return spread(Long.hashCode(id));
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    @Override
+    public FactHandle insert(T fact) {
+        int hash = fact.hashCode();
+        int pos = spread(hash) & indexMask;
+        int firstDeleted = -1;
+        int slotRef;
+        while ((slotRef = index[pos]) != EMPTY) {
+            if (slotRef == DELETED) {
+                if (firstDeleted < 0) firstDeleted = pos;
+            } else if (identityFunction.test(fact(slotRef - 1), fact)) {
+                // Object is already known
+                return null;
+            }
+            pos = (pos + 1) & indexMask;
+        }
+
+        int slot = newSlot();
+        long generation = handles[slot] == null ? minGeneration : (handles[slot].id >>> 32) + 1;
+        maxGeneration = Math.max(maxGeneration, generation);
+        long id = (generation << 32) | slot;
+        FactHandleImpl handle = new FactHandleImpl(id, handleHash(id), type.getId());
+        facts[slot] = fact;
+        handles[slot] = handle;
+        hashes[slot] = hash;
+        size++;
+
+        if (firstDeleted >= 0) {
+            index[firstDeleted] = slot + 1;
+        } else {
+            index[pos] = slot + 1;
+            indexUsed++;
+            if (indexUsed * 2 > index.length) {
+                rehash();
+            }
+        }
+        return handle;
+    }
+
+    @Override
+    public void delete(FactHandle handle) {
+        FactHandleImpl impl = (FactHandleImpl) handle;
+        int slot = find(impl);
+        if (slot >= 0) {
+            int pos = spread(hashes[slot]) & indexMask;
+            int slotRef;
+            while ((slotRef = index[pos]) != EMPTY) {
+                if (slotRef == slot + 1) {
+                    index[pos] = DELETED;
+                    break;
+                }
+                pos = (pos + 1) & indexMask;
+            }
+            facts[slot] = null;
+            // The handle stays in the slab to keep the slot's generation
+            freeSlots[freeCount++] = slot;
+            size--;
+        }
+    }
+
+    @Override
+    public void update(FactHandle handle, T newInstance) {
+        int slot = find((FactHandleImpl) handle);
+        if (slot >= 0) {
+            facts[slot] = newInstance;
+        }
+    }
+
+    @Override
+    public T getFact(FactHandle handle) {
+        int slot = find((FactHandleImpl) handle);
+        return slot < 0 ? null : fact(slot);
+    }
+
+    @Override
+    public void clear() {
+        this.minGeneration = maxGeneration + 1;
+        // Arrays keep their capacity, so that reused sessions don't grow them again
+        Arrays.fill(facts, 0, slabSize, null);
+        Arrays.fill(handles, 0, slabSize, null);
+        Arrays.fill(index, EMPTY);
+        this.freeCount = 0;
+        this.slabSize = 0;
+        this.indexUsed = 0;
+        this.size = 0;
+    }
+
+    /**
+     * @return number of slots the slab can hold without growing
+     */
+    int capacity() {
+        return facts.length;
+    }
+
+    @Override
+    public ReIterator<Entry<T>> iterator() {
+        return new SlabIterator();
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner sj = new StringJoiner("\n");
+        for (int i = 0; i < slabSize; i++) {
+            if (facts[i] != null) {
+                sj.add(handles[i] + " -> " + facts[i]);
+            }
+        }
+        return sj.toString();
+    }
+
+    @SuppressWarnings("unchecked")
+    private T fact(int slot) {
+        return (T) facts[slot];
+    }
+
+    private int find(FactHandleImpl handle) {
+        int slot = (int) handle.id;
+        if (slot < slabSize && facts[slot] != null && handles[slot].id == handle.id) {
+            return slot;
+        } else {
+            return -1;
+        }
+    }
+
+    private int newSlot() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        } else {
+            if (slabSize == facts.length) {
+                int newLength = facts.length * 2;
+                facts = Arrays.copyOf(facts, newLength);
+                handles = Arrays.copyOf(handles, newLength);
+                hashes = Arrays.copyOf(hashes, newLength);
+                freeSlots = Arrays.copyOf(freeSlots, newLength);
+            }
+            return slabSize++;
+        }
+    }
+
+    private void rehash() {
+        int[] newIndex = new int[tableSizeFor(Math.max(size * 4, minCapacity * 2))];
+        int newMask = newIndex.length - 1;
+        for (int slot = 0; slot < slabSize; slot++) {
+            if (facts[slot] != null) {
+                int pos = spread(hashes[slot]) & newMask;
+                while (newIndex[pos] != EMPTY) {
+                    pos = (pos + 1) & newMask;
+                }
+                newIndex[pos] = slot + 1;
+            }
+        }
+        this.index = newIndex;
+        this.indexMask = newMask;
+        this.indexUsed = size;
+    }
+
+    private class SlabIterator implements ReIterator<Entry<T>> {
+        private int next;
+
+        SlabIterator() {
+            this.next = nextSlot(0);
+        }
+
+        private int nextSlot(int from) {
+            for (int i = from; i < slabSize; i++) {
+                if (facts[i] != null) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public long reset() {
+            this.next = nextSlot(0);
+            return size;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next >= 0;
+        }
+
+        @Override
+        public Entry<T> next() {
+            if (next < 0) {
+                throw new NoSuchElementException();
+            }
+            final FactHandleImpl handle = handles[next];
+            final T fact = fact(next);
+            this.next = nextSlot(next + 1);
+            return new Entry<T>() {
+                @Override
+                public FactHandle getHandle() {
+                    return handle;
+                }
+
+                @Override
+                public T getInstance() {
+                    return fact;
+                }
+            };
+        }
+    }
+}
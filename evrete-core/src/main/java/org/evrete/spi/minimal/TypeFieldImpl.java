@@ -3,13 +3,22 @@ package org.evrete.spi.minimal;
 import org.evrete.api.Type;
 import org.evrete.api.TypeField;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
 import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 class TypeFieldImpl implements TypeField {
     private final String name;
     private final Class<?> valueType;
     private final TypeImpl<?> declaringType;
     private Function<Object, ?> function;
+    private ToIntFunction<Object> intReader;
+    private ToLongFunction<Object> longReader;
+    private ToDoubleFunction<Object> doubleReader;
+    private TypeImpl.JavaAccessor javaAccessor;
 
     TypeFieldImpl(TypeImpl<?> declaringType, String name, Class<?> valueType, Function<Object, ?> function) {
         this.name = name;
@@ -20,10 +29,43 @@ class TypeFieldImpl implements TypeField {
 
     TypeFieldImpl(TypeFieldImpl other, TypeImpl<?> newType) {
         this(newType, other.name, other.valueType, other.function);
+        this.intReader = other.intReader;
+        this.longReader = other.longReader;
+        this.doubleReader = other.doubleReader;
+        this.javaAccessor = other.javaAccessor;
     }
 
     public void setFunction(Function<Object, ?> function) {
         this.function = function;
+        // Custom functions are always read via boxed values
+        this.intReader = null;
+        this.longReader = null;
+        this.doubleReader = null;
+        this.javaAccessor = null;
+    }
+
+    void setJavaAccessor(TypeImpl.JavaAccessor javaAccessor) {
+        this.javaAccessor = javaAccessor;
+    }
+
+    TypeImpl.JavaAccessor getJavaAccessor() {
+        return javaAccessor;
+    }
+
+    /**
+     * Assigns a non-boxing reader if the getter returns an int, long or double value
+     *
+     * @param getter field or method getter
+     */
+    void setPrimitiveReader(MethodHandle getter) {
+        Class<?> returnType = getter.type().returnType();
+        if (returnType == int.class) {
+            this.intReader = new IntReader(getter);
+        } else if (returnType == long.class) {
+            this.longReader = new LongReader(getter);
+        } else if (returnType == double.class) {
+            this.doubleReader = new DoubleReader(getter);
+        }
     }
 
     TypeFieldImpl copy(TypeImpl<?> newType) {
@@ -46,6 +88,29 @@ class TypeFieldImpl implements TypeField {
         return (T) function.apply(subject);
     }
 
+    @Override
+    public boolean hasPrimitiveReader() {
+        return intReader != null || longReader != null || doubleReader != null;
+    }
+
+    @Override
+    public int readInt(Object subject) {
+        ToIntFunction<Object> reader = this.intReader;
+        return reader == null ? TypeField.super.readInt(subject) : reader.applyAsInt(subject);
+    }
+
+    @Override
+    public long readLong(Object subject) {
+        ToLongFunction<Object> reader = this.longReader;
+        return reader == null ? TypeField.super.readLong(subject) : reader.applyAsLong(subject);
+    }
+
+    @Override
+    public double readDouble(Object subject) {
+        ToDoubleFunction<Object> reader = this.doubleReader;
+        return reader == null ? TypeField.super.readDouble(subject) : reader.applyAsDouble(subject);
+    }
+
     @Override
     public String getName() {
         return name;
@@ -73,4 +138,55 @@ class TypeFieldImpl implements TypeField {
     public int hashCode() {
         return name.hashCode() * 31 + declaringType.hashCode();
     }
+
+    private static class IntReader implements ToIntFunction<Object> {
+        private final MethodHandle handle;
+
+        IntReader(MethodHandle getter) {
+            this.handle = getter.asType(MethodType.methodType(int.class, Object.class));
+        }
+
+        @Override
+        public int applyAsInt(Object o) {
+            try {
+                return (int) handle.invokeExact(o);
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+        }
+    }
+
+    private static class LongReader implements ToLongFunction<Object> {
+        private final MethodHandle handle;
+
+        LongReader(MethodHandle getter) {
+            this.handle = getter.asType(MethodType.methodType(long.class, Object.class));
+        }
+
+        @Override
+        public long applyAsLong(Object o) {
+            try {
+                return (long) handle.invokeExact(o);
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+        }
+    }
+
+    private static class DoubleReader implements ToDoubleFunction<Object> {
+        private final MethodHandle handle;
+
+        DoubleReader(MethodHandle getter) {
+            this.handle = getter.asType(MethodType.methodType(double.class, Object.class));
+        }
+
+        @Override
+        public double applyAsDouble(Object o) {
+            try {
+                return (double) handle.invokeExact(o);
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+        }
+    }
 }
@@ -1,9 +1,12 @@
 package org.evrete.spi.minimal;
 
+import org.evrete.api.FieldValuesReader;
+import org.evrete.api.JavaSourceCompiler;
 import org.evrete.api.Type;
 import org.evrete.api.TypeField;
 import org.evrete.api.annotations.NonNull;
 import org.evrete.collections.ArrayOf;
+import org.evrete.runtime.compiler.CompilationException;
 
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
@@ -11,19 +14,25 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.logging.Logger;
 
 class TypeImpl<T> implements Type<T> {
+    private static final Logger LOGGER = Logger.getLogger(TypeImpl.class.getName());
     private final int id;
     private final String name;
     private final ClassResolver classResolver;
     private final Map<String, TypeFieldImpl> fieldMap = new HashMap<>();
     private final String javaType;
     private final Supplier<Class<T>> classSupplier;
+    // Compiled readers are shared among the copies of this type
+    private final Map<List<Object>, Optional<Class<?>>> readerClasses;
 
     TypeImpl(String name, String javaType, int id, Supplier<Class<T>> classSupplier) {
         Objects.requireNonNull(name);
+        this.readerClasses = new ConcurrentHashMap<>();
         this.classSupplier = classSupplier;
         this.classResolver = new ClassResolver(classSupplier);
         this.name = name;
@@ -33,6 +42,7 @@ class TypeImpl<T> implements Type<T> {
 
     private TypeImpl(TypeImpl<T> other) {
         this.fieldMap.putAll(other.fieldMap);
+        this.readerClasses = other.readerClasses;
         this.classSupplier = other.classSupplier;
         this.classResolver = new ClassResolver(this.classSupplier);
         this.name = other.name;
@@ -45,7 +55,7 @@ class TypeImpl<T> implements Type<T> {
     }
 
     private static ValueReader resolve(MethodHandles.Lookup lookup, Class<?> clazz, String prop) {
-        MethodHandle handle = null;
+        MethodHandle handle;
 
         // Scanning fields first
         for (Field field : clazz.getFields()) {
@@ -53,7 +63,7 @@ class TypeImpl<T> implements Type<T> {
                 if (!Modifier.isStatic(field.getModifiers())) {
                     try {
                         handle = lookup.unreflectGetter(field);
-                        break;
+                        return new ValueReader(handle, field.getName(), true);
                     } catch (IllegalAccessException e) {
                         // Field is not accessible, skipping
                     }
@@ -61,10 +71,6 @@ class TypeImpl<T> implements Type<T> {
             }
         }
 
-        if (handle != null) {
-            return new ValueReader(handle);
-        }
-
         // Scanning methods
         for (MethodMeta meta : MethodMeta.values()) {
             String methodName = meta.buildName(prop);
@@ -73,17 +79,14 @@ class TypeImpl<T> implements Type<T> {
                     if (meta.validMethod(method)) {
                         try {
                             handle = lookup.unreflect(method);
-                            break;
+                            // Methods with checked exceptions can not be called from generated sources as is
+                            return new ValueReader(handle, methodName + "()", method.getExceptionTypes().length == 0);
                         } catch (IllegalAccessException e) {
                             // Method is not accessible, skipping
                         }
                     }
                 }
             }
-
-            if (handle != null) {
-                return new ValueReader(handle);
-            }
         }
 
         return null;
@@ -150,6 +153,37 @@ class TypeImpl<T> implements Type<T> {
         return innerDeclare(name, type, o -> function.apply((T) o));
     }
 
+    @Override
+    public FieldValuesReader newFieldValuesReader(TypeField[] fields, JavaSourceCompiler compiler) {
+        Class<T> factClass = resolveJavaType();
+        if (!FieldValuesReaderSource.isAccessible(factClass)) {
+            return null;
+        }
+
+        List<Object> key = Arrays.asList(factClass, FieldValuesReaderSource.signature(factClass, fields));
+        Optional<Class<?>> readerClass = readerClasses.computeIfAbsent(key, k -> compileReader(factClass, fields, compiler));
+        if (readerClass.isPresent()) {
+            try {
+                return (FieldValuesReader) readerClass.get().getConstructor(TypeField[].class).newInstance((Object) fields);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        } else {
+            return null;
+        }
+    }
+
+    private static Optional<Class<?>> compileReader(Class<?> factClass, TypeField[] fields, JavaSourceCompiler compiler) {
+        FieldValuesReaderSource source = new FieldValuesReaderSource(factClass, fields);
+        try {
+            Collection<JavaSourceCompiler.Result<FieldValuesReaderSource>> result = compiler.compile(Collections.singletonList(source));
+            return Optional.of(result.iterator().next().getCompiledClass());
+        } catch (CompilationException e) {
+            LOGGER.warning("Failed to compile field values reader for " + factClass + ", falling back to the default field access. Source:\n" + source.getSource());
+            return Optional.empty();
+        }
+    }
+
     @Override
     public final String getJavaType() {
         return javaType;
@@ -171,7 +205,7 @@ class TypeImpl<T> implements Type<T> {
                 '}';
     }
 
-    private synchronized TypeField innerDeclare(final String name, final Class<?> type, final Function<Object, ?> function) {
+    private synchronized TypeFieldImpl innerDeclare(final String name, final Class<?> type, final Function<Object, ?> function) {
         Const.assertName(name);
         TypeFieldImpl field = fieldMap.get(name);
         if (field == null) {
@@ -185,12 +219,13 @@ class TypeImpl<T> implements Type<T> {
     }
 
     private TypeField resolveField(@NonNull String fieldName) {
-        Function<Object, Object> func;
         Class<?> valueType;
         if (fieldName.isEmpty()) {
             // "this" field
             valueType = classResolver.get();
-            func = o -> o;
+            TypeFieldImpl field = innerDeclare(fieldName, valueType, o -> o);
+            field.setJavaAccessor(new JavaAccessor(new String[0], new Class<?>[0]));
+            return field;
         } else {
             String[] parts = fieldName.split("\\.");
             ArrayOf<ValueReader> getters = new ArrayOf<>(ValueReader.class);
@@ -209,13 +244,17 @@ class TypeImpl<T> implements Type<T> {
                 }
             }
 
-            func = getters.data.length == 1 ?
-                    new AtomicFunction(getters.data[0])
-                    :
-                    new NestedFunction(getters.data);
-
+            TypeFieldImpl field;
+            if (getters.data.length == 1) {
+                ValueReader reader = getters.data[0];
+                field = innerDeclare(fieldName, valueType, new AtomicFunction(reader));
+                field.setPrimitiveReader(reader.handle);
+            } else {
+                field = innerDeclare(fieldName, valueType, new NestedFunction(getters.data));
+            }
+            field.setJavaAccessor(JavaAccessor.of(getters.data));
+            return field;
         }
-        return innerDeclare(fieldName, valueType, func);
     }
 
     private enum MethodMeta {
@@ -295,9 +334,13 @@ class TypeImpl<T> implements Type<T> {
 
     private static final class ValueReader {
         private final MethodHandle handle;
+        private final String javaMember;
+        private final boolean sourceCompatible;
 
-        ValueReader(MethodHandle handle) {
+        ValueReader(MethodHandle handle, String javaMember, boolean sourceCompatible) {
             this.handle = handle;
+            this.javaMember = javaMember;
+            this.sourceCompatible = sourceCompatible;
         }
 
         Object read(Object o) throws Throwable {
@@ -309,6 +352,34 @@ class TypeImpl<T> implements Type<T> {
         }
     }
 
+    /**
+     * Describes how a field's value can be read in a plain Java source, for example
+     * <code>fact.getCustomer().getId()</code>
+     */
+    static final class JavaAccessor {
+        final String[] members;
+        final Class<?>[] memberTypes;
+
+        JavaAccessor(String[] members, Class<?>[] memberTypes) {
+            this.members = members;
+            this.memberTypes = memberTypes;
+        }
+
+        private static JavaAccessor of(ValueReader[] readers) {
+            String[] members = new String[readers.length];
+            Class<?>[] types = new Class<?>[readers.length];
+            for (int i = 0; i < readers.length; i++) {
+                ValueReader reader = readers[i];
+                if (!reader.sourceCompatible) {
+                    return null;
+                }
+                members[i] = reader.javaMember;
+                types[i] = reader.valueType();
+            }
+            return new JavaAccessor(members, types);
+        }
+    }
+
     private class ClassResolver {
         private final Supplier<Class<T>> resolver;
         private volatile Class<T> resolved;
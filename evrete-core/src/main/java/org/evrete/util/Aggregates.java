@@ -0,0 +1,227 @@
+package org.evrete.util;
+
+import org.evrete.api.Aggregate;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * <p>
+ * Factory methods for the commonly used aggregates. Count, sum and average aggregates are updated in constant time,
+ * minimum and maximum are updated in logarithmic time. Collections are appended to in constant time, while removals
+ * and reading a changed collection take time linear in its size. Results of empty aggregates are zero for counts and sums,
+ * empty lists for collections, and {@code null} for other aggregates.
+ * </p>
+ */
+public final class Aggregates {
+
+    private Aggregates() {
+    }
+
+    public static Aggregate<Object, Object, Long> count() {
+        return of(fact -> null, CountAccumulator::new);
+    }
+
+    public static <T> Aggregate<T, Double, Double> sum(ToDoubleFunction<T> mapper) {
+        Objects.requireNonNull(mapper);
+        return of(mapper::applyAsDouble, () -> new DoubleAccumulator(false));
+    }
+
+    public static <T> Aggregate<T, Long, Long> sumLong(ToLongFunction<T> mapper) {
+        Objects.requireNonNull(mapper);
+        return of(mapper::applyAsLong, LongSumAccumulator::new);
+    }
+
+    public static <T> Aggregate<T, Double, Double> average(ToDoubleFunction<T> mapper) {
+        Objects.requireNonNull(mapper);
+        return of(mapper::applyAsDouble, () -> new DoubleAccumulator(true));
+    }
+
+    /**
+     * @param mapper value function, {@code null} values are ignored
+     * @param <T>    fact type
+     * @param <V>    value type
+     * @return minimum aggregate
+     */
+    public static <T, V extends Comparable<? super V>> Aggregate<T, V, V> min(Function<T, V> mapper) {
+        return of(mapper, () -> new OrderAccumulator<>(true));
+    }
+
+    /**
+     * @param mapper value function, {@code null} values are ignored
+     * @param <T>    fact type
+     * @param <V>    value type
+     * @return maximum aggregate
+     */
+    public static <T, V extends Comparable<? super V>> Aggregate<T, V, V> max(Function<T, V> mapper) {
+        return of(mapper, () -> new OrderAccumulator<>(false));
+    }
+
+    /**
+     * @param mapper value function
+     * @param <T>    fact type
+     * @param <V>    value type
+     * @return aggregate that collects values into an unmodifiable list, in the order they were added.
+     * Values are matched by {@code equals()} on removal, which scans the list backwards, so the cost of
+     * a retracted or updated fact is linear in the number of collected values.
+     */
+    public static <T, V> Aggregate<T, V, List<V>> collect(Function<T, V> mapper) {
+        return of(mapper, CollectAccumulator::new);
+    }
+
+    private static <T, V, R> Aggregate<T, V, R> of(Function<T, V> mapper, Supplier<Aggregate.Accumulator<V, R>> supplier) {
+        Objects.requireNonNull(mapper);
+        return new Aggregate<T, V, R>() {
+            @Override
+            public V value(T fact) {
+                return mapper.apply(fact);
+            }
+
+            @Override
+            public Accumulator<V, R> newAccumulator() {
+                return supplier.get();
+            }
+        };
+    }
+
+    private static class CountAccumulator implements Aggregate.Accumulator<Object, Long> {
+        private long count;
+
+        @Override
+        public void add(Object value) {
+            count++;
+        }
+
+        @Override
+        public void remove(Object value) {
+            count--;
+        }
+
+        @Override
+        public Long get() {
+            return count;
+        }
+    }
+
+    private static class LongSumAccumulator implements Aggregate.Accumulator<Long, Long> {
+        private long sum;
+
+        @Override
+        public void add(Long value) {
+            sum += value;
+        }
+
+        @Override
+        public void remove(Long value) {
+            sum -= value;
+        }
+
+        @Override
+        public Long get() {
+            return sum;
+        }
+    }
+
+    private static class DoubleAccumulator implements Aggregate.Accumulator<Double, Double> {
+        private final boolean average;
+        private double sum;
+        private long count;
+
+        DoubleAccumulator(boolean average) {
+            this.average = average;
+        }
+
+        @Override
+        public void add(Double value) {
+            sum += value;
+            count++;
+        }
+
+        @Override
+        public void remove(Double value) {
+            count--;
+            if (count == 0) {
+                // Dropping rounding errors of the previous additions and subtractions
+                sum = 0.0;
+            } else {
+                sum -= value;
+            }
+        }
+
+        @Override
+        public Double get() {
+            if (average) {
+                return count == 0 ? null : sum / count;
+            } else {
+                return sum;
+            }
+        }
+    }
+
+    private static class OrderAccumulator<V extends Comparable<? super V>> implements Aggregate.Accumulator<V, V> {
+        private final TreeMap<V, Integer> counts = new TreeMap<>();
+        private final boolean min;
+
+        OrderAccumulator(boolean min) {
+            this.min = min;
+        }
+
+        @Override
+        public void add(V value) {
+            if (value != null) {
+                counts.merge(value, 1, Integer::sum);
+            }
+        }
+
+        @Override
+        public void remove(V value) {
+            if (value != null) {
+                counts.computeIfPresent(value, (k, c) -> c == 1 ? null : c - 1);
+            }
+        }
+
+        @Override
+        public V get() {
+            if (counts.isEmpty()) {
+                return null;
+            } else {
+                return min ? counts.firstKey() : counts.lastKey();
+            }
+        }
+    }
+
+    private static class CollectAccumulator<V> implements Aggregate.Accumulator<V, List<V>> {
+        private final List<V> values = new ArrayList<>();
+        // Results must not change with the accumulator, so they are copies that are kept until the next change
+        private List<V> result = Collections.emptyList();
+        private boolean modified = false;
+
+        @Override
+        public void add(V value) {
+            values.add(value);
+            modified = true;
+        }
+
+        @Override
+        public void remove(V value) {
+            // Recently added values are the most likely to be removed
+            int index = values.lastIndexOf(value);
+            if (index >= 0) {
+                values.remove(index);
+                modified = true;
+            }
+        }
+
+        @Override
+        public List<V> get() {
+            if (modified) {
+                result = Collections.unmodifiableList(new ArrayList<>(values));
+                modified = false;
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package org.evrete.util;
+
+import org.evrete.Configuration;
+import org.evrete.KnowledgeService;
+import org.evrete.api.Knowledge;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Properties;
+
+/**
+ * <p>
+ * Build-time compiler of knowledge bases. The precompiler builds knowledge with the
+ * {@link Configuration#COMPILED_CLASS_CACHE} pointing at the output directory, so that every generated
+ * condition, RHS and field reader class ends up in that directory. When the directory is packaged with the
+ * application, e.g. as {@code target/classes/META-INF/evrete/classes}, and the application's configuration
+ * sets the cache location to {@code classpath:META-INF/evrete/classes}, the knowledge is built at runtime
+ * without invoking the Java compiler.
+ * </p>
+ * <p>
+ * The command line arguments are the output directory, DSL name and DSL resources, for example
+ * </p>
+ * <pre>{@code
+ * java org.evrete.util.KnowledgePrecompiler target/classes/META-INF/evrete/classes JAVA-CLASS com.example.MyRuleSet
+ * }</pre>
+ * <p>
+ * Resources are treated as files if all of them exist on the file system, otherwise each argument is passed
+ * to the DSL provider as text, which is how the {@code JAVA-CLASS} provider expects rule set class names.
+ * In a Maven build, the class can be invoked with the {@code exec-maven-plugin} in the {@code process-classes} phase.
+ * </p>
+ * <p>
+ * Generated sources, and therefore the cache keys, depend on the configuration, e.g. on the expression and
+ * literal RHS settings. The knowledge must be precompiled with the same properties that the application uses,
+ * which are passed with the optional {@code --config <properties file>} argument, or as a {@link Configuration}
+ * to the {@code precompile} methods.
+ * </p>
+ */
+public final class KnowledgePrecompiler {
+
+    private static final String CONFIG_OPTION = "--config";
+
+    private KnowledgePrecompiler() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Configuration configuration = new Configuration();
+        if (args.length > 1 && CONFIG_OPTION.equals(args[0])) {
+            Properties properties = new Properties();
+            try (Reader reader = Files.newBufferedReader(Paths.get(args[1]))) {
+                properties.load(reader);
+            }
+            configuration.putAll(properties);
+            args = Arrays.copyOfRange(args, 2, args.length);
+        }
+        if (args.length < 3) {
+            System.err.println("Usage: " + KnowledgePrecompiler.class.getName() + " [" + CONFIG_OPTION + " <properties file>] <output directory> <DSL name> <resource>...");
+            System.exit(1);
+        }
+        precompile(Paths.get(args[0]), configuration, args[1], Arrays.copyOfRange(args, 2, args.length));
+    }
+
+    /**
+     * @param output    output directory
+     * @param dsl       DSL name
+     * @param resources DSL resources, file names or provider-specific texts
+     * @throws IOException if the DSL provider fails to read the resources
+     */
+    public static void precompile(Path output, String dsl, String... resources) throws IOException {
+        precompile(output, new Configuration(), dsl, resources);
+    }
+
+    /**
+     * @param output        output directory
+     * @param configuration the application's configuration
+     * @param dsl           DSL name
+     * @param resources     DSL resources, file names or provider-specific texts
+     * @throws IOException if the DSL provider fails to read the resources
+     */
+    public static void precompile(Path output, Configuration configuration, String dsl, String... resources) throws IOException {
+        precompile(output, configuration, service -> {
+            if (Arrays.stream(resources).allMatch(r -> Files.isRegularFile(Paths.get(r)))) {
+                File[] files = new File[resources.length];
+                for (int i = 0; i < resources.length; i++) {
+                    files[i] = new File(resources[i]);
+                }
+                return service.newKnowledge(dsl, files);
+            } else {
+                Reader[] readers = new Reader[resources.length];
+                for (int i = 0; i < resources.length; i++) {
+                    readers[i] = new StringReader(resources[i]);
+                }
+                return service.newKnowledge(dsl, readers);
+            }
+        });
+    }
+
+    /**
+     * @param output  output directory
+     * @param factory builder of the knowledge to precompile
+     * @throws IOException if the factory fails to build the knowledge
+     */
+    public static void precompile(Path output, KnowledgeFactory factory) throws IOException {
+        precompile(output, new Configuration(), factory);
+    }
+
+    /**
+     * @param output        output directory
+     * @param configuration the application's configuration, its cache location is ignored
+     * @param factory       builder of the knowledge to precompile
+     * @throws IOException if the factory fails to build the knowledge
+     */
+    public static void precompile(Path output, Configuration configuration, KnowledgeFactory factory) throws IOException {
+        Objects.requireNonNull(factory);
+        configuration = configuration.copyOf();
+        configuration.setProperty(Configuration.COMPILED_CLASS_CACHE, output.toAbsolutePath().toString());
+        KnowledgeService service = new KnowledgeService(configuration);
+        try {
+            Knowledge knowledge = factory.newKnowledge(service);
+            // Field readers are compiled with the sessions' type memories, so a session is opened to force them
+            knowledge.newStatefulSession().close();
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    @FunctionalInterface
+    public interface KnowledgeFactory {
+        Knowledge newKnowledge(KnowledgeService service) throws IOException;
+    }
+}
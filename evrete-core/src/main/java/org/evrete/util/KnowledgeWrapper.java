@@ -2,6 +2,8 @@ package org.evrete.util;
 
 import org.evrete.api.Knowledge;
 import org.evrete.api.RuleSession;
+import org.evrete.api.RuleSetBuilder;
+import org.evrete.api.SessionPool;
 import org.evrete.api.StatefulSession;
 import org.evrete.api.StatelessSession;
 import org.evrete.runtime.RuleDescriptor;
@@ -19,6 +21,11 @@ public abstract class KnowledgeWrapper extends RuntimeContextWrapper<Knowledge,
         return delegate.getSessions();
     }
 
+    @Override
+    public RuleSetBuilder<Knowledge> builder() {
+        return delegate.builder();
+    }
+
     @Override
     public StatefulSession newStatefulSession() {
         return delegate.newStatefulSession();
@@ -29,4 +36,9 @@ public abstract class KnowledgeWrapper extends RuntimeContextWrapper<Knowledge,
         return delegate.newStatelessSession();
     }
 
+    @Override
+    public SessionPool newSessionPool(int size) {
+        return delegate.newSessionPool(size);
+    }
+
 }
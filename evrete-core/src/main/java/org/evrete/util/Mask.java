@@ -4,6 +4,7 @@ import org.evrete.runtime.FactType;
 import org.evrete.runtime.evaluation.MemoryAddress;
 
 import java.util.BitSet;
+import java.util.function.IntConsumer;
 import java.util.function.ToIntFunction;
 
 public final class Mask<T> {
@@ -35,6 +36,12 @@ public final class Mask<T> {
         return delegate.get(intMapper.applyAsInt(obj));
     }
 
+    public void forEachBit(IntConsumer consumer) {
+        for (int i = delegate.nextSetBit(0); i >= 0; i = delegate.nextSetBit(i + 1)) {
+            consumer.accept(i);
+        }
+    }
+
     public int cardinality() {
         return delegate.cardinality();
     }
@@ -13,6 +13,12 @@ public class SearchList<T extends Named> implements Iterable<T> {
         this.map.put(t.getName(), t);
     }
 
+    public void remove(T t) {
+        if (this.list.remove(t)) {
+            this.map.remove(t.getName(), t);
+        }
+    }
+
     public void sort(Comparator<? super T> comparator) {
         this.list.sort(comparator);
     }
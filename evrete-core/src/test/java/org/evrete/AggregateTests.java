@@ -0,0 +1,282 @@
+package org.evrete;
+
+import org.evrete.api.*;
+import org.evrete.classes.TypeA;
+import org.evrete.classes.TypeB;
+import org.evrete.util.Aggregates;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.evrete.api.FactBuilder.fact;
+
+class AggregateTests {
+    private static KnowledgeService service;
+    private Knowledge knowledge;
+
+    @BeforeAll
+    static void setUpClass() {
+        service = new KnowledgeService();
+    }
+
+    @AfterAll
+    static void shutDownClass() {
+        service.shutdown();
+    }
+
+    private static Map<Integer, List<Object>> expected(Collection<TypeA> facts) {
+        Map<Integer, List<Object>> result = new HashMap<>();
+        for (TypeA a : facts) {
+            if (a.getI() < 0) continue;
+            List<Object> values = result.computeIfAbsent(a.getI() % 3, k -> new ArrayList<>(Arrays.asList(0L, 0L, null)));
+            values.set(0, (Long) values.get(0) + 1);
+            values.set(1, (Long) values.get(1) + a.getL());
+            Integer max = (Integer) values.get(2);
+            values.set(2, max == null ? a.getI() : Math.max(max, a.getI()));
+        }
+        return result;
+    }
+
+    @BeforeEach
+    void init() {
+        knowledge = service.newKnowledge();
+    }
+
+    @ParameterizedTest
+    @EnumSource(ActivationMode.class)
+    void groupedAggregates(ActivationMode mode) {
+        Map<Integer, List<Object>> reported = new HashMap<>();
+        AtomicInteger calls = new AtomicInteger();
+        knowledge.newRule()
+                .forEach(fact("$a", TypeA.class))
+                .where("$a.i >= 0")
+                .groupBy("$group", (TypeA a) -> a.getI() % 3)
+                .aggregate("$count", Aggregates.count())
+                .aggregate("$sum", Aggregates.sumLong(TypeA::getL))
+                .aggregate("$max", Aggregates.max(TypeA::getI))
+                .execute(ctx -> {
+                    calls.incrementAndGet();
+                    synchronized (reported) {
+                        reported.put(ctx.get("$group"), Arrays.asList(ctx.get("$count"), ctx.get("$sum"), ctx.get("$max")));
+                    }
+                });
+
+        try (StatefulSession session = knowledge.newStatefulSession(mode)) {
+            Map<FactHandle, TypeA> facts = new HashMap<>();
+            for (int i = -3; i < 30; i++) {
+                TypeA a = new TypeA("A" + i);
+                a.setAllNumeric(i);
+                facts.put(session.insert(a), a);
+            }
+            session.fire();
+            assert calls.get() == 3;
+            assert reported.equals(expected(facts.values())) : reported + " vs " + expected(facts.values());
+
+            // Deletes and in-place updates, including the ones that move facts to other groups
+            calls.set(0);
+            int counter = 0;
+            for (Map.Entry<FactHandle, TypeA> entry : new ArrayList<>(facts.entrySet())) {
+                TypeA a = entry.getValue();
+                if (a.getI() < 0) continue;
+                switch (counter++ % 3) {
+                    case 0:
+                        session.delete(entry.getKey());
+                        facts.remove(entry.getKey());
+                        break;
+                    case 1:
+                        a.setI(a.getI() + 1);
+                        a.setL(a.getL() * 2);
+                        session.update(entry.getKey(), a);
+                        break;
+                    default:
+                        break;
+                }
+            }
+            session.fire();
+            assert reported.equals(expected(facts.values())) : reported + " vs " + expected(facts.values());
+
+            // Updates that do not change the results
+            calls.set(0);
+            for (Map.Entry<FactHandle, TypeA> entry : facts.entrySet()) {
+                TypeA a = entry.getValue();
+                a.setD(a.getD() + 1);
+                session.update(entry.getKey(), a);
+            }
+            session.fire();
+            assert calls.get() == 0 : "Actual: " + calls.get();
+
+            // Emptying a group
+            calls.set(0);
+            for (Map.Entry<FactHandle, TypeA> entry : facts.entrySet()) {
+                if (entry.getValue().getI() >= 0 && entry.getValue().getI() % 3 == 0) {
+                    session.delete(entry.getKey());
+                }
+            }
+            session.fire();
+            assert calls.get() == 1;
+            assert reported.get(0).equals(Arrays.asList(0L, 0L, null)) : reported.get(0);
+        }
+    }
+
+    @Test
+    void singleGroup() {
+        AtomicInteger calls = new AtomicInteger();
+        List<Object> reported = new ArrayList<>();
+        knowledge.newRule()
+                .forEach(fact("$a", TypeA.class))
+                .where("$a.i > 5")
+                .aggregate("$avg", Aggregates.average(TypeA::getD))
+                .aggregate("$ids", Aggregates.collect(TypeA::getId))
+                .execute(ctx -> {
+                    calls.incrementAndGet();
+                    reported.clear();
+                    reported.add(ctx.get("$avg"));
+                    reported.add(ctx.get("$ids"));
+                });
+
+        try (StatefulSession session = knowledge.newStatefulSession()) {
+            TypeA a1 = new TypeA("A1");
+            a1.setI(6);
+            a1.setD(1.0);
+            TypeA a2 = new TypeA("A2");
+            a2.setI(7);
+            a2.setD(2.0);
+            TypeA a3 = new TypeA("A3");
+            a3.setI(1);
+            FactHandle h1 = session.insert(a1);
+            session.insert(a2);
+            session.insert(a3);
+            session.fire();
+            assert calls.get() == 1;
+            assert reported.equals(Arrays.asList(1.5, Arrays.asList("A1", "A2"))) : reported;
+
+            // Moving a fact out of the alpha condition
+            a1.setI(0);
+            session.update(h1, a1);
+            session.fire();
+            assert calls.get() == 2;
+            assert reported.equals(Arrays.asList(2.0, Collections.singletonList("A2"))) : reported;
+
+            // Facts that come and go before the next fire are never reported
+            TypeA a4 = new TypeA("A4");
+            a4.setI(10);
+            FactHandle h4 = session.insert(a4);
+            session.delete(h4);
+            session.fire();
+            assert calls.get() == 2;
+        }
+    }
+
+    @Test
+    void collectAccumulator() {
+        Aggregate.Accumulator<String, List<String>> accumulator = Aggregates.collect((String s) -> s).newAccumulator();
+        assert accumulator.get().isEmpty();
+
+        accumulator.add("A");
+        accumulator.add("B");
+        accumulator.add("A");
+        List<String> result = accumulator.get();
+        assert result.equals(Arrays.asList("A", "B", "A")) : result;
+        // Results are kept until the accumulator changes
+        assert accumulator.get() == result;
+
+        accumulator.remove("A");
+        accumulator.remove("C");
+        assert accumulator.get().equals(Arrays.asList("A", "B")) : accumulator.get();
+        // Previous results are not affected by the changes
+        assert result.equals(Arrays.asList("A", "B", "A"));
+
+        accumulator.remove("B");
+        accumulator.remove("A");
+        assert accumulator.get().isEmpty();
+        try {
+            accumulator.get().add("A");
+            assert false;
+        } catch (UnsupportedOperationException e) {
+            // Expected
+        }
+    }
+
+    @Test
+    void propertyReactiveUpdates() {
+        knowledge.getConfiguration().setProperty(Configuration.PROPERTY_REACTIVE_UPDATES, "true");
+        AtomicInteger calls = new AtomicInteger();
+        List<Object> reported = new ArrayList<>();
+        knowledge.newRule()
+                .forEach(fact("$a", TypeA.class))
+                .where("$a.i > 0")
+                .aggregate("$sum", Aggregates.sum(TypeA::getD))
+                .execute(ctx -> {
+                    calls.incrementAndGet();
+                    reported.add(ctx.get("$sum"));
+                });
+
+        try (StatefulSession session = knowledge.newStatefulSession()) {
+            TypeA a = new TypeA("A");
+            a.setI(1);
+            a.setD(1.0);
+            FactHandle h = session.insert(a);
+            session.fire();
+
+            // The aggregated field is not used in any condition
+            a.setD(5.0);
+            session.update(h, a);
+            session.fire();
+            assert reported.equals(Arrays.asList(1.0, 5.0)) : reported;
+        }
+    }
+
+    @Test
+    void rhsInserts() {
+        AtomicInteger calls = new AtomicInteger();
+        knowledge.newRule()
+                .forEach(fact("$a", TypeA.class))
+                .aggregate("$count", Aggregates.count())
+                .execute(ctx -> {
+                    long count = ctx.get("$count");
+                    if (count < 10) {
+                        ctx.insert(new TypeA("A" + count));
+                    }
+                });
+        knowledge.newRule()
+                .forEach(fact("$a", TypeA.class))
+                .execute(ctx -> calls.incrementAndGet());
+
+        try (StatefulSession session = knowledge.newStatefulSession()) {
+            session.insertAndFire(new TypeA("A"));
+            assert calls.get() == 10;
+        }
+    }
+
+    @Test
+    void invalidDeclarations() {
+        try {
+            knowledge.newRule()
+                    .forEach(
+                            "$a", TypeA.class,
+                            "$b", TypeB.class
+                    )
+                    .aggregate("$count", Aggregates.count())
+                    .execute(ctx -> {
+                    });
+            assert false;
+        } catch (IllegalStateException e) {
+            // Expected
+        }
+
+        try {
+            knowledge.newRule()
+                    .forEach(fact("$a", TypeA.class))
+                    .aggregate("$a", Aggregates.count());
+            assert false;
+        } catch (IllegalArgumentException e) {
+            // Expected
+        }
+    }
+}
@@ -1,10 +1,10 @@
 package org.evrete;
 
-import org.evrete.api.Knowledge;
-import org.evrete.api.RuleBuilder;
-import org.evrete.api.RuntimeRule;
-import org.evrete.api.StatefulSession;
+import org.evrete.api.*;
 import org.evrete.runtime.RuleDescriptor;
+import org.evrete.runtime.compiler.CompilationException;
+import org.evrete.spi.minimal.AbstractLiteralRhs;
+import org.evrete.spi.minimal.DefaultLiteralRhsCompiler;
 import org.evrete.util.NextIntSupplier;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
@@ -13,7 +13,11 @@ import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 @SuppressWarnings("WeakerAccess")
 public class LiteralRhsTests {
@@ -113,6 +117,142 @@ public class LiteralRhsTests {
     }
 
 
+    @Test
+    void batchCompilation() {
+        KnowledgeService batchService = KnowledgeService.builder()
+                .withLiteralRhsCompiler(CountingRhsCompiler.class)
+                .build();
+        try {
+            Knowledge batchKnowledge = batchService.newKnowledge()
+                    .addImport(SystemOut.class);
+            CountingRhsCompiler.reset();
+            RuleSetBuilder<Knowledge> builder = batchKnowledge.builder();
+            for (int i = 0; i < 20; i++) {
+                builder
+                        .newRule("rule " + i)
+                        .forEach("$n", Integer.class)
+                        .where("$n == " + i)
+                        .execute("SystemOut.out($n + " + i + ");");
+            }
+            // Rules are added by the build() call
+            assert batchKnowledge.getRules().isEmpty();
+            assert CountingRhsCompiler.batches.get() == 0;
+            builder.build();
+            assert batchKnowledge.getRules().size() == 20;
+            assert CountingRhsCompiler.batches.get() == 1;
+            assert CountingRhsCompiler.sources.get() == 20;
+            assert batchKnowledge.getRule("rule 0").getRhs() instanceof AbstractLiteralRhs;
+
+            try (StatefulSession session = batchKnowledge.newStatefulSession()) {
+                for (int i = 0; i < 20; i++) {
+                    session.insert(i);
+                }
+                session.fire();
+                SystemOut.assertSize(20);
+                assert SystemOut.collector.contains(0);
+                assert SystemOut.collector.contains(38);
+                SystemOut.reset();
+            }
+            assert CountingRhsCompiler.batches.get() == 1;
+
+            // Rules outside a batch are compiled as they are added
+            batchKnowledge.newRule("direct")
+                    .forEach("$n", Integer.class)
+                    .execute("SystemOut.out($n);");
+            assert batchKnowledge.getRule("direct").getRhs() instanceof AbstractLiteralRhs;
+            assert CountingRhsCompiler.batches.get() == 1;
+        } finally {
+            batchService.shutdown();
+        }
+    }
+
+    @Test
+    void directCompilationFailure() {
+        knowledge.addImport(SystemOut.class);
+        try {
+            knowledge.newRule("broken")
+                    .forEach("$n", Integer.class)
+                    .execute("not java at all");
+            throw new IllegalStateException("Compilation error expected");
+        } catch (IllegalStateException e) {
+            assert e.getCause() instanceof CompilationException : e;
+        }
+        assert !knowledge.ruleExists("broken");
+    }
+
+    @Test
+    void batchCompilationFailure() {
+        knowledge.addImport(SystemOut.class);
+        RuleSetBuilder<Knowledge> builder = knowledge.builder();
+        builder.newRule("rule 1")
+                .forEach("$n", Integer.class)
+                .execute("SystemOut.out($n + 1);");
+        builder.newRule("broken 1")
+                .forEach("$n", Integer.class)
+                .execute("not java at all");
+        builder.newRule("rule 2")
+                .forEach("$n", Integer.class)
+                .execute("SystemOut.out($n + 2);");
+        builder.newRule("broken 2")
+                .forEach("$n", Integer.class)
+                .execute("SystemOut.out($undefined);");
+        try {
+            builder.build();
+            throw new IllegalStateException("Compilation error expected");
+        } catch (IllegalStateException e) {
+            // Each failure is reported against its rule
+            assert e.getMessage().contains("'broken 1'") : e.getMessage();
+            assert e.getSuppressed().length == 1;
+            assert e.getSuppressed()[0].getMessage().contains("'broken 2'");
+        }
+
+        // Failed rules are not added, the rest of the batch is compiled
+        assert !knowledge.ruleExists("broken 1");
+        assert !knowledge.ruleExists("broken 2");
+        assert knowledge.getRules().size() == 2;
+        for (int i = 0; i < 2; i++) {
+            // The failure does not affect subsequent sessions
+            try (StatefulSession session = knowledge.newStatefulSession()) {
+                session.insertAndFire(10);
+                SystemOut.assertSize(2);
+                assert SystemOut.collector.containsAll(Arrays.asList(11, 12));
+                SystemOut.reset();
+            }
+        }
+
+        // Custom exception handlers may omit the failed rules
+        Collection<String> failed = new LinkedList<>();
+        knowledge.setRuleBuilderExceptionHandler((context, ruleBuilder, exception) -> failed.add(ruleBuilder.getName()));
+        builder = knowledge.builder();
+        builder.newRule("rule 3")
+                .forEach("$n", Integer.class)
+                .execute("SystemOut.out($n + 3);");
+        builder.newRule("broken 3")
+                .forEach("$n", Integer.class)
+                .execute("not java at all");
+        builder.build();
+        assert failed.equals(Collections.singletonList("broken 3")) : failed;
+        assert knowledge.ruleExists("rule 3");
+        assert !knowledge.ruleExists("broken 3");
+    }
+
+    public static class CountingRhsCompiler extends DefaultLiteralRhsCompiler {
+        static final AtomicInteger batches = new AtomicInteger();
+        static final AtomicInteger sources = new AtomicInteger();
+
+        static void reset() {
+            batches.set(0);
+            sources.set(0);
+        }
+
+        @Override
+        public List<Consumer<RhsContext>> compileRhs(RuntimeContext<?> context, List<? extends LiteralRhs> sources) throws CompilationException {
+            CountingRhsCompiler.batches.incrementAndGet();
+            CountingRhsCompiler.sources.addAndGet(sources.size());
+            return super.compileRhs(context, sources);
+        }
+    }
+
     @SuppressWarnings("unused")
     public static class SystemOut {
         private static final NextIntSupplier counter = new NextIntSupplier();
@@ -14,10 +14,10 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import java.util.HashSet;
-import java.util.Objects;
-import java.util.Random;
-import java.util.Set;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
 
@@ -758,4 +758,41 @@ class PredicatesTests {
         assert counter.get() == count;
 
     }
+
+    @Test
+    void testConcurrentArrayPredicates() throws Exception {
+        knowledge.newRule()
+                .forEach(
+                        "$a", TypeA.class,
+                        "$b", TypeB.class
+                )
+                .where((Predicate<Object[]>) values -> (int) values[0] == (int) values[1], "$a.i", "$b.i")
+                .execute();
+
+        int threads = 8;
+        int count = 64;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            results.add(executor.submit(() -> {
+                AtomicInteger matches = new AtomicInteger();
+                StatefulSession session = knowledge.newStatefulSession();
+                session.getRules().forEach(r -> r.setRhs(ctx -> matches.incrementAndGet()));
+                for (int i = 0; i < count; i++) {
+                    TypeA a = new TypeA();
+                    a.setI(i);
+                    TypeB b = new TypeB();
+                    b.setI(i);
+                    session.insertAndFire(a, b);
+                }
+                session.close();
+                return matches.get();
+            }));
+        }
+
+        for (Future<Integer> f : results) {
+            assert f.get() == count;
+        }
+        executor.shutdown();
+    }
 }
@@ -800,5 +800,70 @@ class SessionUpdateDeleteTests {
 
         assert counter.get() == 2 : "Actual : " + counter.get();
     }
-}
 
+    @ParameterizedTest
+    @EnumSource(ActivationMode.class)
+    void propertyReactiveUpdate(ActivationMode mode) {
+        knowledge.getConfiguration().setProperty(Configuration.PROPERTY_REACTIVE_UPDATES, "true");
+        NextIntSupplier counter = new NextIntSupplier();
+        StatefulSession session = knowledge
+                .newRule()
+                .forEach(
+                        "$a", TypeA.class,
+                        "$b", TypeB.class
+                )
+                .where("$a.i > 0")
+                .where("$a.d == $b.d")
+                .execute(
+                        ctx -> counter.next()
+                )
+                .newStatefulSession()
+                .setActivationMode(mode);
+
+        TypeA a = new TypeA();
+        a.setAllNumeric(1);
+        TypeB b = new TypeB();
+        b.setAllNumeric(1);
+
+        FactHandle handleA = session.insert(a);
+        FactHandle handleB = session.insert(b);
+        session.fire();
+        assert counter.get() == 1;
+
+        // Fields that no rule depends upon
+        for (int i = 0; i < 10; i++) {
+            a.setL(a.getL() + 1);
+            b.setF(b.getF() + 1);
+            session.update(handleA, a);
+            session.update(handleB, b);
+            session.fire();
+        }
+        assert counter.get() == 1 : "Actual: " + counter.get();
+        assert session.getFact(handleA) == a;
+
+        // Beta field
+        a.setD(2.0);
+        session.update(handleA, a);
+        session.fire();
+        assert counter.get() == 1 : "Actual: " + counter.get();
+        b.setD(2.0);
+        session.update(handleB, b);
+        session.fire();
+        assert counter.get() == 2 : "Actual: " + counter.get();
+
+        // Alpha field, same alpha test result
+        a.setI(5);
+        session.update(handleA, a);
+        session.fire();
+        assert counter.get() == 3 : "Actual: " + counter.get();
+
+        // The fact must still be deletable
+        session.delete(handleA);
+        session.fire();
+        a = new TypeA();
+        a.setAllNumeric(2);
+        session.insertAndFire(a);
+        assert counter.get() == 4 : "Actual: " + counter.get();
+        session.close();
+    }
+}
@@ -14,6 +14,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -189,6 +190,256 @@ class StatefulBaseTests {
         knowledge = service.newKnowledge();
     }
 
+    @ParameterizedTest
+    @EnumSource(ActivationMode.class)
+    void parallelJoin(ActivationMode mode) {
+        knowledge.getConfiguration().setProperty(Configuration.PARALLEL_JOIN_THRESHOLD, "64");
+        AtomicInteger counter = new AtomicInteger();
+        knowledge.newRule()
+                .forEach(
+                        "$a", TypeA.class,
+                        "$b", TypeB.class
+                )
+                .where("$a.i < $b.i")
+                .where("$a.l + $b.l > 100")
+                .execute(ctx -> counter.incrementAndGet());
+
+        StatefulSession session = newSession(mode);
+        int count = 300;
+        for (int i = 0; i < count; i++) {
+            TypeA a = new TypeA("A" + i);
+            a.setAllNumeric(i);
+            TypeB b = new TypeB("B" + i);
+            b.setAllNumeric(i);
+            session.insert(a, b);
+        }
+        session.fire();
+
+        int expected = 0;
+        for (int a = 0; a < count; a++) {
+            for (int b = 0; b < count; b++) {
+                if (a < b && a + b > 100) expected++;
+            }
+        }
+        assert counter.get() == expected : "Actual: " + counter.get() + ", expected: " + expected;
+
+        // Delta iteration
+        counter.set(0);
+        TypeB b = new TypeB("B-last");
+        b.setAllNumeric(count);
+        session.insertAndFire(b);
+        assert counter.get() == count : "Actual: " + counter.get();
+        session.close();
+    }
+
+    @ParameterizedTest
+    @EnumSource(ActivationMode.class)
+    void rangeJoin(ActivationMode mode) {
+        AtomicInteger counter = new AtomicInteger();
+        knowledge.newRule()
+                .forEach(
+                        "$a", TypeA.class,
+                        "$b", TypeB.class,
+                        "$c", TypeC.class
+                )
+                .where("$b.i >= $a.i")
+                .where("$a.d < $c.d")
+                .where("$c.l <= $b.l")
+                .execute(ctx -> counter.incrementAndGet());
+
+        StatefulSession session = newSession(mode);
+        List<TypeA> as = new ArrayList<>();
+        List<TypeB> bs = new ArrayList<>();
+        List<TypeC> cs = new ArrayList<>();
+        double[] specialValues = new double[]{-0.0, 0.0, Double.NaN};
+        for (int wave = 0; wave < 2; wave++) {
+            for (int i = 0; i < 20; i++) {
+                TypeA a = new TypeA("A" + wave + "-" + i);
+                a.setAllNumeric(i - 10);
+                a.setD(i % 7 == 0 ? specialValues[i % 3] : (i - 10) / 2.0);
+                TypeB b = new TypeB("B" + wave + "-" + i);
+                b.setAllNumeric(10 - i);
+                TypeC c = new TypeC("C" + wave + "-" + i);
+                c.setAllNumeric(i - 5);
+                c.setD(i % 5 == 0 ? specialValues[i % 3] : (i - 5) / 3.0);
+                as.add(a);
+                bs.add(b);
+                cs.add(c);
+                session.insert(a, b, c);
+            }
+            session.fire();
+        }
+
+        int expected = 0;
+        for (TypeA a : as) {
+            for (TypeB b : bs) {
+                for (TypeC c : cs) {
+                    if (b.getI() >= a.getI() && a.getD() < c.getD() && c.getL() <= b.getL()) expected++;
+                }
+            }
+        }
+        assert counter.get() == expected : "Actual: " + counter.get() + ", expected: " + expected;
+        session.close();
+    }
+
+    @Test
+    void rangeJoinWithListeners() {
+        AtomicInteger counter = new AtomicInteger();
+        knowledge.newRule()
+                .forEach(
+                        "$a", TypeA.class,
+                        "$b", TypeB.class
+                )
+                .where("$a.i < $b.i")
+                .execute(ctx -> counter.incrementAndGet());
+
+        StatefulSession session = newSession();
+        AtomicInteger evaluations = new AtomicInteger();
+        session.addListener((EvaluationListener) (evaluator, values, result) -> evaluations.incrementAndGet());
+        int count = 10;
+        for (int i = 0; i < count; i++) {
+            session.insert(new TypeA(i), new TypeB(i));
+        }
+        session.fire();
+        assert counter.get() == count * (count - 1) / 2;
+        // Every pair must still be reported to the listener
+        assert evaluations.get() == count * count : "Actual: " + evaluations.get();
+        session.close();
+    }
+
+    @ParameterizedTest
+    @EnumSource(ActivationMode.class)
+    void agendaOfAffectedRules(ActivationMode mode) {
+        List<String> fired = Collections.synchronizedList(new ArrayList<>());
+        int ruleCount = 20;
+        for (int r = 0; r < ruleCount; r++) {
+            String name = "rule" + r;
+            if (r % 2 == 0) {
+                knowledge.newRule(name)
+                        .salience(r)
+                        .forEach("$a", TypeA.class)
+                        .where("$a.i >= 0")
+                        .execute(ctx -> fired.add(name));
+            } else {
+                knowledge.newRule(name)
+                        .salience(r)
+                        .forEach(
+                                "$b", TypeB.class,
+                                "$c", TypeC.class
+                        )
+                        .where("$b.i == $c.i")
+                        .execute(ctx -> fired.add(name));
+            }
+        }
+
+        StatefulSession session = newSession(mode);
+        TypeA a = new TypeA("A");
+        a.setAllNumeric(1);
+        session.insertAndFire(a);
+        List<String> expected = new ArrayList<>();
+        for (int r = ruleCount - 2; r >= 0; r -= 2) {
+            expected.add("rule" + r);
+        }
+        if (mode == ActivationMode.PARALLEL) {
+            assert new HashSet<>(fired).equals(new HashSet<>(expected)) : fired;
+        } else {
+            assert fired.equals(expected) : fired;
+        }
+
+        // A rule deployed to a running session
+        fired.clear();
+        session.newRule("late")
+                .forEach("$c", TypeC.class)
+                .execute(ctx -> fired.add("late"));
+        TypeB b = new TypeB("B");
+        b.setAllNumeric(1);
+        TypeC c = new TypeC("C");
+        c.setAllNumeric(1);
+        session.insertAndFire(b, c);
+        assert fired.size() == ruleCount / 2 + 1 : fired;
+        assert fired.contains("late");
+        assert !fired.contains("rule0");
+        session.close();
+    }
+
+    @Test
+    void parallelInserts() {
+        int ruleCount = 8;
+        int factCount = 200;
+        AtomicInteger bCounter = new AtomicInteger();
+        for (int r = 0; r < ruleCount; r++) {
+            String prefix = "B" + r + "/";
+            knowledge.newRule("insert " + r)
+                    .forEach("$a", TypeA.class)
+                    .where("$a.i >= 0")
+                    .execute(ctx -> {
+                        TypeA a = ctx.get("$a");
+                        ctx.insert(new TypeB(prefix + a.getId()));
+                    });
+        }
+        knowledge.newRule("count")
+                .forEach("$b", TypeB.class)
+                .execute(ctx -> bCounter.incrementAndGet());
+
+        StatefulSession session = newSession(ActivationMode.PARALLEL);
+        for (int i = 0; i < factCount; i++) {
+            TypeA a = new TypeA("A" + i);
+            a.setAllNumeric(i);
+            session.insert(a);
+        }
+        session.fire();
+        assert bCounter.get() == ruleCount * factCount : "Actual: " + bCounter.get();
+        NextIntSupplier stored = new NextIntSupplier();
+        session.forEachFact(TypeB.class.getName(), o -> stored.next());
+        assert stored.get() == ruleCount * factCount;
+        session.close();
+    }
+
+    @ParameterizedTest
+    @EnumSource(ActivationMode.class)
+    void activationManagerCallbacks(ActivationMode mode) {
+        int ruleCount = 4;
+        AtomicInteger rhsCounter = new AtomicInteger();
+        for (int r = 0; r < ruleCount; r++) {
+            knowledge.newRule("rule" + r)
+                    .forEach("$a", TypeA.class)
+                    .execute(ctx -> rhsCounter.incrementAndGet());
+        }
+
+        List<String> events = new ArrayList<>();
+        StatefulSession session = newSession(mode);
+        session.setActivationManager(new ActivationManager() {
+            private int activations = 0;
+
+            @Override
+            public boolean test(RuntimeRule rule) {
+                events.add("test " + rule.getName());
+                // A decision based on the history of activations
+                return activations < 2;
+            }
+
+            @Override
+            public void onActivation(RuntimeRule rule, long count) {
+                events.add("activation " + rule.getName() + " " + count);
+                activations++;
+            }
+        });
+        session.insertAndFire(new TypeA("A"));
+        session.close();
+
+        assert rhsCounter.get() == 2 : "Actual: " + rhsCounter.get();
+        assert events.size() == ruleCount + 2 : events;
+        // Each activation immediately follows the rule's test
+        for (int i = 0; i < events.size(); i++) {
+            String event = events.get(i);
+            if (event.startsWith("activation")) {
+                String rule = event.split(" ")[1];
+                assert events.get(i - 1).equals("test " + rule) : events;
+                assert event.endsWith(" 1") : events;
+            }
+        }
+    }
+
     @ParameterizedTest
     @EnumSource(ActivationMode.class)
     void plainTest0(ActivationMode mode) {
@@ -1669,5 +1920,28 @@ class StatefulBaseTests {
 
     }
 
+    @ParameterizedTest
+    @EnumSource(ActivationMode.class)
+    void primitiveAndCustomFieldJoin(ActivationMode mode) {
+        Type<TypeB> t = knowledge.getTypeResolver().declare(TypeB.class);
+        t.declareIntField("custom", b -> b.getI() * 2);
+
+        AtomicInteger counter = new AtomicInteger();
+        knowledge.newRule()
+                .forEach(
+                        "$a", TypeA.class,
+                        "$b", TypeB.class
+                )
+                .where("$a.i == $b.custom")
+                .execute(ctx -> counter.incrementAndGet());
 
-}
\ No newline at end of file
+        try (StatefulSession s = knowledge.newStatefulSession().setActivationMode(mode)) {
+            for (int i = 0; i < 10; i++) {
+                s.insert(new TypeA(i), new TypeB(i));
+            }
+            s.fire();
+        }
+        // Even values of $a.i match
+        assert counter.get() == 5 : "Actual: " + counter.get();
+    }
+}
@@ -1382,4 +1382,150 @@ class StatelessBaseTests {
         assert rhsCounter.get() == 9; // Third rule excluded
     }
 
-}
\ No newline at end of file
+    @ParameterizedTest
+    @EnumSource(ActivationMode.class)
+    void sessionPool1(ActivationMode mode) {
+        NextIntSupplier counter1 = new NextIntSupplier();
+        NextIntSupplier counter2 = new NextIntSupplier();
+        knowledge.newRule("rule 1")
+                .forEach(
+                        "$a", TypeA.class,
+                        "$b", TypeB.class
+                )
+                .where("$a.i == $b.i")
+                .execute(ctx -> counter1.next());
+
+        SessionPool pool = knowledge.newSessionPool(2);
+        StatelessSession previous = null;
+        for (int round = 0; round < 5; round++) {
+            StatelessSession s = pool.newStatelessSession(mode);
+            if (previous != null) {
+                // Fired sessions get recycled
+                assert s == previous;
+            }
+            assert knowledge.getSessions().contains(s);
+            for (int i = 0; i < 10; i++) {
+                TypeA a = new TypeA("A" + i);
+                a.setAllNumeric(i);
+                TypeB b = new TypeB("B" + i);
+                b.setAllNumeric(i);
+                s.insert(a, b);
+            }
+            s.fire();
+            assert counter1.get() == 10 : "Actual: " + counter1.get();
+            assert knowledge.getSessions().isEmpty();
+            // Sessions are returned to the pool when closed
+            assert pool.idleSessions() == 0;
+            s.close();
+            s.close();
+            assert pool.idleSessions() == 1;
+            counter1.set(0);
+            previous = s;
+        }
+
+        // Closing a session without firing it
+        StatelessSession unfired = pool.newStatelessSession(mode);
+        assert unfired == previous;
+        unfired.insert(new TypeA("A"), new TypeB("B"));
+        unfired.close();
+        assert pool.idleSessions() == 1;
+        assert counter1.get() == 0;
+
+        // Sessions created before knowledge changes are not reused
+        knowledge.newRule("rule 2")
+                .forEach("$a", TypeA.class)
+                .execute(ctx -> counter2.next());
+
+        StatelessSession s = pool.newStatelessSession(mode);
+        assert s != previous;
+        assert s.getRules().size() == 2;
+        s.insertAndFire(new TypeA("A"), new TypeB("B"));
+        s.close();
+        assert counter1.get() == 1;
+        assert counter2.get() == 1;
+        assert pool.idleSessions() == 1;
+    }
+
+    @ParameterizedTest
+    @EnumSource(ActivationMode.class)
+    void sessionPool2(ActivationMode mode) throws Exception {
+        NextIntSupplier counter = new NextIntSupplier();
+        NextIntSupplier listenerCounter = new NextIntSupplier();
+        RuleBuilder<Knowledge> builder = knowledge.newRule("rule 1");
+        LhsBuilder<Knowledge> lhs = builder.forEach("$a", TypeA.class);
+        EvaluatorHandle handle = builder.createCondition("$a.i > 0");
+        lhs.where(handle).execute(ctx -> counter.next());
+
+        SessionPool pool = knowledge.newSessionPool(1);
+
+        // The first user replaces the condition and adds a listener
+        StatelessSession s1 = pool.newStatelessSession(mode);
+        s1.replaceEvaluator(handle, values -> true);
+        s1.addListener((evaluator, values, result) -> listenerCounter.next());
+        s1.insertAndFire(new TypeA(0), new TypeA(1));
+        s1.close();
+        assert counter.get() == 2 : "Actual: " + counter.get();
+        assert listenerCounter.get() > 0;
+
+        // The second user gets the knowledge's settings
+        counter.set(0);
+        listenerCounter.set(0);
+        StatelessSession s2 = pool.newStatelessSession(mode);
+        assert s2 == s1;
+        s2.insertAndFire(new TypeA(0), new TypeA(1));
+        s2.close();
+        assert counter.get() == 1 : "Actual: " + counter.get();
+        assert listenerCounter.get() == 0;
+    }
+
+    @ParameterizedTest
+    @EnumSource(ActivationMode.class)
+    void sessionPool3(ActivationMode mode) {
+        List<String> tenants = new ArrayList<>();
+        knowledge.set("tenant", "default");
+        knowledge.newRule("rule 1")
+                .salience(10)
+                .property("tenant", "default")
+                .forEach("$a", TypeA.class)
+                .execute(ctx -> tenants.add("knowledge"));
+
+        SessionPool pool = knowledge.newSessionPool(1);
+
+        // The first user changes per-session state
+        StatelessSession s1 = pool.newStatelessSession(mode);
+        s1.set("tenant", "A");
+        s1.set("request", "1");
+        s1.addImport("java.util.concurrent.atomic.AtomicLong");
+        s1.setRuleComparator((r1, r2) -> 0);
+        RuntimeRule r1 = s1.getRule("rule 1");
+        r1.setRhs(ctx -> tenants.add("A"));
+        r1.setSalience(99);
+        r1.set("tenant", "A");
+        s1.insertAndFire(new TypeA("A"));
+        s1.close();
+        assert tenants.equals(Collections.singletonList("A")) : tenants;
+        tenants.clear();
+
+        // The next user sees the knowledge's defaults
+        StatelessSession s2 = pool.newStatelessSession(mode);
+        assert s2 == s1;
+        assert "default".equals(s2.get("tenant"));
+        assert s2.get("request") == null;
+        assert !s2.getImports().get().contains("java.util.concurrent.atomic.AtomicLong");
+        assert s2.getRuleComparator() == knowledge.getRuleComparator();
+        RuntimeRule r2 = s2.getRule("rule 1");
+        assert r2.getSalience() == 10;
+        assert "default".equals(r2.get("tenant"));
+        s2.insertAndFire(new TypeA("A"));
+        s2.close();
+        assert tenants.equals(Collections.singletonList("knowledge")) : tenants;
+
+        // Sessions with a replaced class loader are discarded
+        StatelessSession s3 = pool.newStatelessSession(mode);
+        assert s3 == s1;
+        s3.setClassLoader(new ClassLoader(s3.getClassLoader()) {
+        });
+        s3.close();
+        assert pool.idleSessions() == 0;
+    }
+}
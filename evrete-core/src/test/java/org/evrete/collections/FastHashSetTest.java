@@ -39,6 +39,32 @@ class FastHashSetTest {
     }
 
 
+    @Test
+    void emptyAndCleared() {
+        LinearHashSet<String> set = new LinearHashSet<>(DEFAULT_MIN_CAPACITY);
+        // No data has been written yet
+        assert !set.contains("a");
+        assert !set.remove("a");
+        assert !set.iterator().hasNext();
+        set.delete(s -> true);
+        set.clear();
+        set.assertStructure();
+
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 1000; i++) {
+                assert set.addVerbose("s" + i);
+            }
+            assert set.remove("s0");
+            assert set.size() == 999;
+            set.assertStructure();
+            set.clear();
+            set.assertStructure();
+            assert set.size() == 0;
+            assert !set.contains("s1");
+            assert !set.iterator().hasNext();
+        }
+    }
+
     @Test
     void basic1() {
         IterableSet<TypeA> set1 = TestUtils.setOf(new LinearHashSet<>(128));
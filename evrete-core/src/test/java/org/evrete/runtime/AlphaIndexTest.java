@@ -0,0 +1,116 @@
+package org.evrete.runtime;
+
+import org.evrete.KnowledgeService;
+import org.evrete.api.EvaluationListener;
+import org.evrete.api.Knowledge;
+import org.evrete.api.StatefulSession;
+import org.evrete.classes.TypeA;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+class AlphaIndexTest {
+    private static KnowledgeService service;
+
+    @BeforeAll
+    static void setUpClass() {
+        service = new KnowledgeService();
+    }
+
+    @AfterAll
+    static void shutDownClass() {
+        service.shutdown();
+    }
+
+    @Test
+    void indexedConditions() {
+        Knowledge knowledge = service.newKnowledge();
+        Map<String, Predicate<TypeA>> expected = new HashMap<>();
+        Map<String, AtomicInteger> actual = new HashMap<>();
+        int constants = 8;
+        for (int c = -constants; c < constants; c++) {
+            final int k = c;
+            final double d = c + 0.5;
+            expected.put("$a.i == " + k, a -> a.getI() == k);
+            expected.put("$a.i != " + k, a -> a.getI() != k);
+            expected.put("$a.i > " + k, a -> a.getI() > k);
+            expected.put(k + " <= $a.i", a -> k <= a.getI());
+            expected.put("$a.l < " + k + "L", a -> a.getL() < k);
+            expected.put("$a.l <= " + k, a -> a.getL() <= k);
+            expected.put("$a.d >= " + d, a -> a.getD() >= d);
+            expected.put("$a.d < " + d, a -> a.getD() < d);
+            expected.put("\"S" + k + "\".equals($a.str)", a -> ("S" + k).equals(a.getStr()));
+        }
+        // Octal and decimal literals with leading zeros
+        expected.put("$a.d > -010", a -> a.getD() > -010);
+        expected.put("$a.d > -010d", a -> a.getD() > -010d);
+        expected.put("$a.d > -010.0", a -> a.getD() > -010.0);
+        // A condition that is not indexed
+        expected.put("$a.i % 3 == 0", a -> a.getI() % 3 == 0);
+
+        for (Map.Entry<String, Predicate<TypeA>> entry : expected.entrySet()) {
+            AtomicInteger counter = new AtomicInteger();
+            actual.put(entry.getKey(), counter);
+            knowledge.newRule(entry.getKey())
+                    .forEach("$a", TypeA.class)
+                    .where(entry.getKey())
+                    .execute(ctx -> counter.incrementAndGet());
+        }
+
+        List<TypeA> facts = new ArrayList<>();
+        for (int i = -2 * constants; i < 2 * constants; i++) {
+            TypeA a = new TypeA("A" + i);
+            a.setAllNumeric(i);
+            a.setD(i / 2.0);
+            a.setStr(i % 4 == 0 ? null : "S" + (i / 2));
+            facts.add(a);
+        }
+        TypeA negativeZero = new TypeA("negativeZero");
+        negativeZero.setD(-0.0);
+        negativeZero.setStr("S0");
+        facts.add(negativeZero);
+        TypeA nan = new TypeA("nan");
+        nan.setD(Double.NaN);
+        facts.add(nan);
+
+        try (StatefulSession session = knowledge.newStatefulSession()) {
+            for (TypeA a : facts) {
+                session.insert(a);
+            }
+            session.fire();
+        }
+
+        for (Map.Entry<String, Predicate<TypeA>> entry : expected.entrySet()) {
+            long count = facts.stream().filter(entry.getValue()).count();
+            assert actual.get(entry.getKey()).get() == count : entry.getKey() + ", expected: " + count + ", actual: " + actual.get(entry.getKey()).get();
+        }
+    }
+
+    @Test
+    void listenersDisableIndex() {
+        Knowledge knowledge = service.newKnowledge();
+        AtomicInteger counter = new AtomicInteger();
+        knowledge.newRule()
+                .forEach("$a", TypeA.class)
+                .where("$a.i > 5")
+                .execute(ctx -> counter.incrementAndGet());
+
+        AtomicInteger evaluations = new AtomicInteger();
+        try (StatefulSession session = knowledge.newStatefulSession()) {
+            session.addListener((EvaluationListener) (evaluator, values, result) -> evaluations.incrementAndGet());
+            for (int i = 0; i < 10; i++) {
+                session.insert(new TypeA(i));
+            }
+            session.fire();
+        }
+        assert counter.get() == 4;
+        assert evaluations.get() == 10 : "Actual: " + evaluations.get();
+    }
+}
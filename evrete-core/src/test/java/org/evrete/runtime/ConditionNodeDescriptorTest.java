@@ -0,0 +1,94 @@
+package org.evrete.runtime;
+
+import org.evrete.KnowledgeService;
+import org.evrete.classes.TypeA;
+import org.evrete.classes.TypeB;
+import org.evrete.classes.TypeC;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+class ConditionNodeDescriptorTest {
+    private static KnowledgeService service;
+
+    @BeforeAll
+    static void setUpClass() {
+        service = new KnowledgeService();
+    }
+
+    @AfterAll
+    static void shutDownClass() {
+        service.shutdown();
+    }
+
+    private static ConditionNodeDescriptor finalNode(KnowledgeRuntime knowledge, String rule) {
+        RhsFactGroupDescriptor[] groups = knowledge.getRule(rule).getLhs().getAllFactGroups();
+        assert groups.length == 1;
+        return groups[0].getFinalNode();
+    }
+
+    private static long entrySources(NodeDescriptor node) {
+        return Arrays.stream(node.getSources()).filter(n -> !n.isConditionNode()).count();
+    }
+
+    @Test
+    void cheapJoinFirst() {
+        KnowledgeRuntime knowledge = (KnowledgeRuntime) service.newKnowledge();
+        knowledge.newRule("rule1")
+                .forEach(
+                        "$a", TypeA.class,
+                        "$b", TypeB.class,
+                        "$c", TypeC.class
+                )
+                .where("$a.i == $b.i", 10.0)
+                .where("$b.i == $c.i", 1.0)
+                .execute();
+        knowledge.newRule("rule2")
+                .forEach(
+                        "$a", TypeA.class,
+                        "$b", TypeB.class,
+                        "$c", TypeC.class
+                )
+                .where("$a.i == $b.i", 1.0)
+                .where("$b.i == $c.i", 10.0)
+                .execute();
+
+        ConditionNodeDescriptor node1 = finalNode(knowledge, "rule1");
+        assert node1.getExpression().getComplexity() == 10.0;
+        assert node1.getSources().length == 2;
+        assert entrySources(node1) == 1;
+
+        ConditionNodeDescriptor node2 = finalNode(knowledge, "rule2");
+        assert node2.getExpression().getComplexity() == 10.0;
+        assert entrySources(node2) == 1;
+    }
+
+    @Test
+    void crossProductDeferred() {
+        KnowledgeRuntime knowledge = (KnowledgeRuntime) service.newKnowledge();
+        knowledge.newRule("rule")
+                .forEach(
+                        "$a", TypeA.class,
+                        "$b", TypeB.class,
+                        "$c", TypeC.class
+                )
+                .where("$a.i + $b.i + $c.i > 0", 1.0)
+                .where("$a.i == $b.i", 10.0)
+                .where("$b.i == $c.i", 10.0)
+                .execute();
+
+        // The cheap three-way condition must not be evaluated against the cross product of all types
+        ConditionNodeDescriptor node = finalNode(knowledge, "rule");
+        NodeDescriptor current = node;
+        while (current.isConditionNode()) {
+            ConditionNodeDescriptor cnd = (ConditionNodeDescriptor) current;
+            if (cnd.getExpression().getTotalTypesInvolved() == 3) {
+                assert entrySources(cnd) < 3;
+            }
+            assert cnd.getSources().length <= 2;
+            current = Arrays.stream(cnd.getSources()).filter(NodeDescriptor::isConditionNode).findAny().orElse(cnd.getSources()[0]);
+        }
+    }
+}
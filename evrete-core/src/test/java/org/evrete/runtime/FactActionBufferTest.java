@@ -0,0 +1,167 @@
+package org.evrete.runtime;
+
+import org.evrete.KnowledgeService;
+import org.evrete.api.*;
+import org.evrete.classes.TypeA;
+import org.evrete.classes.TypeB;
+import org.evrete.classes.TypeC;
+import org.evrete.classes.TypeD;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+class FactActionBufferTest {
+    private static KnowledgeService service;
+
+    @BeforeAll
+    static void setUpClass() {
+        service = new KnowledgeService();
+    }
+
+    @AfterAll
+    static void shutDownClass() {
+        service.shutdown();
+    }
+
+    private static List<Type<?>> types() {
+        TypeResolver resolver = service.newKnowledge().getTypeResolver();
+        List<Type<?>> types = new ArrayList<>();
+        types.add(resolver.declare(TypeA.class));
+        types.add(resolver.declare(TypeB.class));
+        types.add(resolver.declare(TypeC.class));
+        types.add(resolver.declare(TypeD.class));
+        return types;
+    }
+
+    private static Map<FactHandle, Action> collect(FactActionBuffer buffer) {
+        Map<FactHandle, Action> actions = new HashMap<>();
+        buffer.forEach(a -> actions.put(a.handle, a.action));
+        return actions;
+    }
+
+    private static int count(ReIterator<AtomicMemoryAction> it) {
+        int count = 0;
+        while (it.hasNext()) {
+            it.next();
+            count++;
+        }
+        return count;
+    }
+
+    @Test
+    void emptyBuffer() {
+        FactActionBuffer buffer = new FactActionBuffer(16);
+        for (Type<?> type : types()) {
+            assert buffer.find(new Handle(1, type.getId())) == null;
+            assert !buffer.actions(type).hasNext();
+            buffer.forEach(type, a -> {
+                throw new IllegalStateException();
+            });
+        }
+        buffer.forEach(a -> {
+            throw new IllegalStateException();
+        });
+        assert !buffer.hasData();
+        assert buffer.deltaOperations() == 0;
+    }
+
+    @Test
+    void typedQueues() {
+        List<Type<?>> types = types();
+        FactActionBuffer buffer = new FactActionBuffer(4);
+        Map<FactHandle, Action> expected = new HashMap<>();
+
+        // The last type goes first, so that the queue array grows past the types that have no queues yet
+        Type<?> last = types.get(types.size() - 1);
+        Type<?> first = types.get(0);
+        Type<?> unused = types.get(1);
+        int count = 100;
+        for (Type<?> type : Arrays.asList(last, first)) {
+            for (int i = 0; i < count; i++) {
+                Handle handle = new Handle(i, type.getId());
+                FactRecord record = new FactRecord("fact " + i);
+                buffer.newInsert(handle, record);
+                if (i % 3 == 0) {
+                    // Updating a fact that has been just inserted
+                    buffer.newUpdate(handle, record, "updated " + i);
+                }
+                if (i % 5 == 0) {
+                    // Deleting a fact that has been just inserted
+                    buffer.newDelete(handle, record);
+                }
+                expected.put(handle, i % 5 == 0 ? Action.RETRACT : i % 3 == 0 ? Action.UPDATE : Action.INSERT);
+            }
+        }
+
+        assert buffer.hasData();
+        assert buffer.deltaOperations() == count * 2;
+        assert collect(buffer).equals(expected);
+        assert count(buffer.actions(last)) == count;
+        assert count(buffer.actions(first)) == count;
+        assert !buffer.actions(unused).hasNext();
+        assert buffer.find(new Handle(0, unused.getId())) == null;
+        // Type ids past the last queue
+        assert buffer.find(new Handle(0, 1000)) == null;
+
+        for (Map.Entry<FactHandle, Action> entry : expected.entrySet()) {
+            AtomicMemoryAction action = buffer.find(new Handle((Handle) entry.getKey()));
+            assert action != null;
+            assert action.action == entry.getValue();
+        }
+
+        // Copying to another buffer
+        FactActionBuffer other = new FactActionBuffer(4);
+        buffer.copyToAndClear(other);
+        assert !buffer.hasData();
+        assert collect(buffer).isEmpty();
+        assert !buffer.actions(last).hasNext();
+        assert buffer.find(new Handle(1, last.getId())) == null;
+        assert other.hasData();
+        assert collect(other).equals(expected);
+
+        // Existing queues are reused after clear()
+        other.clear();
+        assert !other.hasData();
+        Handle handle = new Handle(1, first.getId());
+        other.newInsert(handle, new FactRecord("new fact"));
+        assert other.find(new Handle(handle)).action == Action.INSERT;
+        assert count(other.actions(first)) == 1;
+        assert !other.actions(last).hasNext();
+        assert collect(other).size() == 1;
+    }
+
+    private static class Handle implements FactHandle {
+        private static final long serialVersionUID = 1L;
+        private final long id;
+        private final int type;
+
+        Handle(long id, int type) {
+            this.id = id;
+            this.type = type;
+        }
+
+        Handle(Handle other) {
+            this(other.id, other.type);
+        }
+
+        @Override
+        public int getTypeId() {
+            return type;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Handle handle = (Handle) o;
+            return id == handle.id && type == handle.type;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(id);
+        }
+    }
+}
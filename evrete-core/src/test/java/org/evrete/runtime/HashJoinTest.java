@@ -0,0 +1,181 @@
+package org.evrete.runtime;
+
+import org.evrete.KnowledgeService;
+import org.evrete.api.*;
+import org.evrete.classes.Base;
+import org.evrete.classes.TypeA;
+import org.evrete.classes.TypeB;
+import org.evrete.classes.TypeD;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.*;
+import java.util.function.BiPredicate;
+
+/**
+ * Compares results of hash joins with the nested loop evaluation. Evaluation listeners disable
+ * hash joins, so the same rules are evaluated with and without a listener. Joins on the same value
+ * read in different ways (primitive, custom, nested and boxed fields) must produce the same matches.
+ */
+class HashJoinTest {
+    private static final int FACT_COUNT = 40;
+    private static KnowledgeService service;
+
+    @BeforeAll
+    static void setUpClass() {
+        service = new KnowledgeService();
+    }
+
+    @AfterAll
+    static void shutDownClass() {
+        service.shutdown();
+    }
+
+    private static Map<String, BiPredicate<TypeA, TypeB>> conditions() {
+        Map<String, BiPredicate<TypeA, TypeB>> conditions = new LinkedHashMap<>();
+        // Primitive fields
+        conditions.put("$a.i == $b.i", (a, b) -> a.getI() == b.getI());
+        conditions.put("$a.l == $b.l", (a, b) -> a.getL() == b.getL());
+        // Custom fields
+        conditions.put("$a.custom == $b.custom", (a, b) -> a.getI() == b.getI());
+        conditions.put("$a.i == $b.custom", (a, b) -> a.getI() == b.getI());
+        conditions.put("$a.custom == $b.i", (a, b) -> a.getI() == b.getI());
+        // Nested fields
+        conditions.put("$a.typeD.i == $b.i", (a, b) -> a.getTypeD().getI() == b.getI());
+        conditions.put("$a.typeD.i == $b.custom", (a, b) -> a.getTypeD().getI() == b.getI());
+        // Boxed fields
+        conditions.put("$a.boxed == $b.i", (a, b) -> a.getI() == b.getI());
+        conditions.put("$a.boxed.equals($b.boxed)", (a, b) -> a.getI() == b.getI());
+        conditions.put("$a.boxed == $b.boxed", (a, b) -> Integer.valueOf(a.getI()) == Integer.valueOf(b.getI()));
+        return conditions;
+    }
+
+    private static Knowledge newKnowledge(String condition, List<String> matches) {
+        Knowledge knowledge = service.newKnowledge();
+        Type<TypeA> aType = knowledge.getTypeResolver().declare(TypeA.class);
+        Type<TypeB> bType = knowledge.getTypeResolver().declare(TypeB.class);
+        aType.declareIntField("custom", Base::getI);
+        bType.declareIntField("custom", Base::getI);
+        aType.declareField("boxed", Integer.class, Base::getI);
+        bType.declareField("boxed", Integer.class, Base::getI);
+
+        knowledge.newRule()
+                .forEach(
+                        "$a", TypeA.class,
+                        "$b", TypeB.class
+                )
+                .where(condition)
+                .execute(ctx -> {
+                    TypeA a = ctx.get("$a");
+                    TypeB b = ctx.get("$b");
+                    synchronized (matches) {
+                        matches.add(a.getId() + "/" + b.getId());
+                    }
+                });
+        return knowledge;
+    }
+
+    private static TypeA newA(int id, int value) {
+        TypeA a = new TypeA("a" + id);
+        a.setTypeD(new TypeD("d" + id));
+        setValue(a, value);
+        return a;
+    }
+
+    private static void setValue(TypeA a, int value) {
+        a.setI(value);
+        a.setL(value);
+        a.getTypeD().setI(value);
+    }
+
+    private static TypeB newB(int id, int value) {
+        TypeB b = new TypeB("b" + id);
+        b.setI(value);
+        b.setL(value);
+        return b;
+    }
+
+    private static List<String> run(ActivationMode mode, String condition, boolean nestedLoop) {
+        List<String> matches = new ArrayList<>();
+        Knowledge knowledge = newKnowledge(condition, matches);
+        List<TypeA> as = new ArrayList<>();
+        try (StatefulSession session = knowledge.newStatefulSession().setActivationMode(mode)) {
+            if (nestedLoop) {
+                session.addListener((evaluator, values, result) -> {
+                });
+            }
+            List<FactHandle> aHandles = new ArrayList<>();
+            List<FactHandle> bHandles = new ArrayList<>();
+            // Repeating values, including those outside of the Integer cache
+            for (int i = 0; i < FACT_COUNT; i++) {
+                TypeA a = newA(i, (i % 7) * 100);
+                as.add(a);
+                aHandles.add(session.insert(a));
+                bHandles.add(session.insert(newB(i, (i % 5) * 100)));
+            }
+            session.fire();
+
+            // Updates and deletes
+            for (int i = 0; i < FACT_COUNT; i += 3) {
+                TypeA a = as.get(i);
+                setValue(a, a.getI() + 100);
+                session.update(aHandles.get(i), a);
+            }
+            for (int i = 1; i < FACT_COUNT; i += 4) {
+                session.delete(bHandles.get(i));
+            }
+            session.fire();
+        }
+        Collections.sort(matches);
+        return matches;
+    }
+
+    private static List<String> expected(BiPredicate<TypeA, TypeB> predicate) {
+        List<String> matches = new ArrayList<>();
+        List<TypeA> as = new ArrayList<>();
+        List<TypeB> bs = new ArrayList<>();
+        for (int i = 0; i < FACT_COUNT; i++) {
+            as.add(newA(i, (i % 7) * 100));
+            bs.add(newB(i, (i % 5) * 100));
+        }
+        for (TypeA a : as) {
+            for (TypeB b : bs) {
+                if (predicate.test(a, b)) {
+                    matches.add(a.getId() + "/" + b.getId());
+                }
+            }
+        }
+
+        // Updated facts are matched again against the remaining facts
+        for (int i = 1; i < FACT_COUNT; i += 4) {
+            bs.set(i, null);
+        }
+        for (int i = 0; i < FACT_COUNT; i += 3) {
+            TypeA a = as.get(i);
+            setValue(a, a.getI() + 100);
+            for (TypeB b : bs) {
+                if (b != null && predicate.test(a, b)) {
+                    matches.add(a.getId() + "/" + b.getId());
+                }
+            }
+        }
+        Collections.sort(matches);
+        return matches;
+    }
+
+    @ParameterizedTest
+    @EnumSource(ActivationMode.class)
+    void sameResults(ActivationMode mode) {
+        for (Map.Entry<String, BiPredicate<TypeA, TypeB>> entry : conditions().entrySet()) {
+            String condition = entry.getKey();
+            List<String> expected = expected(entry.getValue());
+            List<String> hashJoin = run(mode, condition, false);
+            List<String> nestedLoop = run(mode, condition, true);
+            assert !expected.isEmpty();
+            assert nestedLoop.equals(expected) : condition + ": " + nestedLoop.size() + " vs expected " + expected.size();
+            assert hashJoin.equals(nestedLoop) : condition + ": " + hashJoin.size() + " vs " + nestedLoop.size();
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package org.evrete.runtime;
+
+import org.evrete.Configuration;
+import org.evrete.KnowledgeService;
+import org.evrete.api.*;
+import org.evrete.classes.TypeA;
+import org.evrete.classes.TypeB;
+import org.evrete.classes.TypeC;
+import org.evrete.classes.TypeD;
+import org.evrete.util.Constants;
+import org.evrete.util.NextIntSupplier;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class MemoryPurgeTest {
+    private static KnowledgeService service;
+
+    @BeforeAll
+    static void setUpClass() {
+        service = new KnowledgeService();
+    }
+
+    @AfterAll
+    static void shutDownClass() {
+        service.shutdown();
+    }
+
+    private static StatefulSessionImpl newSession(NextIntSupplier counter, boolean incrementalPurge) {
+        Knowledge knowledge = service.newKnowledge();
+        knowledge.getConfiguration().setProperty(Configuration.INCREMENTAL_KEY_PURGE, String.valueOf(incrementalPurge));
+        return (StatefulSessionImpl) knowledge
+                .newRule()
+                .forEach(
+                        "$a", TypeA.class,
+                        "$b", TypeB.class
+                )
+                .where("$a.i == $b.i")
+                .execute(ctx -> counter.next())
+                .newStatefulSession();
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void purgeDeletedKeys(boolean incrementalPurge) {
+        NextIntSupplier counter = new NextIntSupplier();
+        try (StatefulSessionImpl session = newSession(counter, incrementalPurge)) {
+            int keys = 16;
+            List<FactHandle> handles = new ArrayList<>();
+            List<TypeA> facts = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                TypeA a = new TypeA("A" + i);
+                a.setI(i % keys);
+                handles.add(session.insert(a));
+                facts.add(a);
+            }
+            session.fire();
+
+            TypeMemory tm = session.getMemory().get(0);
+            // Field values are kept only if incremental purges need them
+            assert (tm.getFactRecord(handles.get(0)).getValues() != null) == incrementalPurge;
+            KeyedFactStorage storage = tm.getMemoryBuckets().get(0).getFieldData();
+            assert keyCount(storage) == keys;
+            assert handleCount(storage) == 64;
+
+            // Deleting all facts of a single key
+            for (int i = 0; i < 64; i += keys) {
+                session.delete(handles.get(i));
+            }
+            session.fire();
+            assert keyCount(storage) == keys - 1 : "Actual: " + keyCount(storage);
+            assert handleCount(storage) == 60;
+
+            // Moving a fact to a new key
+            TypeA moved = facts.get(1);
+            moved.setI(100);
+            session.update(handles.get(1), moved);
+            session.fire();
+            assert keyCount(storage) == keys;
+            assert handleCount(storage) == 60 : "Actual: " + handleCount(storage);
+
+            // Memory is consistent with the facts
+            TypeB b = new TypeB();
+            b.setI(1);
+            session.insertAndFire(b);
+            assert counter.get() == 3 : "Actual: " + counter.get();
+        }
+    }
+
+    @Test
+    void purgeConditionMemory() {
+        NextIntSupplier counter = new NextIntSupplier();
+        // Condition memories are stored only if a rule has more than one group of joined facts
+        Knowledge knowledge = service.newKnowledge();
+        knowledge.newRule()
+                .forEach(
+                        "$a", TypeA.class,
+                        "$b", TypeB.class,
+                        "$c", TypeC.class,
+                        "$d", TypeD.class
+                )
+                .where("$a.i == $b.i")
+                .where("$c.i == $d.i")
+                .execute(ctx -> counter.next());
+
+        try (StatefulSessionImpl session = (StatefulSessionImpl) knowledge.newStatefulSession()) {
+            TypeC c = new TypeC("C");
+            c.setI(0);
+            TypeD d = new TypeD("D");
+            d.setI(0);
+            session.insert(c);
+            session.insert(d);
+
+            int keys = 16;
+            int size = 64;
+            List<FactHandle> handles = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                TypeA a = new TypeA("A" + i);
+                a.setI(i % keys);
+                handles.add(session.insert(a));
+            }
+            for (int i = 0; i < keys; i++) {
+                TypeB b = new TypeB("B" + i);
+                b.setI(i);
+                session.insert(b);
+            }
+            session.fire();
+            assert counter.get() == size;
+
+            MemoryKeyCollection main = null;
+            for (BetaEndNode node : ((RuntimeRuleImpl) session.getRules().get(0)).getEndNodes()) {
+                if (node.getDescriptor().getTypes()[0].getName().equals("$a")) {
+                    assert node.hasMainStorage();
+                    main = node.getStore(KeyMode.OLD_OLD);
+                }
+            }
+            assert main != null;
+            // Rows are combinations of memory keys
+            assert rowCount(main) == keys;
+
+            // A small share of deleted keys leaves the condition memory as is
+            for (int i = 0; i < size; i += keys) {
+                session.delete(handles.get(i));
+            }
+            session.fire();
+            assert rowCount(main) == keys;
+            assert liveRowCount(main) == keys - 1;
+
+            // Stale rows are never matched
+            counter.set(0);
+            TypeB b = new TypeB("B");
+            b.setI(0);
+            session.insertAndFire(b);
+            assert counter.get() == 0 : "Actual: " + counter.get();
+
+            // Once the share of deleted keys reaches the threshold, the memory is purged
+            int deletedKeys = 1;
+            while (rowCount(main) != liveRowCount(main) && deletedKeys < keys / 2) {
+                deletedKeys++;
+                for (int i = deletedKeys; i < size; i += keys) {
+                    session.delete(handles.get(i));
+                }
+                session.fire();
+            }
+            assert rowCount(main) == liveRowCount(main);
+            assert rowCount(main) == keys - deletedKeys : "Actual: " + rowCount(main);
+
+            // Memory is consistent with the facts
+            counter.set(0);
+            b = new TypeB("B1");
+            b.setI(1);
+            session.insertAndFire(b);
+            assert counter.get() == 4 : "Actual: " + counter.get();
+        }
+    }
+
+    private static long rowCount(MemoryKeyCollection collection) {
+        return collection.iterator().reset() / 2;
+    }
+
+    private static long liveRowCount(MemoryKeyCollection collection) {
+        long count = 0;
+        ReIterator<MemoryKey> it = collection.iterator();
+        while (it.hasNext()) {
+            MemoryKey k1 = it.next();
+            MemoryKey k2 = it.next();
+            if (k1.getMetaValue() != Constants.DELETED_MEMORY_KEY_FLAG && k2.getMetaValue() != Constants.DELETED_MEMORY_KEY_FLAG) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static long keyCount(KeyedFactStorage storage) {
+        return storage.keys(KeyMode.OLD_OLD).reset();
+    }
+
+    private static long handleCount(KeyedFactStorage storage) {
+        long count = 0;
+        ReIterator<MemoryKey> it = storage.keys(KeyMode.OLD_OLD);
+        while (it.hasNext()) {
+            count += storage.values(KeyMode.OLD_OLD, it.next()).reset();
+        }
+        return count;
+    }
+}
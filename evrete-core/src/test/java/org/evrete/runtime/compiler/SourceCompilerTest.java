@@ -1,13 +1,22 @@
 package org.evrete.runtime.compiler;
 
 import org.evrete.api.JavaSourceCompiler;
+import org.evrete.runtime.async.ForkJoinExecutor;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 class SourceCompilerTest {
     RuntimeClassloader classloader;
@@ -284,6 +293,127 @@ class SourceCompilerTest {
         }
     }
 
+    @Test
+    void cachedClasses(@TempDir Path dir) throws Exception {
+        String source = "\n" +
+                "package test.pkg1;\n" +
+                "public class Cached {\n" +
+                "    public static class Nested {}\n" +
+                "    public int value() { return new Runnable() { public void run() {} }.hashCode() > 0 ? 1 : 1; }\n" +
+                "}";
+
+        SourceCompiler cached = new SourceCompiler(classloader, new CompiledClassCache(dir));
+        cached.compile(Collections.singleton(source));
+        List<Path> entries = cacheEntries(dir);
+        assert entries.size() == 1 : entries;
+        long modified = Files.getLastModifiedTime(entries.get(0)).toMillis();
+
+        // A new class loader gets the classes from the cache
+        RuntimeClassloader other = new RuntimeClassloader(Thread.currentThread().getContextClassLoader());
+        Map<String, Class<?>> result = new SourceCompiler(other, new CompiledClassCache(dir)).compile(Collections.singleton(source));
+        Class<?> cl = result.get(source);
+        assert cl.getClassLoader() == other;
+        assert cl.getMethod("value").invoke(cl.getConstructor().newInstance()).equals(1);
+        Class.forName("test.pkg1.Cached$Nested", true, other);
+        assert cacheEntries(dir).equals(entries);
+        assert Files.getLastModifiedTime(entries.get(0)).toMillis() == modified;
+
+        // Broken entries are compiled again
+        Files.write(entries.get(0), new byte[]{1, 2, 3});
+        other = new RuntimeClassloader(Thread.currentThread().getContextClassLoader());
+        cl = new SourceCompiler(other, new CompiledClassCache(dir)).compile(Collections.singleton(source)).get(source);
+        assert cl.getClassLoader() == other;
+        assert Files.size(entries.get(0)) > 3;
+    }
+
+    @Test
+    void classpathCache(@TempDir Path dir) throws Exception {
+        String source = "package test.pkg1;\npublic class Precompiled {}";
+        // The cached classes are returned without compiling the invalid source
+        JavaSourceCompiler.ClassSource invalid = new JavaSourceCompiler.ClassSource() {
+            @Override
+            public String binaryName() {
+                return "test.pkg1.Precompiled";
+            }
+
+            @Override
+            public String getSource() {
+                return "Hello World";
+            }
+        };
+
+        CompiledClassCache directory = new CompiledClassCache(dir.resolve("cache"));
+        new SourceCompiler(classloader, directory).compile(Collections.singleton(source));
+        directory.put(invalid.getSource(), directory.get(source));
+
+        try (URLClassLoader resources = new URLClassLoader(new URL[]{dir.toUri().toURL()})) {
+            CompiledClassCache cache = new CompiledClassCache(resources, "cache");
+            RuntimeClassloader other = new RuntimeClassloader(Thread.currentThread().getContextClassLoader());
+            Collection<JavaSourceCompiler.Result<JavaSourceCompiler.ClassSource>> results = new SourceCompiler(other, cache).compile(Collections.singletonList(invalid));
+            assert results.iterator().next().getCompiledClass().getClassLoader() == other;
+        }
+    }
+
+    @Test
+    void partitionedCompilation() throws CompilationException, ClassNotFoundException {
+        ForkJoinExecutor executor = new ForkJoinExecutor(4);
+        try {
+            SourceCompiler partitioned = new SourceCompiler(classloader, null, executor, 2);
+            Set<String> sources = new HashSet<>();
+            for (int i = 0; i < 20; i++) {
+                sources.add("package test.pkg1;\npublic class Partitioned" + i + " {}");
+            }
+            Map<String, Class<?>> result = partitioned.compile(sources);
+            assert result.size() == 20;
+            for (int i = 0; i < 20; i++) {
+                Class.forName("test.pkg1.Partitioned" + i, true, classloader);
+            }
+
+            // Sources that refer to each other end up in different partitions
+            sources.clear();
+            for (int i = 0; i < 20; i++) {
+                String superClass = i == 0 ? "" : " extends Chained" + (i - 1);
+                sources.add("package test.pkg1;\npublic class Chained" + i + superClass + " {}");
+            }
+            result = partitioned.compile(sources);
+            assert result.size() == 20;
+            assert Class.forName("test.pkg1.Chained19", true, classloader).getSuperclass().getSimpleName().equals("Chained18");
+
+            // Errors are reported as usual
+            List<JavaSourceCompiler.ClassSource> invalidSources = new LinkedList<>();
+            for (int i = 0; i < 10; i++) {
+                invalidSources.add(new InvalidSource(i));
+            }
+            try {
+                partitioned.compile(invalidSources);
+                assert false;
+            } catch (CompilationException e) {
+                assert e.getErrorSources().size() == 10;
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void identicalSources() throws CompilationException {
+        List<JavaSourceCompiler.ClassSource> sources = new LinkedList<>();
+        for (int i = 0; i < 3; i++) {
+            sources.add(JavaSourceObject.parse("package test.pkg1;\npublic class Same {}"));
+        }
+        Collection<JavaSourceCompiler.Result<JavaSourceCompiler.ClassSource>> results = compiler.compile(sources);
+        assert results.size() == 3;
+        for (JavaSourceCompiler.Result<JavaSourceCompiler.ClassSource> r : results) {
+            assert r.getCompiledClass().getName().equals("test.pkg1.Same");
+        }
+    }
+
+    private static List<Path> cacheEntries(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.sorted().collect(Collectors.toList());
+        }
+    }
+
     static class InvalidSource implements JavaSourceCompiler.ClassSource {
         private final int idx;
 
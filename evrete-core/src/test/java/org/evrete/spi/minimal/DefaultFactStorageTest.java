@@ -65,9 +65,9 @@ class DefaultFactStorageTest {
             // Memory key storage
             SharedAlphaData bucket = (SharedAlphaData) tm.getMemoryBuckets().get(0).getFieldData();
 
-            LinkedFactHandles main = bucket.get(KeyMode.OLD_OLD);
-            LinkedFactHandles delta1 = bucket.get(KeyMode.OLD_NEW);
-            LinkedFactHandles delta2 = bucket.get(KeyMode.NEW_NEW);
+            FactHandles main = bucket.get(KeyMode.OLD_OLD);
+            FactHandles delta1 = bucket.get(KeyMode.OLD_NEW);
+            FactHandles delta2 = bucket.get(KeyMode.NEW_NEW);
 
             assert main.iterator().reset() == 1 : " Actual: " + main;
             assert delta1.size() == 0;
@@ -12,8 +12,14 @@ import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 import static org.evrete.Configuration.CONDITION_BASE_CLASS;
 
@@ -94,6 +100,160 @@ class EvaluatorCompilerTest {
         testRhs(lhsBuilder);
     }
 
+    @Test
+    void testConsolidatedConditions() throws Exception {
+        knowledge.getConfiguration().setProperty(Configuration.CONDITIONS_PER_CLASS, "2");
+        LhsBuilder<Knowledge> lhsBuilder = knowledge.newRule()
+                .forEach(
+                        "$a", TypeA.class,
+                        "$b", TypeB.class
+                );
+
+        List<LiteralExpression> expressions = Arrays.asList(
+                LiteralExpression.of("$a.i == $b.i", lhsBuilder),
+                LiteralExpression.of("$a.i >= 0", lhsBuilder),
+                LiteralExpression.of("$b.l < 100L", lhsBuilder)
+        );
+        Collection<LiteralEvaluator> evaluators = knowledge.getExpressionResolver().buildExpressions(expressions);
+        assert evaluators.size() == expressions.size();
+
+        // Three conditions, two per class
+        Set<String> classSources = new HashSet<>();
+        for (LiteralEvaluator evaluator : evaluators) {
+            String source = ((CompiledEvaluator) evaluator).getJavaSource();
+            assert source.contains("extends " + BaseConditionClass.class.getName());
+            assert expressions.contains(evaluator.getSource());
+            classSources.add(source);
+        }
+        assert classSources.size() == 2;
+
+        lhsBuilder.where("$a.i == $b.i", "$a.i >= 0", "$b.l < 100L");
+        testRhs(lhsBuilder);
+    }
+
+    @Test
+    void testConsolidatedRuleSet(@TempDir Path cache) throws Exception {
+        int ruleCount = 32;
+        // Each compiled class is a separate cache entry
+        Configuration conf = new Configuration();
+        conf.setProperty(Configuration.CONDITIONS_PER_CLASS, "16");
+        conf.setProperty(Configuration.COMPILED_CLASS_CACHE, cache.resolve("direct").toString());
+        Knowledge direct = new KnowledgeService(conf).newKnowledge();
+        conf.setProperty(Configuration.COMPILED_CLASS_CACHE, cache.resolve("batch").toString());
+        Knowledge batch = new KnowledgeService(conf).newKnowledge();
+
+        AtomicInteger counter = new AtomicInteger();
+        RuleSetBuilder<Knowledge> builder = batch.builder();
+        for (int i = 0; i < ruleCount; i++) {
+            String condition = "$a.i >= " + i;
+            direct.newRule().forEach("$a", TypeA.class).where(condition).execute(ctx -> counter.incrementAndGet());
+            builder.newRule().forEach("$a", TypeA.class).where(condition).execute(ctx -> counter.incrementAndGet());
+        }
+        builder.build();
+
+        // Conditions of separately added rules are compiled one rule at a time
+        assert classCount(cache.resolve("direct")) == ruleCount;
+        // Conditions of a rule set are packed together
+        assert classCount(cache.resolve("batch")) == 2 : classCount(cache.resolve("batch"));
+
+        for (Knowledge k : Arrays.asList(direct, batch)) {
+            counter.set(0);
+            try (StatefulSession s = k.newStatefulSession()) {
+                s.insertAndFire(new TypeA(ruleCount / 2));
+            }
+            assert counter.get() == ruleCount / 2 + 1 : counter.get();
+            k.getService().shutdown();
+        }
+    }
+
+    private static long classCount(Path dir) throws Exception {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.count();
+        }
+    }
+
+    @Test
+    void testEqualityDetection() throws Exception {
+        RuleBuilder<Knowledge> ruleBuilder = knowledge.newRule();
+        ruleBuilder.forEach(
+                "$a", TypeA.class,
+                "$b", TypeB.class
+        );
+
+        assert isEquality(ruleBuilder, "$a.i == $b.i");
+        assert isEquality(ruleBuilder, "$a.id == $b.id");
+        assert !isEquality(ruleBuilder, "$a.i != $b.i");
+        assert !isEquality(ruleBuilder, "$a.i == $b.i + 1");
+        assert !isEquality(ruleBuilder, "$a.i == $b.l");
+        assert !isEquality(ruleBuilder, "$a.d == $b.d");
+        assert !isEquality(ruleBuilder, "$a.i == 1");
+    }
+
+    @Test
+    void testConstantComparisonDetection() throws Exception {
+        RuleBuilder<Knowledge> ruleBuilder = knowledge.newRule();
+        ruleBuilder.forEach(
+                "$a", TypeA.class,
+                "$b", TypeB.class
+        );
+
+        assert comparison(ruleBuilder, "$a.i == 1").equals(new ConstantComparison(ConstantComparison.Operator.EQUALS, 1));
+        assert comparison(ruleBuilder, "$a.i != -1").equals(new ConstantComparison(ConstantComparison.Operator.NOT_EQUALS, -1));
+        assert comparison(ruleBuilder, "$a.l >= 5L").equals(new ConstantComparison(ConstantComparison.Operator.GREATER_OR_EQUAL, 5L));
+        assert comparison(ruleBuilder, "10 > $a.i").equals(new ConstantComparison(ConstantComparison.Operator.LESS, 10));
+        assert comparison(ruleBuilder, "$a.d < 1.5").equals(new ConstantComparison(ConstantComparison.Operator.LESS, 1.5));
+        // Leading zeros make a decimal literal only with a fraction or a double suffix
+        assert comparison(ruleBuilder, "$a.d < 010.5").equals(new ConstantComparison(ConstantComparison.Operator.LESS, 10.5));
+        assert comparison(ruleBuilder, "$a.d < 010d").equals(new ConstantComparison(ConstantComparison.Operator.LESS, 10.0));
+        assert comparison(ruleBuilder, "$a.d < 0").equals(new ConstantComparison(ConstantComparison.Operator.LESS, 0.0));
+        assert comparison(ruleBuilder, "\"XYZ\".equals($a.str)").equals(new ConstantComparison(ConstantComparison.Operator.EQUALS, "XYZ"));
+        assert comparison(ruleBuilder, "$a.str.equals(\"XYZ\")").equals(new ConstantComparison(ConstantComparison.Operator.EQUALS, "XYZ"));
+
+        assert comparison(ruleBuilder, "$a.d == 1.0") == null;
+        assert comparison(ruleBuilder, "$a.i > 1.5") == null;
+        assert comparison(ruleBuilder, "$a.i == 010") == null;
+        assert comparison(ruleBuilder, "$a.d < 010") == null;
+        assert comparison(ruleBuilder, "$a.d > -010") == null;
+        assert comparison(ruleBuilder, "$a.i + 1 > 2") == null;
+        assert comparison(ruleBuilder, "$a.i > $b.i") == null;
+        assert comparison(ruleBuilder, "$a.str == \"XYZ\"") == null;
+    }
+
+    @Test
+    void testComparisonOperatorDetection() throws Exception {
+        RuleBuilder<Knowledge> ruleBuilder = knowledge.newRule();
+        ruleBuilder.forEach(
+                "$a", TypeA.class,
+                "$b", TypeB.class
+        );
+
+        assert operator(ruleBuilder, "$a.i < $b.i") == ConstantComparison.Operator.LESS;
+        // Operators refer to the order of the condition's arguments
+        assert operator(ruleBuilder, "$b.i < $a.i") == ConstantComparison.Operator.LESS;
+        assert operator(ruleBuilder, "$a.l >= $b.l") == ConstantComparison.Operator.GREATER_OR_EQUAL;
+        assert operator(ruleBuilder, "$b.d <= $a.d") == ConstantComparison.Operator.LESS_OR_EQUAL;
+
+        assert operator(ruleBuilder, "$a.i == $b.i") == null;
+        assert operator(ruleBuilder, "$a.i < $b.l") == null;
+        assert operator(ruleBuilder, "$a.i + 1 < $b.i") == null;
+        assert operator(ruleBuilder, "$a.i < 5") == null;
+    }
+
+    private ConstantComparison.Operator operator(RuleBuilder<Knowledge> ruleBuilder, String condition) throws Exception {
+        EvaluatorHandle handle = ruleBuilder.createCondition(condition);
+        return knowledge.getEvaluator(handle).getComparisonOperator();
+    }
+
+    private ConstantComparison comparison(RuleBuilder<Knowledge> ruleBuilder, String condition) throws Exception {
+        EvaluatorHandle handle = ruleBuilder.createCondition(condition);
+        return knowledge.getEvaluator(handle).getConstantComparison();
+    }
+
+    private boolean isEquality(RuleBuilder<Knowledge> ruleBuilder, String condition) throws Exception {
+        EvaluatorHandle handle = ruleBuilder.createCondition(condition);
+        return knowledge.getEvaluator(handle).isEquality();
+    }
+
     private void testRhs(LhsBuilder<Knowledge> lhsBuilder) {
         AtomicInteger counter = new AtomicInteger();
         Knowledge k = lhsBuilder.execute(ctx -> {
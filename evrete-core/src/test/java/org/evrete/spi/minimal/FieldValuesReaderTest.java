@@ -0,0 +1,116 @@
+package org.evrete.spi.minimal;
+
+import org.evrete.Configuration;
+import org.evrete.KnowledgeService;
+import org.evrete.api.*;
+import org.evrete.classes.TypeA;
+import org.evrete.classes.TypeB;
+import org.evrete.classes.TypeD;
+import org.evrete.runtime.KnowledgeRuntime;
+import org.evrete.util.NextIntSupplier;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class FieldValuesReaderTest {
+    private static KnowledgeService service;
+
+    @BeforeAll
+    static void setUpClass() {
+        service = new KnowledgeService();
+    }
+
+    @AfterAll
+    static void shutDownClass() {
+        service.shutdown();
+    }
+
+    @Test
+    void sameHandlesAsFieldReads() {
+        KnowledgeRuntime knowledge = (KnowledgeRuntime) service.newKnowledge();
+        Type<TypeA> type = knowledge.getTypeResolver().declare(TypeA.class);
+        type.declareIntField("twice", a -> a.getI() * 2);
+
+        TypeField[] fields = new TypeField[]{
+                type.getField(""),
+                type.getField("i"),
+                type.getField("l"),
+                type.getField("d"),
+                type.getField("s"),
+                type.getField("id"),
+                type.getField("typeD.i"),
+                type.getField("typeD.id"),
+                type.getField("twice")
+        };
+
+        FieldValuesReader reader = type.newFieldValuesReader(fields, knowledge.getSourceCompiler());
+        assert reader != null;
+
+        DefaultValueResolver resolver = new DefaultValueResolver();
+        TypeA a = new TypeA("A");
+        a.setAllNumeric(7);
+        assertSameValues(reader, resolver, fields, a);
+
+        TypeD d = new TypeD("D");
+        d.setAllNumeric(11);
+        a.setTypeD(d);
+        assertSameValues(reader, resolver, fields, a);
+
+        // Compiled readers are shared among type copies
+        Type<TypeA> copy = type.copyOf();
+        TypeField[] copyFields = new TypeField[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            copyFields[i] = copy.getField(fields[i].getName());
+        }
+        FieldValuesReader copyReader = copy.newFieldValuesReader(copyFields, knowledge.getSourceCompiler());
+        assert copyReader != null;
+        assert copyReader.getClass() == reader.getClass();
+    }
+
+    @Test
+    void sessionWithGeneratedReaders() {
+        Knowledge knowledge = service.newKnowledge();
+        knowledge.getConfiguration().setProperty(Configuration.GENERATED_FIELD_READERS, "true");
+        NextIntSupplier counter = new NextIntSupplier();
+        knowledge.newRule()
+                .forEach(
+                        "$a", TypeA.class,
+                        "$b", TypeB.class
+                )
+                .where("$a.i == $b.i")
+                .where("$a.d > 1.0")
+                .execute(ctx -> counter.next());
+
+        try (StatefulSession s = knowledge.newStatefulSession()) {
+            for (int i = 0; i < 8; i++) {
+                TypeA a = new TypeA("A" + i);
+                a.setAllNumeric(i);
+                TypeB b = new TypeB("B" + i);
+                b.setAllNumeric(i);
+                s.insert(a);
+                s.insert(b);
+            }
+            s.fire();
+            assert counter.get() == 6 : "Actual: " + counter.get();
+        }
+    }
+
+    private static void assertSameValues(FieldValuesReader reader, ValueResolver resolver, TypeField[] fields, Object fact) {
+        ValueHandle[] generated = new ValueHandle[fields.length];
+        reader.read(fact, resolver, generated);
+        for (int i = 0; i < fields.length; i++) {
+            TypeField field = fields[i];
+            ValueHandle expected;
+            if (field.hasPrimitiveReader() && field.getValueType() == int.class) {
+                expected = resolver.getValueHandle(field.readInt(fact));
+            } else if (field.hasPrimitiveReader() && field.getValueType() == long.class) {
+                expected = resolver.getValueHandle(field.readLong(fact));
+            } else if (field.hasPrimitiveReader() && field.getValueType() == double.class) {
+                expected = resolver.getValueHandle(field.readDouble(fact));
+            } else {
+                expected = resolver.getValueHandle(field.getValueType(), field.readValue(fact));
+            }
+            assert expected.equals(generated[i]) : "Field " + field.getName() + ": " + expected + " vs " + generated[i];
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package org.evrete.spi.minimal;
+
+import org.evrete.KnowledgeService;
+import org.evrete.api.Knowledge;
+import org.evrete.api.StatefulSession;
+import org.evrete.api.ValueHandle;
+import org.evrete.classes.TypeA;
+import org.evrete.classes.TypeB;
+import org.evrete.util.NextIntSupplier;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class InterningValueResolverTest {
+    private static KnowledgeService service;
+
+    @BeforeAll
+    static void setUpClass() {
+        service = new KnowledgeService();
+    }
+
+    @AfterAll
+    static void shutDownClass() {
+        service.shutdown();
+    }
+
+    @Test
+    void canonicalHandles() {
+        InterningValueResolver resolver = new InterningValueResolver();
+        ValueHandle h1 = resolver.getValueHandle(String.class, new String("abc"));
+        ValueHandle h2 = resolver.getValueHandle(String.class, new String("abc"));
+        ValueHandle h3 = resolver.getValueHandle(String.class, "xyz");
+        ValueHandle n1 = resolver.getValueHandle(String.class, null);
+        ValueHandle n2 = resolver.getValueHandle(String.class, null);
+
+        assert resolver.size() == 2;
+        assert h1 == h2;
+        assert h1.equals(h2);
+        assert !h1.equals(h3);
+        assert n1 == n2;
+        assert resolver.getValue(n1) == null;
+        assert "abc".equals(resolver.getValue(h1));
+    }
+
+    @Test
+    void sessionWithInterning() {
+        Knowledge knowledge = service.newKnowledge();
+        knowledge.getConfiguration().setProperty(DefaultMemoryFactory.CONFIG_VALUE_INTERNING, "true");
+        NextIntSupplier counter = new NextIntSupplier();
+        knowledge.newRule()
+                .forEach(
+                        "$a", TypeA.class,
+                        "$b", TypeB.class
+                )
+                .where("$a.i == $b.i")
+                .where("$a.id != $b.id")
+                .execute(ctx -> counter.next());
+
+        try (StatefulSession s = knowledge.newStatefulSession()) {
+            int mod = 4;
+            for (int i = 0; i < 64; i++) {
+                TypeA a = new TypeA("A" + i);
+                a.setAllNumeric(i % mod);
+                TypeB b = new TypeB("B" + i);
+                b.setAllNumeric(i % mod);
+                s.insert(a);
+                s.insert(b);
+            }
+            s.fire();
+            assert counter.get() == 64 * 64 / mod : "Actual: " + counter.get();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package org.evrete.spi.minimal;
+
+import org.evrete.KnowledgeService;
+import org.evrete.api.FactHandle;
+import org.evrete.api.FactHandleVersioned;
+import org.evrete.api.Knowledge;
+import org.evrete.api.ReIterator;
+import org.evrete.api.StatefulSession;
+import org.evrete.api.Type;
+import org.evrete.classes.TypeA;
+import org.evrete.classes.TypeB;
+import org.evrete.util.NextIntSupplier;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class PackedFactHandlesTest {
+    private static KnowledgeService service;
+
+    @BeforeAll
+    static void setUpClass() {
+        service = new KnowledgeService();
+    }
+
+    @AfterAll
+    static void shutDownClass() {
+        service.shutdown();
+    }
+
+    @Test
+    void addRemoveConsume() {
+        Type<TypeA> type = service.newKnowledge().getTypeResolver().declare(TypeA.class);
+        SlabFactStorage<String> storage = new SlabFactStorage<>(type, String::equals, 16);
+
+        int count = 10_000;
+        List<FactHandle> handles = new ArrayList<>();
+        PackedFactHandles packed = new PackedFactHandles();
+        for (int i = 0; i < count; i++) {
+            FactHandle h = storage.insert("fact" + i);
+            handles.add(h);
+            packed.add(new FactHandleVersioned(h, i));
+        }
+        assert packed.size() == count;
+
+        // Handles must be equal to the original ones
+        ReIterator<FactHandleVersioned> it = packed.iterator();
+        int i = 0;
+        while (it.hasNext()) {
+            FactHandleVersioned v = it.next();
+            assert v.getVersion() == i;
+            assert v.getHandle().equals(handles.get(i));
+            assert v.getHandle().hashCode() == handles.get(i).hashCode();
+            assert storage.getFact(v.getHandle()).equals("fact" + i);
+            i++;
+        }
+        assert i == count;
+
+        // Removing odd entries, with a nested iteration in the middle
+        it.reset();
+        while (it.hasNext()) {
+            FactHandleVersioned v = it.next();
+            if (v.getVersion() % 2 == 1) {
+                it.remove();
+            }
+            if (v.getVersion() == count / 2) {
+                ReIterator<FactHandleVersioned> nested = packed.iterator();
+                while (nested.hasNext()) {
+                    nested.next();
+                }
+            }
+        }
+        assert it.reset() == count / 2;
+        while (it.hasNext()) {
+            assert it.next().getVersion() % 2 == 0;
+        }
+
+        // Consuming another collection, removed entries get compacted
+        PackedFactHandles other = new PackedFactHandles();
+        other.add(new FactHandleVersioned(handles.get(1), -1));
+        packed.consume(other);
+        assert other.size() == 0;
+        assert packed.size() == count / 2 + 1;
+        it.reset();
+        FactHandleVersioned last = null;
+        while (it.hasNext()) {
+            last = it.next();
+        }
+        assert last != null && last.getVersion() == -1;
+
+        packed.clear();
+        assert packed.size() == 0;
+        assert !packed.iterator().hasNext();
+    }
+
+    @Test
+    void sessionWithPackedHandles() {
+        Knowledge knowledge = service.newKnowledge();
+        knowledge.getConfiguration().setProperty(DefaultMemoryFactory.CONFIG_PACKED_FACT_HANDLES, "true");
+        NextIntSupplier counter = new NextIntSupplier();
+        knowledge.newRule()
+                .forEach(
+                        "$a", TypeA.class,
+                        "$b", TypeB.class
+                )
+                .where("$a.i == $b.i")
+                .execute(ctx -> counter.next());
+
+        try (StatefulSession s = knowledge.newStatefulSession()) {
+            List<FactHandle> handles = new ArrayList<>();
+            int mod = 4;
+            for (int i = 0; i < 64; i++) {
+                TypeA a = new TypeA("A" + i);
+                a.setAllNumeric(i % mod);
+                TypeB b = new TypeB("B" + i);
+                b.setAllNumeric(i % mod);
+                handles.add(s.insert(a));
+                s.insert(b);
+            }
+            s.fire();
+            assert counter.get() == 64 * 64 / mod : "Actual: " + counter.get();
+
+            for (int i = 0; i < handles.size(); i += 2) {
+                s.delete(handles.get(i));
+            }
+            s.fire();
+            // Facts with even keys have been deleted
+            counter.set(0);
+            TypeB b1 = new TypeB("B1");
+            b1.setAllNumeric(1);
+            s.insertAndFire(b1);
+            assert counter.get() == 64 / mod : "Actual: " + counter.get();
+
+            counter.set(0);
+            TypeB b2 = new TypeB("B2");
+            b2.setAllNumeric(2);
+            s.insertAndFire(b2);
+            assert counter.get() == 0 : "Actual: " + counter.get();
+        }
+    }
+}
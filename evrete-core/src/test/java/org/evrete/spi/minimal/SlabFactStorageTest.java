@@ -0,0 +1,168 @@
+package org.evrete.spi.minimal;
+
+import org.evrete.KnowledgeService;
+import org.evrete.api.FactHandle;
+import org.evrete.api.FactStorage;
+import org.evrete.api.Knowledge;
+import org.evrete.api.ReIterator;
+import org.evrete.api.StatefulSession;
+import org.evrete.api.Type;
+import org.evrete.classes.TypeA;
+import org.evrete.classes.TypeB;
+import org.evrete.util.NextIntSupplier;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+class SlabFactStorageTest {
+    private static KnowledgeService service;
+
+    @BeforeAll
+    static void setUpClass() {
+        service = new KnowledgeService();
+    }
+
+    @AfterAll
+    static void shutDownClass() {
+        service.shutdown();
+    }
+
+    @Test
+    void storageOperations() {
+        Type<TypeA> type = service.newKnowledge().getTypeResolver().declare(TypeA.class);
+        SlabFactStorage<String> storage = new SlabFactStorage<>(type, String::equals, 16);
+
+        int count = 1000;
+        List<FactHandle> handles = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            FactHandle h = storage.insert("fact" + i);
+            assert h != null;
+            assert h.getTypeId() == type.getId();
+            handles.add(h);
+        }
+        assert storage.insert("fact0") == null;
+        assert storage.iterator().reset() == count;
+
+        for (int i = 0; i < count; i++) {
+            assert storage.getFact(handles.get(i)).equals("fact" + i);
+        }
+
+        // Deleting every other fact
+        for (int i = 0; i < count; i += 2) {
+            storage.delete(handles.get(i));
+        }
+        assert storage.iterator().reset() == count / 2;
+        assert storage.getFact(handles.get(0)) == null;
+
+        // Reused slots must not be reachable by old handles
+        FactHandle reused = storage.insert("fact0");
+        assert reused != null;
+        assert !reused.equals(handles.get(0));
+        assert storage.getFact(handles.get(0)) == null;
+        assert storage.getFact(reused).equals("fact0");
+        storage.delete(handles.get(0));
+        assert storage.getFact(reused).equals("fact0");
+
+        // Update
+        storage.update(handles.get(1), "updated");
+        assert storage.getFact(handles.get(1)).equals("updated");
+
+        // Iteration
+        Set<FactHandle> iterated = new HashSet<>();
+        ReIterator<FactStorage.Entry<String>> it = storage.iterator();
+        while (it.hasNext()) {
+            FactStorage.Entry<String> e = it.next();
+            assert storage.getFact(e.getHandle()).equals(e.getInstance());
+            iterated.add(e.getHandle());
+        }
+        assert iterated.size() == count / 2 + 1;
+
+        storage.clear();
+        assert storage.iterator().reset() == 0;
+        assert storage.getFact(reused) == null;
+        assert storage.insert("fact0") != null;
+    }
+
+    @Test
+    void staleHandlesAfterClear() {
+        Type<TypeA> type = service.newKnowledge().getTypeResolver().declare(TypeA.class);
+        int minCapacity = 16;
+        // Slabs that have not grown, and those that have
+        for (int count : new int[]{minCapacity / 2, minCapacity * 4}) {
+            SlabFactStorage<String> storage = new SlabFactStorage<>(type, String::equals, minCapacity);
+            List<FactHandle> stale = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                stale.add(storage.insert("fact" + i));
+            }
+            // Slot generations differ before clear()
+            storage.delete(stale.get(0));
+            stale.add(storage.insert("fact0"));
+            int capacity = storage.capacity();
+
+            for (int round = 0; round < 3; round++) {
+                storage.clear();
+                // Cleared in place
+                assert storage.capacity() == capacity;
+                List<FactHandle> current = new ArrayList<>();
+                for (int i = 0; i < count; i++) {
+                    current.add(storage.insert("fact" + i));
+                }
+                for (FactHandle h : stale) {
+                    assert !current.contains(h);
+                    assert storage.getFact(h) == null;
+                    storage.update(h, "updated");
+                    storage.delete(h);
+                }
+                assert storage.iterator().reset() == count;
+                for (int i = 0; i < count; i++) {
+                    assert storage.getFact(current.get(i)).equals("fact" + i);
+                }
+                stale.addAll(current);
+            }
+        }
+    }
+
+    @Test
+    void sessionWithSlabStorage() {
+        Knowledge knowledge = service.newKnowledge();
+        knowledge.getConfiguration().setProperty(DefaultMemoryFactory.CONFIG_SLAB_FACT_STORAGE, "true");
+        NextIntSupplier counter = new NextIntSupplier();
+        knowledge.newRule()
+                .forEach(
+                        "$a", TypeA.class,
+                        "$b", TypeB.class
+                )
+                .where("$a.i == $b.i")
+                .execute(ctx -> counter.next());
+
+        try (StatefulSession s = knowledge.newStatefulSession()) {
+            List<FactHandle> handles = new ArrayList<>();
+            int mod = 4;
+            for (int i = 0; i < 64; i++) {
+                TypeA a = new TypeA("A" + i);
+                a.setAllNumeric(i % mod);
+                TypeB b = new TypeB("B" + i);
+                b.setAllNumeric(i % mod);
+                handles.add(s.insert(a));
+                s.insert(b);
+            }
+            s.fire();
+            assert counter.get() == 64 * 64 / mod : "Actual: " + counter.get();
+
+            for (FactHandle h : handles) {
+                s.delete(h);
+            }
+            s.fire();
+            counter.set(0);
+            TypeA a = new TypeA("A");
+            a.setAllNumeric(0);
+            s.insertAndFire(a);
+            assert counter.get() == 64 / mod : "Actual: " + counter.get();
+        }
+    }
+}
@@ -5,7 +5,9 @@ import org.evrete.KnowledgeService;
 import org.evrete.api.Knowledge;
 import org.evrete.api.StatefulSession;
 import org.evrete.api.Type;
+import org.evrete.api.TypeField;
 import org.evrete.api.TypeResolver;
+import org.evrete.classes.TypeA;
 import org.evrete.util.RhsAssert;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
@@ -93,4 +95,42 @@ class TypeResolverTest {
         session.insertAndFire(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
         assert assertSet.size() == 5 && assertSet.containsAll(Arrays.asList(6, 7, 8, 9, 10));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testPrimitiveReaders() {
+        TypeResolver typeResolver = service.newTypeResolver();
+        Type<TypeA> type = typeResolver.declare(TypeA.class);
+        TypeA a = new TypeA();
+        a.setI(3);
+        a.setL(Long.MAX_VALUE);
+        a.setD(-0.5);
+
+        assert type.getField("i").readInt(a) == 3;
+        assert type.getField("l").readLong(a) == Long.MAX_VALUE;
+        assert type.getField("d").readDouble(a) == -0.5;
+
+        // Declared and nested fields are read via their functions
+        TypeField custom = type.declareField("twice", int.class, o -> o.getI() * 2);
+        assert custom.readInt(a) == 6;
+        assert type.getField("i").hasPrimitiveReader();
+        assert !custom.hasPrimitiveReader();
+        assert !type.getField("typeD.i").hasPrimitiveReader();
+        assert type.getField("typeD.i").readValue(a) == null;
+
+        DefaultValueResolver resolver = new DefaultValueResolver();
+        assert resolver.getValueHandle(3).equals(resolver.getValueHandle(3));
+        assert !resolver.getValueHandle(3).equals(resolver.getValueHandle(3L));
+        assert resolver.getValue(resolver.getValueHandle(3)).equals(3);
+        assert resolver.getValue(resolver.getValueHandle(3L)).equals(3L);
+        assert resolver.getValue(resolver.getValueHandle(-0.5)).equals(-0.5);
+        assert !resolver.getValueHandle(0.0).equals(resolver.getValueHandle(-0.0));
+
+        // Boxed values of custom and nested fields must match primitive field values
+        assert resolver.getValueHandle(int.class, 3).equals(resolver.getValueHandle(3));
+        assert resolver.getValueHandle(int.class, 3).hashCode() == resolver.getValueHandle(3).hashCode();
+        assert resolver.getValueHandle(Object.class, 3L).equals(resolver.getValueHandle(3L));
+        assert resolver.getValueHandle(double.class, -0.5).equals(resolver.getValueHandle(-0.5));
+        assert !resolver.getValueHandle(int.class, 3).equals(resolver.getValueHandle(3L));
+        assert resolver.getValue(resolver.getValueHandle(int.class, 3)).equals(3);
+    }
+}
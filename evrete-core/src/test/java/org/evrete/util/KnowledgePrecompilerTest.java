@@ -0,0 +1,116 @@
+package org.evrete.util;
+
+import org.evrete.Configuration;
+import org.evrete.KnowledgeService;
+import org.evrete.api.Knowledge;
+import org.evrete.api.StatefulSession;
+import org.evrete.runtime.compiler.CompiledClassCache;
+import org.evrete.runtime.compiler.SourceCompiler;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+class KnowledgePrecompilerTest {
+
+    private static Knowledge primeNumbers(KnowledgeService service) {
+        return service
+                .newKnowledge()
+                .newRule("prime numbers")
+                .forEach(
+                        "$i1", Integer.class,
+                        "$i2", Integer.class,
+                        "$i3", Integer.class
+                )
+                .where("$i1 * $i2 == $i3")
+                // Relies on the configured imports
+                .execute("delete(Objects.requireNonNull($i3));");
+    }
+
+    private static List<Path> entries(Path dir) throws Exception {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static void assertPrimeNumbers(Knowledge knowledge) {
+        Set<Object> primes = new HashSet<>();
+        try (StatefulSession session = knowledge.newStatefulSession()) {
+            IntStream.range(2, 30).boxed().collect(session.asCollector()).fire().forEachFact((handle, o) -> primes.add(o));
+        }
+        assert primes.equals(new HashSet<>(Arrays.asList(2, 3, 5, 7, 11, 13, 17, 19, 23, 29))) : primes;
+    }
+
+    private static Configuration applicationConfiguration() {
+        Configuration conf = new Configuration();
+        conf.addImport(Objects.class);
+        return conf;
+    }
+
+    @Test
+    void precompiledKnowledge(@TempDir Path dir) throws Exception {
+        Path cache = dir.resolve("META-INF").resolve("evrete");
+        Configuration applicationConf = applicationConfiguration();
+        KnowledgePrecompiler.precompile(cache, applicationConf, KnowledgePrecompilerTest::primeNumbers);
+        // The application's configuration is left as is
+        assert applicationConf.getProperty(Configuration.COMPILED_CLASS_CACHE) == null;
+        List<Path> entries = entries(cache);
+        // At least the condition and the RHS classes
+        assert entries.size() >= 2 : entries;
+
+        // Same knowledge with the same cache
+        Configuration conf = applicationConfiguration();
+        conf.setProperty(Configuration.COMPILED_CLASS_CACHE, cache.toString());
+        KnowledgeService service = new KnowledgeService(conf);
+        long compilerTasks = SourceCompiler.compilerTasks();
+        try {
+            assertPrimeNumbers(primeNumbers(service));
+            assert entries(cache).equals(entries);
+            assert SourceCompiler.compilerTasks() == compilerTasks : "Java compiler invoked";
+        } finally {
+            service.shutdown();
+        }
+
+        // Classpath cache
+        conf = applicationConfiguration();
+        conf.setProperty(Configuration.COMPILED_CLASS_CACHE, CompiledClassCache.CLASSPATH_PREFIX + "META-INF/evrete");
+        service = new KnowledgeService(conf);
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{dir.toUri().toURL()}, Thread.currentThread().getContextClassLoader())) {
+            service.setClassLoader(classLoader);
+            assertPrimeNumbers(primeNumbers(service));
+            assert SourceCompiler.compilerTasks() == compilerTasks : "Java compiler invoked";
+        } finally {
+            service.shutdown();
+        }
+
+        // Sources depend on the configuration, so a default configuration does not match the cache
+        conf = new Configuration();
+        conf.setProperty(Configuration.COMPILED_CLASS_CACHE, cache.toString());
+        service = new KnowledgeService(conf);
+        try {
+            assertPrimeNumbers(service.newKnowledge()
+                    .newRule()
+                    .forEach(
+                            "$i1", Integer.class,
+                            "$i2", Integer.class,
+                            "$i3", Integer.class
+                    )
+                    .where("$i1 * $i2 == $i3")
+                    .execute("delete(java.util.Objects.requireNonNull($i3));"));
+            assert SourceCompiler.compilerTasks() > compilerTasks;
+        } finally {
+            service.shutdown();
+        }
+    }
+}
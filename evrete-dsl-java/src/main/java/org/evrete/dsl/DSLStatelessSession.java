@@ -14,6 +14,11 @@ class DSLStatelessSession extends AbstractDSLSession<StatelessSession> implement
         super(delegate, meta, fieldDeclarations, rules, classInstance);
     }
 
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
     @Override
     public void fire(BiConsumer<FactHandle, Object> consumer) {
         delegate.fire(consumer);